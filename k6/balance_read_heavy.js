@@ -0,0 +1,52 @@
+import http from "k6/http";
+import { check, sleep } from "k6";
+
+// 잔액 조회 위주 시나리오 (조회 95% / 충전 5%)
+// 실행 전후로 GET /api/points/balance-cache/stats 의 missCount(= 잔액 DB 조회 수)를 비교
+// 캐시 끄고 비교 : points.balance-cache.max-size=0
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const USER_COUNT = Number(__ENV.USER_COUNT || "100");   // userId 1 ~ USER_COUNT
+const WRITE_RATIO = Number(__ENV.WRITE_RATIO || "0.05");
+
+export const options = {
+    stages: [
+        { duration: "10s", target: 20 },   // 워밍업
+        { duration: "30s", target: 100 },  // 본부하
+        { duration: "10s", target: 0 },    // 종료
+    ],
+    thresholds: {
+        http_req_failed: ["rate<0.01"],
+        "http_req_duration{op:balance}": ["p(95)<200"],
+    },
+};
+
+export function setup() {
+    const res = http.get(`${BASE_URL}/api/points/balance-cache/stats`);
+    return { before: res.json("data") };
+}
+
+export default function () {
+    const userId = 1 + Math.floor(Math.random() * USER_COUNT);
+
+    if (Math.random() < WRITE_RATIO) {
+        const res = http.post(
+            `${BASE_URL}/api/users/${userId}/points/charge`,
+            JSON.stringify({ amount: 100, memo: "k6-balance" }),
+            { headers: { "Content-Type": "application/json" }, tags: { op: "charge" } }
+        );
+        check(res, { "charge 200": (r) => r.status === 200 });
+    } else {
+        const res = http.get(`${BASE_URL}/api/users/${userId}/points/balance`, { tags: { op: "balance" } });
+        check(res, { "balance 200": (r) => r.status === 200 });
+    }
+
+    sleep(0.05);
+}
+
+export function teardown(data) {
+    const after = http.get(`${BASE_URL}/api/points/balance-cache/stats`).json("data");
+    const before = data.before || { hitCount: 0, missCount: 0 };
+    const hits = after.hitCount - before.hitCount;
+    const misses = after.missCount - before.missCount;
+    console.log(`balance reads=${hits + misses}, db reads(miss)=${misses}, hitRatio=${(hits / Math.max(1, hits + misses)).toFixed(3)}`);
+}
@@ -0,0 +1,48 @@
+import http from "k6/http";
+import { check, sleep } from "k6";
+
+/**
+ * 지갑 경합 수준별 차감 벤치마크 (비관적 락 vs 낙관적 락)
+ * VUS_PER_WALLET명이 같은 지갑을 동시에 차감하도록 VU를 지갑에 배정
+ *
+ * 예) 서버를 points.lock-mode=PESSIMISTIC / ADAPTIVE 로 각각 띄운 뒤
+ *   k6 run -e USER_IDS=1,2,3,4,5 -e VUS_PER_WALLET=1  k6/redeem_contention.js
+ *   k6 run -e USER_IDS=1,2,3,4,5 -e VUS_PER_WALLET=10 k6/redeem_contention.js
+ *   k6 run -e USER_IDS=1,2,3,4,5 -e VUS_PER_WALLET=50 k6/redeem_contention.js
+ */
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const USER_IDS = (__ENV.USER_IDS || "1").split(",");
+const VUS_PER_WALLET = Number(__ENV.VUS_PER_WALLET || "1");
+const AMOUNT = Number(__ENV.AMOUNT || "1");
+
+export const options = {
+    scenarios: {
+        contention: {
+            executor: "constant-vus",
+            vus: USER_IDS.length * VUS_PER_WALLET,
+            duration: __ENV.DURATION || "30s",
+        },
+    },
+    thresholds: {
+        http_req_failed: ["rate<0.01"],
+    },
+};
+
+export default function () {
+    // VU 번호로 지갑 고정 -> 지갑당 VUS_PER_WALLET명
+    const userId = USER_IDS[(__VU - 1) % USER_IDS.length];
+    const url = `${BASE_URL}/api/users/${userId}/points/redeem`;
+
+    const res = http.post(url, JSON.stringify({ amount: AMOUNT, memo: "k6-contention" }), {
+        headers: {
+            "Content-Type": "application/json",
+            "Idempotency-Key": `k6-c-${__VU}-${__ITER}-${Date.now()}`,
+        },
+    });
+
+    check(res, {
+        "status is 200": (r) => r.status === 200,
+    });
+
+    sleep(0.01);
+}
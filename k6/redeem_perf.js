@@ -4,6 +4,8 @@ import { check, sleep } from "k6";
 const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
 const USER_ID = __ENV.USER_ID || "1";
 const AMOUNT = Number(__ENV.AMOUNT || "1000");
+// 재시도 비율 (0 ~ 1) : 직전 Idempotency-Key를 그대로 재전송
+const RETRY_RATIO = Number(__ENV.RETRY_RATIO || "0");
 
 export const options = {
     stages: [
@@ -17,6 +19,8 @@ export const options = {
     },
 };
 
+let lastKey = null;
+
 export default function () {
     const url = `${BASE_URL}/api/users/${USER_ID}/points/redeem`;
     const payload = JSON.stringify({
@@ -24,8 +28,15 @@ export default function () {
         memo: "k6-perf",
     });
 
+    const retry = lastKey !== null && Math.random() < RETRY_RATIO;
+    const idempotencyKey = retry ? lastKey : `k6-${__VU}-${__ITER}-${Date.now()}`;
+    lastKey = idempotencyKey;
+
     const params = {
-        headers: { "Content-Type": "application/json" },
+        headers: {
+            "Content-Type": "application/json",
+            "Idempotency-Key": idempotencyKey,
+        },
     };
 
     const res = http.post(url, payload, params);
@@ -0,0 +1,46 @@
+import http from "k6/http";
+import { check } from "k6";
+
+// 톰캣 플랫폼 스레드 vs 가상 스레드 비교용 (같은 스크립트를 두 번 실행)
+// before : 기본 실행 (톰캣 플랫폼 스레드 풀)
+// after  : --spring.threads.virtual.enabled=true
+// 비교 지표 : http_req_duration p95/p99, http_req_failed, DB 커넥션 대기 타임아웃 비율
+// 1 vCPU + H2 측정(PointVirtualThreadBenchmarkTest)에서는 가상 스레드가 처리량 절반 이하라 기본값 유지
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const USER_COUNT = Number(__ENV.USER_COUNT || "1000");   // userId 1 ~ USER_COUNT (잔액 충분히 충전해 둘 것)
+const PEAK_VUS = Number(__ENV.PEAK_VUS || "800");
+
+export const options = {
+    stages: [
+        { duration: "20s", target: 100 },        // 워밍업
+        { duration: "30s", target: 500 },
+        { duration: "60s", target: PEAK_VUS },   // 본부하 (500 VU 이상)
+        { duration: "10s", target: 0 },
+    ],
+    thresholds: {
+        http_req_failed: ["rate<0.01"],
+        "http_req_duration{op:redeem}": ["p(95)<500"],
+    },
+};
+
+export default function () {
+    const userId = 1 + Math.floor(Math.random() * USER_COUNT);
+
+    if (Math.random() < 0.5) {
+        const res = http.post(
+            `${BASE_URL}/api/users/${userId}/points/redeem`,
+            JSON.stringify({ amount: 1, memo: "k6-vt" }),
+            {
+                headers: {
+                    "Content-Type": "application/json",
+                    "Idempotency-Key": `k6-vt-${__VU}-${__ITER}-${Date.now()}`,
+                },
+                tags: { op: "redeem" },
+            }
+        );
+        check(res, { "redeem 200": (r) => r.status === 200 });
+    } else {
+        const res = http.get(`${BASE_URL}/api/users/${userId}/points/balance`, { tags: { op: "balance" } });
+        check(res, { "balance 200": (r) => r.status === 200 });
+    }
+}
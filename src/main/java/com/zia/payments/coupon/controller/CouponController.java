@@ -1,4 +1,41 @@
 package com.zia.payments.coupon.controller;
 
+import com.zia.payments.coupon.dto.request.ClaimCouponRequest;
+import com.zia.payments.coupon.dto.response.ClaimCouponResponse;
+import com.zia.payments.coupon.dto.response.IssueCouponResponse;
+import com.zia.payments.coupon.service.CouponService;
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.idempotency.util.Idempotent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users/{userId}/coupons")
+@RequiredArgsConstructor
 public class CouponController {
+
+    private final CouponService couponService;
+
+    // 선착순 쿠폰 발급 : POST /api/users/{userId}/coupons/claim
+    // Header : Idempotency-Key
+    @Idempotent
+    @PostMapping("/claim")
+    public ApiResponse<ClaimCouponResponse> claimCoupon(
+            @PathVariable Long userId,
+            @RequestBody ClaimCouponRequest request,
+            @RequestHeader(value = "Idempotency-Key") String requestId
+    ) {
+        return ApiResponse.success(couponService.claim(userId, request, requestId));
+    }
+
+    // 쿠폰 사용 : POST /api/users/{userId}/coupons/{userCouponId}/use
+    // Header : Idempotency-Key (선택)
+    @Idempotent(required = false)
+    @PostMapping("/{userCouponId}/use")
+    public ApiResponse<IssueCouponResponse> useCoupon(
+            @PathVariable Long userId,
+            @PathVariable Long userCouponId
+    ) {
+        return ApiResponse.success(couponService.use(userId, userCouponId));
+    }
 }
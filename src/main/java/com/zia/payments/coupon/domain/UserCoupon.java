@@ -1,5 +1,6 @@
 package com.zia.payments.coupon.domain;
 
+import com.zia.payments.global.util.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -22,7 +23,7 @@ import java.time.LocalDateTime;
 public class UserCoupon {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "user_coupon_id")
     private Long id;
 
@@ -46,6 +47,10 @@ public class UserCoupon {
     @Column(name = "request_id", length = 64)
     private String requestId;
 
+    // 사용 요청의 멱등키 (인계받은 재시도가 이미 커밋된 사용인지 확인)
+    @Column(name = "used_request_id", length = 64)
+    private String usedRequestId;
+
     public static UserCoupon issue(Long userId, Coupon coupon, String requestId) {
         LocalDateTime now = LocalDateTime.now();
         return UserCoupon.builder()
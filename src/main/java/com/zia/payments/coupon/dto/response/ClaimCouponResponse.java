@@ -1,13 +1,18 @@
 package com.zia.payments.coupon.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
+@AllArgsConstructor
 @Builder
 public class ClaimCouponResponse {
     private Long userId;
     private Long couponId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userCouponId;
     private String couponCode;
     private String title;
@@ -1,12 +1,17 @@
 package com.zia.payments.coupon.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
+@AllArgsConstructor
 @Builder
 public class IssueCouponResponse {
     private Long userId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long userCouponId;
     private String status; // USED
 }
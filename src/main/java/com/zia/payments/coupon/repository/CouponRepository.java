@@ -1,10 +1,15 @@
 package com.zia.payments.coupon.repository;
 
 import com.zia.payments.coupon.domain.Coupon;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface CouponRepository extends JpaRepository<Coupon, Long> {
@@ -24,4 +29,31 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
         and c.issuedCount < c.totalQuantity
     """)
     int tryIncreaseIssuedCount(Long couponId);
+
+    /**
+     * 선착순 수량 N개 일괄 확보 (쓰기 지연 배치용)
+     * issued_count + N <= total_quantity인 경우에만 +N
+     * rowCount=1이면 성공, 0이면 남은 수량 부족
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update Coupon c
+        set c.issuedCount = c.issuedCount + :count
+        where c.id = :couponId
+        and c.totalQuantity is not null
+        and c.issuedCount + :count <= c.totalQuantity
+    """)
+    int tryIncreaseIssuedCountBy(@Param("couponId") Long couponId, @Param("count") int count);
+
+    @Query("SELECT c FROM Coupon c WHERE c.id = :couponId")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Coupon> findByIdWithLock(@Param("couponId") Long couponId);
+
+    // 복구 대상 : 만료 전 선착순 쿠폰
+    @Query("SELECT c.id FROM Coupon c WHERE c.totalQuantity IS NOT NULL AND c.expiresAt > :now")
+    List<Long> findActiveFirstComeFirstServedIds(@Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("update Coupon c set c.issuedCount = :issuedCount where c.id = :couponId")
+    int updateIssuedCount(@Param("couponId") Long couponId, @Param("issuedCount") int issuedCount);
 }
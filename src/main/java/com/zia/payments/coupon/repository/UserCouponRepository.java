@@ -1,11 +1,57 @@
 package com.zia.payments.coupon.repository;
 
 import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.domain.UserCouponStatus;
+import com.zia.payments.coupon.util.CouponHolder;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
     boolean existsByUserIdAndCoupon_Id(Long userId, Long couponId);
     Optional<UserCoupon> findByIdAndUserId(Long userCouponId, Long userId);
+    Optional<UserCoupon> findByUserIdAndCoupon_Id(Long userId, Long couponId);
+    List<UserCoupon> findByCoupon_IdAndUserIdIn(Long couponId, Collection<Long> userIds); // 배치 중복 발급 확인
+    long countByCoupon_Id(Long couponId);
+
+    // 쿠폰 보유자 목록 (품절/만료 거절 시 재전송 확인용 인메모리 목록)
+    @Query("""
+        select new com.zia.payments.coupon.util.CouponHolder(uc.userId, uc.id, uc.requestId)
+        from UserCoupon uc
+        where uc.coupon.id = :couponId
+    """)
+    List<CouponHolder> findHolders(@Param("couponId") Long couponId, Limit limit);
+
+    // 보유자 1명 (목록이 커서 메모리에 올리지 않은 쿠폰)
+    @Query("""
+        select new com.zia.payments.coupon.util.CouponHolder(uc.userId, uc.id, uc.requestId)
+        from UserCoupon uc
+        where uc.coupon.id = :couponId
+        and uc.userId = :userId
+    """)
+    Optional<CouponHolder> findHolder(@Param("couponId") Long couponId, @Param("userId") Long userId);
+
+    /**
+     * 사용 처리 (ISSUED일 때만)
+     * rowCount=1이면 성공, 0이면 이미 사용/만료 (동시 사용 방지)
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+        update UserCoupon uc
+        set uc.couponStatus = :used, uc.usedAt = :now, uc.usedRequestId = :requestId
+        where uc.id = :userCouponId
+        and uc.couponStatus = :issued
+    """)
+    int tryMarkUsed(@Param("userCouponId") Long userCouponId,
+                    @Param("now") LocalDateTime now,
+                    @Param("requestId") String requestId,
+                    @Param("used") UserCouponStatus used,
+                    @Param("issued") UserCouponStatus issued);
 }
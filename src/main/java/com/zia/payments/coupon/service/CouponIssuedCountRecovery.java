@@ -0,0 +1,80 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * 선착순 쿠폰 issued_count 복구 (쓰기 지연 모드)
+ * user_coupons가 기준 : 만료 전 선착순 쿠폰마다 실제 발급 건수로 issued_count를 다시 맞춘다.
+ * - 웹 서버가 요청을 받기 전(싱글톤 초기화 직후)에 실행
+ * - 쿠폰 row를 FOR UPDATE로 잡은 뒤 READ_COMMITTED로 세므로 다른 노드의 진행 중 배치와 섞이지 않음
+ */
+@Slf4j
+@Component
+public class CouponIssuedCountRecovery implements SmartInitializingSingleton {
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public CouponIssuedCountRecovery(
+            CouponRepository couponRepository,
+            UserCouponRepository userCouponRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${coupons.write-behind.enabled:false}") boolean enabled
+    ) {
+        this.couponRepository = couponRepository;
+        this.userCouponRepository = userCouponRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            recover();
+        }
+    }
+
+    /**
+     * @return 보정된 쿠폰 수
+     */
+    public int recover() {
+        int corrected = 0;
+        for (Long couponId : couponRepository.findActiveFirstComeFirstServedIds(LocalDateTime.now())) {
+            Boolean changed = transactionTemplate.execute(status -> recover(couponId));
+            if (Boolean.TRUE.equals(changed)) {
+                corrected++;
+            }
+        }
+        log.info("쿠폰 issued_count 복구 완료 : corrected={}", corrected);
+        return corrected;
+    }
+
+    private boolean recover(Long couponId) {
+        Coupon coupon = couponRepository.findByIdWithLock(couponId)
+                .orElseThrow(() -> new ApiException(ErrorCode.COUPON_NOT_FOUND));
+        int actual = Math.toIntExact(userCouponRepository.countByCoupon_Id(couponId));
+        if (actual == coupon.getIssuedCount()) {
+            return false;
+        }
+
+        couponRepository.updateIssuedCount(couponId, actual);
+        log.warn("쿠폰 issued_count 보정 : couponId={}, issuedCount={} -> {}", couponId, coupon.getIssuedCount(), actual);
+        return true;
+    }
+}
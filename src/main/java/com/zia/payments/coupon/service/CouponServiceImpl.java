@@ -1,4 +1,200 @@
 package com.zia.payments.coupon.service;
 
-public class CouponServiceImpl {
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.domain.UserCouponStatus;
+import com.zia.payments.coupon.dto.request.ClaimCouponRequest;
+import com.zia.payments.coupon.dto.response.ClaimCouponResponse;
+import com.zia.payments.coupon.dto.response.IssueCouponResponse;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.coupon.util.CouponHolder;
+import com.zia.payments.coupon.util.CouponStockRegistry;
+import com.zia.payments.coupon.util.CouponStockRegistry.CouponStock;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.util.IdempotencyScope;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponServiceImpl implements CouponService {
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final CouponStockRegistry stockRegistry;
+    private final CouponWriteBehindExecutor writeBehindExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 선착순 쿠폰 발급
+     * 1) 인메모리 재고 확보 (품절이면 DB 접근 없이 거절)
+     * 2) 확보한 요청만 트랜잭션 : 중복 발급 확인 -> issued_count 조건부 UPDATE -> user_coupons INSERT
+     *    (쓰기 지연 모드면 2)를 백그라운드 배치로 모아서 처리)
+     * 3) 발급하지 않고 끝나면 확보한 재고 반환 (쓰기 지연 대기 시간 초과는 결과 미정 -> 배치가 발급 여부에 따라 반환)
+     * 같은 request_id 재요청은 기존 발급 결과를 그대로 반환 (유저당 쿠폰 1장 UNIQUE 기준)
+     * 그 사이 품절/만료됐어도 재전송 (거절 전에 메모리 보유자 목록 확인)
+     */
+    @Override
+    public ClaimCouponResponse claim(Long userId, ClaimCouponRequest request, String requestId) {
+        if (requestId == null || requestId.isBlank()) {
+            throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REQUIRED);
+        }
+        if (request == null || request.getCouponCode() == null || request.getCouponCode().isBlank()) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "couponCode는 필수입니다.");
+        }
+
+        // 만료/없는 코드/품절은 메모리에서 거절 (DB 조회 없음)
+        CouponStock stock;
+        try {
+            stock = stockRegistry.get(request.getCouponCode());
+        } catch (ApiException e) {
+            if (e.getErrorCode() == ErrorCode.COUPON_EXPIRED) {
+                return replayIssuedOrThrow(userId, stockRegistry.expiredStock(request.getCouponCode()), requestId, e);
+            }
+            throw e;
+        }
+        if (!stock.tryReserve()) {
+            return replayIssuedOrThrow(userId, stock, requestId, new ApiException(ErrorCode.COUPON_SOLD_OUT));
+        }
+
+        boolean issued = false;
+        boolean handedOff = false;
+        try {
+            if (writeBehindExecutor.isEnabled() && stock.isFirstComeFirstServed()) {
+                CouponWriteBehindExecutor.Issued queued;
+                try {
+                    queued = writeBehindExecutor.claim(userId, stock, requestId);
+                } catch (ApiException e) {
+                    // 대기 시간 초과 : 배치가 나중에 발급할 수 있으므로 재고는 배치 쪽에서 정리
+                    handedOff = (e.getErrorCode() == ErrorCode.IDEMPOTENCY_OUTCOME_UNKNOWN);
+                    throw e;
+                }
+                if (queued != null) {
+                    issued = queued.newlyIssued();
+                    return toResponse(userId, stock, queued.userCouponId());
+                }
+                // 큐 포화 / 배치 실패 -> 동기 경로
+            }
+
+            ClaimResult result = transactionTemplate.execute(status -> issue(userId, stock, requestId));
+            issued = result.newlyIssued();
+            if (issued) {
+                stock.recordIssued(userId, result.response().getUserCouponId(), requestId);
+            }
+            return result.response();
+        } catch (DataIntegrityViolationException e) {
+            // 같은 유저의 동시 발급 -> UNIQUE(user_id, coupon_id) 충돌, 먼저 커밋된 발급 기준으로 응답
+            return userCouponRepository.findByUserIdAndCoupon_Id(userId, stock.getCouponId())
+                    .map(existing -> replayOrReject(existing, stock, requestId))
+                    .orElseThrow(() -> e);
+        } finally {
+            if (!issued && !handedOff) {
+                stock.release();
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 사용
+     * ISSUED -> USED 조건부 UPDATE로 동시 사용 방지
+     * {@code @Idempotent} 컨트롤러에서 멱등키와 함께 들어오면 used_request_id 기록
+     * 인계받은 멱등키(이전 소유 노드가 확정 전에 죽음)면 같은 키로 이미 사용된 쿠폰은 COUPON_ALREADY_USED 대신 사용 응답
+     */
+    @Override
+    @Transactional
+    public IssueCouponResponse use(Long userId, Long userCouponId) {
+        UserCoupon userCoupon = userCouponRepository.findByIdAndUserId(userCouponId, userId)
+                .orElseThrow(() -> userCouponRepository.existsById(userCouponId)
+                        ? new ApiException(ErrorCode.COUPON_NOT_OWNED)
+                        : new ApiException(ErrorCode.COUPON_NOT_FOUND));
+
+        IdempotencyRequest acquired = IdempotencyScope.current();
+        String requestId = (acquired == null) ? null : acquired.getRequestId();
+        if (userCoupon.getCouponStatus() == UserCouponStatus.USED) {
+            if (acquired != null && acquired.isTakenOver() && requestId.equals(userCoupon.getUsedRequestId())) {
+                log.info("인계받은 멱등키 : 이미 반영된 쿠폰 사용 -> 사용 응답 복원 : requestId={}", requestId);
+                return toUsedResponse(userId, userCouponId);
+            }
+            throw new ApiException(ErrorCode.COUPON_ALREADY_USED);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (userCoupon.getCouponStatus() == UserCouponStatus.EXPIRED || userCoupon.getCoupon().isExpired(now)) {
+            throw new ApiException(ErrorCode.COUPON_EXPIRED);
+        }
+
+        if (userCouponRepository.tryMarkUsed(userCouponId, now, requestId, UserCouponStatus.USED, UserCouponStatus.ISSUED) == 0) {
+            throw new ApiException(ErrorCode.COUPON_ALREADY_USED);
+        }
+
+        log.info("쿠폰 사용 : userId={}, userCouponId={}", userId, userCouponId);
+        return toUsedResponse(userId, userCouponId);
+    }
+
+    private IssueCouponResponse toUsedResponse(Long userId, Long userCouponId) {
+        return IssueCouponResponse.builder()
+                .userId(userId)
+                .userCouponId(userCouponId)
+                .status(UserCouponStatus.USED.name())
+                .build();
+    }
+
+    private ClaimResult issue(Long userId, CouponStock stock, String requestId) {
+        UserCoupon existing = userCouponRepository.findByUserIdAndCoupon_Id(userId, stock.getCouponId()).orElse(null);
+        if (existing != null) {
+            return new ClaimResult(replayOrReject(existing, stock, requestId), false);
+        }
+
+        if (stock.isFirstComeFirstServed() && couponRepository.tryIncreaseIssuedCount(stock.getCouponId()) == 0) {
+            stock.markSoldOut();
+            throw new ApiException(ErrorCode.COUPON_SOLD_OUT);
+        }
+
+        // Coupon은 프록시만 연결 (메타데이터는 재고 캐시에 있음)
+        UserCoupon userCoupon = userCouponRepository.saveAndFlush(
+                UserCoupon.issue(userId, couponRepository.getReferenceById(stock.getCouponId()), requestId));
+
+        log.info("쿠폰 발급 : userId={}, couponCode={}, userCouponId={}", userId, stock.getCode(), userCoupon.getId());
+        return new ClaimResult(toResponse(userId, stock, userCoupon.getId()), true);
+    }
+
+    // 같은 request_id면 기존 결과 재전송, 다르면 중복 발급
+    private ClaimCouponResponse replayOrReject(UserCoupon existing, CouponStock stock, String requestId) {
+        if (!requestId.equals(existing.getRequestId())) {
+            throw new ApiException(ErrorCode.COUPON_ALREADY_ISSUED);
+        }
+        return toResponse(existing.getUserId(), stock, existing.getId());
+    }
+
+    // 품절/만료로 거절하기 전 : 같은 request_id로 이미 발급받은 유저면 기존 결과 재전송
+    private ClaimCouponResponse replayIssuedOrThrow(Long userId, CouponStock stock, String requestId, ApiException rejection) {
+        CouponHolder holder = (stock == null) ? null : stockRegistry.findHolder(stock, userId);
+        if (holder == null || !requestId.equals(holder.requestId())) {
+            throw rejection;
+        }
+        log.info("쿠폰 발급 재전송 (품절/만료 이후 재요청) : userId={}, userCouponId={}", userId, holder.userCouponId());
+        return toResponse(userId, stock, holder.userCouponId());
+    }
+
+    private ClaimCouponResponse toResponse(Long userId, CouponStock stock, Long userCouponId) {
+        return ClaimCouponResponse.builder()
+                .userId(userId)
+                .couponId(stock.getCouponId())
+                .userCouponId(userCouponId)
+                .couponCode(stock.getCode())
+                .title(stock.getTitle())
+                .discountValue(stock.getDiscountValue())
+                .build();
+    }
+
+    private record ClaimResult(ClaimCouponResponse response, boolean newlyIssued) {
+    }
 }
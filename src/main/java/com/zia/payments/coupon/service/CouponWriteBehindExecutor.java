@@ -0,0 +1,317 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.coupon.util.CouponStockRegistry.CouponStock;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 선착순 쿠폰 쓰기 지연(write-behind) 발급
+ * 인메모리 재고를 확보한 요청을 큐에 쌓고, 백그라운드 스레드가 수 ms마다 모아서
+ * 쿠폰별 issued_count UPDATE 1회 + user_coupons 일괄 INSERT를 한 트랜잭션으로 처리한다.
+ * - 요청은 자기 배치가 커밋된 뒤에 응답 (커밋 전 응답 X -> 장애 시 유실 없음)
+ * - 대기 시간을 넘긴 요청은 결과 미정으로 응답하고 재고는 그대로 둠 -> 배치가 발급하지 않았을 때만 배치 쪽에서 반환
+ * - 같은 유저 중복 발급은 uk_user_coupon_once가 최종 방어, 배치가 충돌로 실패하면 요청별 동기 경로로 처리
+ * - issued_count와 user_coupons 불일치는 기동 시 CouponIssuedCountRecovery가 보정
+ */
+@Slf4j
+@Component
+public class CouponWriteBehindExecutor {
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final long flushIntervalMillis;
+    private final int maxBatchSize;
+    private final long maxWaitMillis;
+
+    private final LinkedBlockingQueue<PendingClaim> queue;
+    private ScheduledExecutorService flusher;
+
+    public CouponWriteBehindExecutor(
+            CouponRepository couponRepository,
+            UserCouponRepository userCouponRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${coupons.write-behind.enabled:false}") boolean enabled,
+            @Value("${coupons.write-behind.flush-interval-ms:5}") long flushIntervalMillis,
+            @Value("${coupons.write-behind.max-batch-size:500}") int maxBatchSize,
+            @Value("${coupons.write-behind.queue-capacity:100000}") int queueCapacity,
+            @Value("${coupons.write-behind.max-wait-ms:3000}") long maxWaitMillis
+    ) {
+        this.couponRepository = couponRepository;
+        this.userCouponRepository = userCouponRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "coupon-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // 종료 시 남은 요청까지 반영
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushAll();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 발급 요청을 큐에 넣고 배치 커밋까지 대기
+     * @return 발급 결과, 큐가 가득 찼거나 배치가 실패하면 null (호출부에서 동기 경로로 처리)
+     * @throws ApiException IDEMPOTENCY_OUTCOME_UNKNOWN : 대기 시간 초과 (확보한 재고는 호출부가 아니라 배치가 정리)
+     */
+    public Issued claim(Long userId, CouponStock stock, String requestId) {
+        PendingClaim claim = new PendingClaim(userId, stock, requestId);
+        if (!queue.offer(claim)) {
+            return null;
+        }
+
+        try {
+            return claim.result.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw toApiException(e.getCause());
+        } catch (TimeoutException e) {
+            return abandonOrAwait(claim);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return abandonOrAwait(claim);
+        }
+    }
+
+    // 대기 포기 : 배치가 나중에 커밋될 수 있음 -> 결과 미정, 같은 키로 재시도하면 발급 결과 재전송
+    // 포기와 동시에 배치가 결과를 넘겼으면 그 결과 그대로 (이미 완료됨)
+    private Issued abandonOrAwait(PendingClaim claim) {
+        if (claim.abandon()) {
+            throw new ApiException(ErrorCode.IDEMPOTENCY_OUTCOME_UNKNOWN);
+        }
+        try {
+            return claim.result.join();
+        } catch (CompletionException e) {
+            throw toApiException(e.getCause());
+        }
+    }
+
+    private static ApiException toApiException(Throwable cause) {
+        return (cause instanceof ApiException apiException) ? apiException : new ApiException(ErrorCode.INTERNAL_ERROR);
+    }
+
+    private void flushAll() {
+        // 스케줄 작업에서 예외가 나가면 이후 실행이 멈추므로 여기서 모두 처리
+        try {
+            List<PendingClaim> batch = new ArrayList<>(maxBatchSize);
+            while (queue.drainTo(batch, maxBatchSize) > 0) {
+                flush(batch);
+                batch.clear();
+            }
+        } catch (RuntimeException e) {
+            log.error("쿠폰 쓰기 지연 flush 오류", e);
+        }
+    }
+
+    private void flush(List<PendingClaim> batch) {
+        Map<Long, List<PendingClaim>> byCoupon = new LinkedHashMap<>();
+        for (PendingClaim claim : batch) {
+            byCoupon.computeIfAbsent(claim.stock.getCouponId(), id -> new ArrayList<>()).add(claim);
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> byCoupon.forEach(this::apply));
+        } catch (RuntimeException e) {
+            // 다른 노드와 UNIQUE 충돌 등 -> 배치 전체 롤백, 요청별 동기 경로로 처리
+            log.warn("쿠폰 쓰기 지연 배치 실패 -> 동기 발급으로 전환 : size={}", batch.size(), e);
+            batch.forEach(PendingClaim::fallBackToSync);
+            return;
+        }
+
+        // 재고/보유자 목록은 커밋된 결과만 반영 (배치가 롤백되면 동기 경로가 다시 판단)
+        for (PendingClaim claim : batch) {
+            if (claim.userCoupon != null) {
+                claim.stock.recordIssued(claim.userId, claim.userCoupon.getId(), claim.requestId);
+            }
+            if (claim.soldOut) {
+                claim.stock.markSoldOut();
+            }
+            claim.complete();
+        }
+        log.debug("쿠폰 쓰기 지연 배치 커밋 : size={}, coupons={}", batch.size(), byCoupon.size());
+    }
+
+    // 쿠폰 1개 분량 : 중복 확인 1회 + issued_count UPDATE 1회 + INSERT 일괄
+    private void apply(Long couponId, List<PendingClaim> claims) {
+        List<Long> userIds = claims.stream().map(claim -> claim.userId).distinct().toList();
+        Map<Long, UserCoupon> existing = new HashMap<>();
+        for (UserCoupon userCoupon : userCouponRepository.findByCoupon_IdAndUserIdIn(couponId, userIds)) {
+            existing.put(userCoupon.getUserId(), userCoupon);
+        }
+
+        List<PendingClaim> accepted = new ArrayList<>();
+        Map<Long, PendingClaim> firstInBatch = new HashMap<>();
+        for (PendingClaim claim : claims) {
+            UserCoupon previous = existing.get(claim.userId);
+            if (previous != null) {
+                claim.resolveAgainst(previous.getId(), previous.getRequestId());
+            } else if (firstInBatch.putIfAbsent(claim.userId, claim) != null) {
+                claim.duplicateOf = firstInBatch.get(claim.userId);
+            } else {
+                accepted.add(claim);
+            }
+        }
+
+        int admitted = admit(couponId, accepted.size());
+        Coupon coupon = couponRepository.getReferenceById(couponId);
+        List<UserCoupon> userCoupons = new ArrayList<>(admitted);
+        for (int i = 0; i < accepted.size(); i++) {
+            PendingClaim claim = accepted.get(i);
+            if (i < admitted) {
+                claim.userCoupon = UserCoupon.issue(claim.userId, coupon, claim.requestId);
+                userCoupons.add(claim.userCoupon);
+            } else {
+                claim.soldOut = true;
+                claim.failure = new ApiException(ErrorCode.COUPON_SOLD_OUT);
+            }
+        }
+        userCouponRepository.saveAll(userCoupons);
+
+        for (PendingClaim claim : accepted) {
+            if (claim.userCoupon != null) {
+                claim.issued = new Issued(claim.userCoupon.getId(), true);
+            }
+        }
+        for (PendingClaim claim : claims) {
+            if (claim.duplicateOf != null) {
+                claim.resolveAgainstBatch(claim.duplicateOf);
+            }
+        }
+    }
+
+    // N개 일괄 확보, 남은 수량이 부족하면(다른 노드와 경합) 잠그고 남은 만큼만
+    private int admit(Long couponId, int count) {
+        if (count == 0) {
+            return 0;
+        }
+        if (couponRepository.tryIncreaseIssuedCountBy(couponId, count) == 1) {
+            return count;
+        }
+
+        Coupon coupon = couponRepository.findByIdWithLock(couponId)
+                .orElseThrow(() -> new ApiException(ErrorCode.COUPON_NOT_FOUND));
+        int admitted = Math.min(count, Math.max(0, coupon.getTotalQuantity() - coupon.getIssuedCount()));
+        if (admitted > 0) {
+            couponRepository.tryIncreaseIssuedCountBy(couponId, admitted);
+        }
+        return admitted;
+    }
+
+    /**
+     * @param userCouponId 발급된(또는 재전송할) user_coupon_id
+     * @param newlyIssued 이번 요청으로 새로 발급됐는지 (false면 재고 반환 대상)
+     */
+    public record Issued(Long userCouponId, boolean newlyIssued) {
+    }
+
+    // 요청 1건
+    private static class PendingClaim {
+        private final Long userId;
+        private final CouponStock stock;
+        private final String requestId;
+        private final CompletableFuture<Issued> result = new CompletableFuture<>();
+
+        // 배치 트랜잭션 안에서 채워지고, 커밋 후 result로 전달
+        private UserCoupon userCoupon;
+        private PendingClaim duplicateOf;
+        private Issued issued;
+        private ApiException failure;
+        private boolean soldOut;
+
+        private PendingClaim(Long userId, CouponStock stock, String requestId) {
+            this.userId = userId;
+            this.stock = stock;
+            this.requestId = requestId;
+        }
+
+        // 이미 발급된 쿠폰 : 같은 request_id면 재전송, 아니면 중복 발급
+        private void resolveAgainst(Long userCouponId, String issuedRequestId) {
+            if (requestId.equals(issuedRequestId)) {
+                issued = new Issued(userCouponId, false);
+            } else {
+                failure = new ApiException(ErrorCode.COUPON_ALREADY_ISSUED);
+            }
+        }
+
+        // 같은 배치의 앞선 요청 기준
+        private void resolveAgainstBatch(PendingClaim first) {
+            if (first.issued != null) {
+                resolveAgainst(first.issued.userCouponId(), first.requestId);
+            } else {
+                failure = first.failure;
+            }
+        }
+
+        private void complete() {
+            boolean delivered = (failure != null) ? result.completeExceptionally(failure) : result.complete(issued);
+            if (!delivered && (issued == null || !issued.newlyIssued())) {
+                // 대기를 포기한 요청인데 새로 발급하지 않음 -> 확보했던 재고 반환 (호출부는 반환하지 않음)
+                stock.release();
+            }
+        }
+
+        // 배치 실패 -> 요청별 동기 경로, 대기를 포기한 요청은 발급 없이 끝나므로 재고 반환
+        private void fallBackToSync() {
+            if (!result.complete(null)) {
+                stock.release();
+            }
+        }
+
+        // 대기 시간 초과 : 배치가 아직 결과를 넘기지 않았으면 포기 (이후 결과/재고 정리는 배치 쪽)
+        private boolean abandon() {
+            return result.completeExceptionally(new CancellationException("write-behind wait abandoned"));
+        }
+    }
+}
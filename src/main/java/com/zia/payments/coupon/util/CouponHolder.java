@@ -0,0 +1,7 @@
+package com.zia.payments.coupon.util;
+
+/**
+ * 쿠폰 보유자 1명 (품절/만료 거절 시 같은 request_id 재요청이면 기존 발급 결과 재전송용)
+ */
+public record CouponHolder(Long userId, Long userCouponId, String requestId) {
+}
@@ -0,0 +1,287 @@
+package com.zia.payments.coupon.util;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 쿠폰 메타데이터 캐시 + 선착순 인메모리 재고 + 음수 캐시 (노드 로컬)
+ * 쿠폰 코드별로 메타데이터와 (total_quantity - issued_count)를 한 번 읽어와 AtomicInteger로 차감한다.
+ * - 재고 확보에 성공한 요청만 DB 조건부 UPDATE(tryIncreaseIssuedCount)로 진행 -> 품절 요청은 DB를 건드리지 않음
+ * - DB가 최종 기준 : 노드가 여러 대면 노드별 카운터 합이 실제 재고보다 클 수 있지만 초과분은 조건부 UPDATE에서 걸러짐
+ * - 노드 카운터는 자기 노드 발급분만큼만 줄어들므로 DB에 재고가 남았는데 품절 처리되는 경우는 없음
+ *
+ * 음수 캐시 (DB 조회 없이 바로 거절)
+ * - 품절 : 재고 항목에 soldOut 표시 (DB 조건부 UPDATE가 0건이면 표시)
+ * - 만료 : expiresAt이 지나면 재고 항목을 지우고 COUPON_EXPIRED 항목으로 교체
+ * - 없는 코드 : 짧은 TTL 동안 COUPON_NOT_FOUND
+ *
+ * 보유자 목록 (품절/만료로 거절할 때 같은 request_id 재요청이면 기존 발급 결과를 재전송)
+ * - 첫 거절 때 쿠폰별로 1회 로딩 + 이후 이 노드의 발급은 커밋 후 추가 -> 반복 거절은 계속 DB 접근 없음
+ * - DB가 품절을 확인하면(markSoldOut) 다시 로딩 (로딩 이후 다른 노드가 발급한 건 반영)
+ * - holder-max-size 초과 쿠폰(대량 비선착순)은 메모리에 올리지 않고 거절 시 유저 1명만 조회
+ *
+ * 최대 크기 (max-size)
+ * - 가득 차면 만료/품절/비선착순 항목만 정리 (살아 있는 선착순 카운터는 지우지 않음)
+ * - 정리 후에도 가득 차면 새 쿠폰은 캐시하지 않고 요청마다 DB에서 읽은 항목으로 처리 (DB 조건부 UPDATE가 최종 기준)
+ */
+@Component
+public class CouponStockRegistry {
+
+    private static final int HOLDERS_UNLOADED = 0;
+    private static final int HOLDERS_LOADED = 1;
+    private static final int HOLDERS_OVERFLOW = 2;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final CouponRepository couponRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final int maxSize;
+    private final int holderMaxSize;
+    private final long expiredTtlNanos;
+    private final long notFoundTtlNanos;
+
+    // couponCode -> 메타데이터 + 재고
+    private final ConcurrentHashMap<String, CouponStock> stocks = new ConcurrentHashMap<>();
+
+    // couponCode -> 거절 사유 (만료/없는 코드)
+    private final ConcurrentHashMap<String, Rejection> rejections = new ConcurrentHashMap<>();
+
+    // 가득 찬 상태에서 미스마다 전체를 훑지 않도록 정리 주기 제한
+    private volatile long nextSweepAtNanos = System.nanoTime();
+
+    public CouponStockRegistry(
+            CouponRepository couponRepository,
+            UserCouponRepository userCouponRepository,
+            @Value("${coupons.cache.max-size:10000}") int maxSize,
+            @Value("${coupons.cache.holder-max-size:100000}") int holderMaxSize,
+            @Value("${coupons.cache.expired-ttl-seconds:600}") long expiredTtlSeconds,
+            @Value("${coupons.cache.not-found-ttl-seconds:5}") long notFoundTtlSeconds
+    ) {
+        this.couponRepository = couponRepository;
+        this.userCouponRepository = userCouponRepository;
+        this.maxSize = maxSize;
+        this.holderMaxSize = holderMaxSize;
+        this.expiredTtlNanos = TimeUnit.SECONDS.toNanos(expiredTtlSeconds);
+        this.notFoundTtlNanos = TimeUnit.SECONDS.toNanos(notFoundTtlSeconds);
+    }
+
+    /**
+     * 발급 가능한 쿠폰의 재고 항목 (쿠폰별 최초 1회만 DB 조회, 동시에 들어온 요청은 로딩 완료까지 대기)
+     * 만료/없는 코드는 메모리에서 바로 예외, 품절은 tryReserve()에서 거절
+     */
+    public CouponStock get(String couponCode) {
+        long nowNanos = System.nanoTime();
+        Rejection rejection = rejections.get(couponCode);
+        if (rejection != null) {
+            if (nowNanos - rejection.expiresAtNanos < 0) {
+                throw new ApiException(rejection.errorCode);
+            }
+            rejections.remove(couponCode, rejection);
+        }
+
+        CouponStock stock = stocks.get(couponCode);
+        if (stock == null) {
+            stock = load(couponCode, nowNanos);
+        }
+
+        // expiresAt 도달 -> 재고 항목 무효화, 이후 요청은 만료 항목으로 응답
+        if (stock.isExpired(LocalDateTime.now())) {
+            stocks.remove(couponCode, stock);
+            reject(couponCode, ErrorCode.COUPON_EXPIRED, nowNanos + expiredTtlNanos, stock);
+            throw new ApiException(ErrorCode.COUPON_EXPIRED);
+        }
+        return stock;
+    }
+
+    // 만료로 거절된 쿠폰의 마지막 재고 항목 (보유자 확인용, 없으면 null)
+    public CouponStock expiredStock(String couponCode) {
+        Rejection rejection = rejections.get(couponCode);
+        return (rejection != null && rejection.errorCode == ErrorCode.COUPON_EXPIRED) ? rejection.stock : null;
+    }
+
+    /**
+     * 보유자 조회 (품절/만료 거절 경로 전용, 트랜잭션 밖에서 호출)
+     * @return 쿠폰을 가진 유저면 발급 정보, 아니면 null
+     */
+    public CouponHolder findHolder(CouponStock stock, Long userId) {
+        if (stock.holdersState == HOLDERS_UNLOADED) {
+            loadHolders(stock);
+        }
+        if (stock.holdersState == HOLDERS_OVERFLOW) {
+            return userCouponRepository.findHolder(stock.couponId, userId).orElse(null);
+        }
+        return stock.holders.get(userId);
+    }
+
+    // 쿠폰 수정/재입고 시 다음 요청에서 DB 기준으로 다시 로딩
+    public void evict(String couponCode) {
+        stocks.remove(couponCode);
+        rejections.remove(couponCode);
+    }
+
+    private CouponStock load(String couponCode, long nowNanos) {
+        if (stocks.size() >= maxSize) {
+            sweep(nowNanos);
+        }
+        CouponStock stock;
+        if (stocks.size() >= maxSize) {
+            // 진행 중인 선착순 카운터를 지우면 재로딩마다 DB를 다시 읽으므로 이번 쿠폰만 캐시 없이 처리
+            stock = couponRepository.findByCode(couponCode)
+                    .map(coupon -> new CouponStock(coupon, holderMaxSize))
+                    .orElse(null);
+        } else {
+            stock = stocks.computeIfAbsent(couponCode, code -> couponRepository.findByCode(code)
+                    .map(coupon -> new CouponStock(coupon, holderMaxSize))
+                    .orElse(null));
+        }
+        if (stock == null) {
+            reject(couponCode, ErrorCode.COUPON_NOT_FOUND, nowNanos + notFoundTtlNanos, null);
+            throw new ApiException(ErrorCode.COUPON_NOT_FOUND);
+        }
+        return stock;
+    }
+
+    // 다시 읽어도 잃는 상태가 없는 항목만 제거 (만료, 품절, 카운터가 없는 비선착순)
+    private void sweep(long nowNanos) {
+        if (nowNanos - nextSweepAtNanos < 0) {
+            return;
+        }
+        nextSweepAtNanos = nowNanos + SWEEP_INTERVAL_NANOS;
+        LocalDateTime now = LocalDateTime.now();
+        stocks.values().removeIf(stock -> stock.isExpired(now) || stock.soldOut || !stock.firstComeFirstServed);
+    }
+
+    private void reject(String couponCode, ErrorCode errorCode, long expiresAtNanos, CouponStock stock) {
+        if (rejections.size() >= maxSize) {
+            rejections.clear();
+        }
+        rejections.put(couponCode, new Rejection(errorCode, expiresAtNanos, stock));
+    }
+
+    // 동시에 처음 거절된 요청들이 같은 목록을 여러 번 읽지 않도록 쿠폰 단위로 잠금 (가상 스레드 pinning 방지로 ReentrantLock)
+    private void loadHolders(CouponStock stock) {
+        stock.holdersLock.lock();
+        try {
+            if (stock.holdersState != HOLDERS_UNLOADED) {
+                return;
+            }
+            List<CouponHolder> loaded = userCouponRepository.findHolders(stock.couponId, Limit.of(holderMaxSize + 1));
+            if (loaded.size() > holderMaxSize) {
+                stock.holders.clear();
+                stock.holdersState = HOLDERS_OVERFLOW;
+                return;
+            }
+            // 로딩 중에 커밋된 이 노드의 발급은 이미 들어와 있음
+            loaded.forEach(holder -> stock.holders.putIfAbsent(holder.userId(), holder));
+            stock.holdersState = HOLDERS_LOADED;
+        } finally {
+            stock.holdersLock.unlock();
+        }
+    }
+
+    private record Rejection(ErrorCode errorCode, long expiresAtNanos, CouponStock stock) {
+    }
+
+    @Getter
+    public static class CouponStock {
+        private final Long couponId;
+        private final String code;
+        private final String title;
+        private final Long discountValue;
+        private final LocalDateTime expiresAt;
+        private final boolean firstComeFirstServed;
+
+        // 남은 수량 (선착순이 아니면 사용하지 않음)
+        private final AtomicInteger remaining;
+
+        // DB가 품절을 확인하면 이후 반환(release)이 와도 다시 열지 않음
+        private volatile boolean soldOut;
+
+        // 보유자 목록 (userId -> 발급 정보), holdersState가 LOADED일 때만 완전한 목록
+        @Getter(AccessLevel.NONE)
+        private final ConcurrentHashMap<Long, CouponHolder> holders = new ConcurrentHashMap<>();
+        @Getter(AccessLevel.NONE)
+        private final ReentrantLock holdersLock = new ReentrantLock();
+        @Getter(AccessLevel.NONE)
+        private volatile int holdersState = HOLDERS_UNLOADED;
+        @Getter(AccessLevel.NONE)
+        private final int holderMaxSize;
+
+        private CouponStock(Coupon coupon, int holderMaxSize) {
+            this.holderMaxSize = holderMaxSize;
+            this.couponId = coupon.getId();
+            this.code = coupon.getCode();
+            this.title = coupon.getTitle();
+            this.discountValue = coupon.getDiscountValue();
+            this.expiresAt = coupon.getExpiresAt();
+            this.firstComeFirstServed = coupon.isFirstComeFirstServed();
+            this.remaining = new AtomicInteger(firstComeFirstServed
+                    ? Math.max(0, coupon.getTotalQuantity() - coupon.getIssuedCount())
+                    : 0);
+            this.soldOut = firstComeFirstServed && remaining.get() == 0;
+        }
+
+        public boolean isExpired(LocalDateTime now) {
+            return expiresAt.isBefore(now);
+        }
+
+        /**
+         * 1개 확보 (0 아래로 내려가지 않음)
+         * @return 확보 성공 여부 (선착순이 아니면 항상 true)
+         */
+        public boolean tryReserve() {
+            if (!firstComeFirstServed) {
+                return true;
+            }
+            if (soldOut) {
+                return false;
+            }
+            return remaining.getAndUpdate(r -> r > 0 ? r - 1 : 0) > 0;
+        }
+
+        // 확보했지만 발급하지 않은 경우 반환 (이미 발급, 롤백 등)
+        public void release() {
+            if (firstComeFirstServed && !soldOut) {
+                remaining.incrementAndGet();
+            }
+        }
+
+        // DB 조건부 UPDATE가 품절을 알려준 경우 (다른 노드가 먼저 소진) -> 보유자 목록도 다음 거절 때 다시 로딩
+        public void markSoldOut() {
+            soldOut = true;
+            remaining.set(0);
+            if (holdersState == HOLDERS_LOADED) {
+                holdersState = HOLDERS_UNLOADED;
+            }
+        }
+
+        // 이 노드에서 발급 커밋 후 호출 (목록을 다시 읽지 않고 반영)
+        public void recordIssued(Long userId, Long userCouponId, String requestId) {
+            if (holdersState == HOLDERS_OVERFLOW) {
+                return;
+            }
+            if (holders.size() >= holderMaxSize) {
+                return; // 로딩하면 초과로 판정됨
+            }
+            holders.put(userId, new CouponHolder(userId, userCouponId, requestId));
+        }
+
+        public int getRemaining() {
+            return remaining.get();
+        }
+    }
+}
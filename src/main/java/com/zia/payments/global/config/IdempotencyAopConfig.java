@@ -0,0 +1,33 @@
+package com.zia.payments.global.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.idempotency.service.IdempotencyService;
+import com.zia.payments.idempotency.util.Idempotent;
+import com.zia.payments.idempotency.util.IdempotentMethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+/**
+ * {@code @Idempotent} 프록시 설정
+ * aspectj 의존성 없이 spring-aop advisor만 등록 -> @Transactional과 같은 인프라 auto-proxy가 컨트롤러에 적용
+ */
+@Configuration
+public class IdempotencyAopConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor idempotentAdvisor(
+            ObjectProvider<IdempotencyService> idempotencyService,
+            ObjectProvider<ObjectMapper> objectMapper
+    ) {
+        return new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Idempotent.class),
+                new IdempotentMethodInterceptor(idempotencyService, objectMapper));
+    }
+}
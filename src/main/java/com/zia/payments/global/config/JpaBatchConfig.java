@@ -0,0 +1,48 @@
+package com.zia.payments.global.config;
+
+import com.zia.payments.global.util.TimeOrderedIds;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * JDBC 배치 설정 + 시간순 ID 노드 설정
+ * - ids.node-id 필수 : 랜덤이면 노드 2대만 돼도 1/1024 확률로 같은 값 -> 원장/쿠폰/멱등키 PK 중복 INSERT 실패
+ *   노드가 1대뿐인 환경은 single-node 프로필로 0번 사용
+ * - 원장/쿠폰 발급/멱등키는 @TimeOrderedId라 INSERT도 배치로 묶임
+ * - application 설정(spring.jpa.properties.*)에 값이 있으면 그쪽이 우선
+ * - MySQL은 JDBC URL에 rewriteBatchedStatements=true가 있어야 multi-row INSERT로 전송됨
+ */
+@Slf4j
+@Configuration
+public class JpaBatchConfig {
+
+    private static final String SINGLE_NODE_PROFILE = "single-node";
+
+    public JpaBatchConfig(@Value("${ids.node-id:-1}") int nodeId, Environment environment) {
+        if (nodeId >= 0) {
+            TimeOrderedIds.configureNodeId(nodeId);
+        } else if (environment.matchesProfiles(SINGLE_NODE_PROFILE)) {
+            TimeOrderedIds.configureNodeId(0);
+            log.info("single-node 프로필 -> 노드 ID 0 사용");
+        } else {
+            throw new IllegalStateException("ids.node-id가 설정되지 않았습니다. 노드마다 0~" + TimeOrderedIds.MAX_NODE_ID
+                    + " 사이의 서로 다른 값을 지정하세요. (노드 1대면 single-node 프로필)");
+        }
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchCustomizer(
+            @Value("${jpa.batch-size:50}") int batchSize
+    ) {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+}
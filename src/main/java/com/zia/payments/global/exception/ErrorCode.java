@@ -19,6 +19,8 @@ public enum ErrorCode {
     IDEMPOTENCY_KEY_REQUIRED(HttpStatus.BAD_REQUEST, "IDEMPOTENCY_KEY_REQUIRED", "Idempotency-Key가 필요합니다"),
     IDEMPOTENCY_IN_PROGRESS(HttpStatus.CONFLICT, "IDEMPOTENCY_IN_PROGRESS", "이미 처리 중인 요청입니다"),
     IDEMPOTENCY_FAILED(HttpStatus.CONFLICT, "IDEMPOTENCY_FAILED", "이전 요청이 실패했습니다. 새로운 Idempotency-Key로 재요청하세요."),
+    IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED", "같은 Idempotency-Key로 다른 내용의 요청이 들어왔습니다"),
+    IDEMPOTENCY_OUTCOME_UNKNOWN(HttpStatus.SERVICE_UNAVAILABLE, "IDEMPOTENCY_OUTCOME_UNKNOWN", "처리 결과를 아직 확인하지 못했습니다. 같은 Idempotency-Key로 재시도하세요."),
 
     // 공통
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR", "서버 내부 오류가 발생했습니다"),
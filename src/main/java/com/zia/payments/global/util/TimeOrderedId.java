@@ -0,0 +1,18 @@
+package com.zia.payments.global.util;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 쓰기가 많은 엔티티의 PK 생성 전략 (IDENTITY 대신 사용, 배치 INSERT 가능)
+ * @see TimeOrderedIds
+ */
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface TimeOrderedId {
+}
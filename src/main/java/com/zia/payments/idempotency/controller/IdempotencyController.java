@@ -0,0 +1,45 @@
+package com.zia.payments.idempotency.controller;
+
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.idempotency.dto.response.IdempotencyCacheStatsResponse;
+import com.zia.payments.idempotency.dto.response.IdempotencyPurgeResponse;
+import com.zia.payments.idempotency.service.IdempotencyPurger;
+import com.zia.payments.idempotency.util.IdempotencyResponseCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/idempotency")
+@RequiredArgsConstructor
+public class IdempotencyController {
+
+    private final IdempotencyResponseCache responseCache;
+    private final IdempotencyPurger idempotencyPurger;
+
+    // 응답 캐시 통계 : GET /api/idempotency/cache/stats
+    @GetMapping("/cache/stats")
+    public ApiResponse<IdempotencyCacheStatsResponse> cacheStats() {
+        long hits = responseCache.getHitCount();
+        long misses = responseCache.getMissCount();
+        long total = hits + misses;
+
+        return ApiResponse.success(
+                IdempotencyCacheStatsResponse.builder()
+                        .size(responseCache.size())
+                        .hitCount(hits)
+                        .missCount(misses)
+                        .evictionCount(responseCache.getEvictionCount())
+                        .hitRatio(total == 0 ? 0.0 : (double) hits / total)
+                        .build()
+        );
+    }
+
+    // 만료 멱등키 즉시 정리 : POST /api/idempotency/purge
+    @PostMapping("/purge")
+    public ApiResponse<IdempotencyPurgeResponse> purge() {
+        return ApiResponse.success(idempotencyPurger.purge());
+    }
+}
@@ -1,8 +1,10 @@
 package com.zia.payments.idempotency.domain;
 
+import com.zia.payments.global.util.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Entity
@@ -19,7 +21,7 @@ import java.time.LocalDateTime;
 public class IdempotencyRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "idempotency_id")
     private Long id;
 
@@ -32,19 +34,49 @@ public class IdempotencyRequest {
     @Column(name = "endpoint", nullable = false, length = 100)
     private String endpoint;
 
+    // 요청 지문 (RequestFingerprint) : 같은 키 재요청의 내용이 같은지 비교 (null이면 도입 전 row)
+    @Column(name = "request_fingerprint")
+    private Long requestFingerprint;
+
+    // SUCCESS 확정이 업무 트랜잭션과 별도 커밋 (confirmInTransaction이 아닌 {@code @Idempotent}) : 멈춘 IN_PROGRESS라도 업무가 커밋됐을 수 있음
+    // (null이면 도입 전 row -> redeem/checkout처럼 같은 트랜잭션 확정)
+    @Column(name = "detached_confirm")
+    private Boolean detachedConfirm;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "idempotency_status", nullable = false, length = 20)
     private IdempotencyStatus idempotencyStatus;
 
+    // 이전 형식 (JSON), response_bin이 없는 row만 사용
     @Column(name = "response_body", columnDefinition = "json")
     private String responseBody;
 
+    // 응답 바이너리 (IdempotencyResponseCodecs) : 작은 값은 InnoDB DYNAMIC 형식에서 row 안에 저장됨
+    @Column(name = "response_bin", columnDefinition = "blob")
+    private byte[] responseBin;
+
+    // IN_PROGRESS 소유 노드 (TimeOrderedIds 노드 ID)
+    @Column(name = "owner_node")
+    private Integer ownerNode;
+
+    // 소유 만료 시각 : 지나면 다른 요청이 인계 가능 (null이면 lease 도입 전 row -> updated_at 기준)
+    @Column(name = "lease_expires_at", columnDefinition = "datetime(3)")
+    private LocalDateTime leaseExpiresAt;
+
     @Column(name = "created_at", nullable = false, columnDefinition = "datetime(3)")
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at", nullable = false, columnDefinition = "datetime(3)")
     private LocalDateTime updatedAt;
 
+    // 캐시 히트 시 역직렬화된 응답 (DB 컬럼 아님)
+    @Transient
+    private Object cachedResponse;
+
+    // lease 만료로 인계받은 요청 (DB 컬럼 아님) -> 호출부에서 이전 소유자의 반영 여부 확인
+    @Transient
+    private boolean takenOver;
+
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -72,9 +104,43 @@ public class IdempotencyRequest {
                 .build();
     }
 
-    public void markSuccess(String responseBody) {
+    // 선점 INSERT(또는 인계) 직후 상태 (영속 상태 아님, id + lease로 확정 처리)
+    public static IdempotencyRequest claimed(Long id, String requestId, Long userId, String endpoint, long fingerprint,
+                                             int ownerNode, LocalDateTime leaseExpiresAt, boolean takenOver) {
+        return IdempotencyRequest.builder()
+                .id(id)
+                .requestId(requestId)
+                .userId(userId)
+                .endpoint(endpoint)
+                .requestFingerprint(fingerprint)
+                .idempotencyStatus(IdempotencyStatus.IN_PROGRESS)
+                .ownerNode(ownerNode)
+                .leaseExpiresAt(leaseExpiresAt)
+                .takenOver(takenOver)
+                .build();
+    }
+
+    // 캐시에서 복원한 SUCCESS 결과 (영속 상태 아님)
+    public static IdempotencyRequest cachedSuccess(String requestId, Long userId, Long fingerprint, Object response) {
+        return IdempotencyRequest.builder()
+                .requestId(requestId)
+                .userId(userId)
+                .requestFingerprint(fingerprint)
+                .idempotencyStatus(IdempotencyStatus.SUCCESS)
+                .cachedResponse(response)
+                .build();
+    }
+
+    // IN_PROGRESS 소유가 만료됐는지 (lease 도입 전 row는 마지막 변경 + lease 기준)
+    public boolean isLeaseExpired(LocalDateTime now, Duration lease) {
+        LocalDateTime expiresAt = (leaseExpiresAt != null) ? leaseExpiresAt : updatedAt.plus(lease);
+        return expiresAt.isBefore(now);
+    }
+
+    public void markSuccess(String responseBody, byte[] responseBin) {
         this.idempotencyStatus = IdempotencyStatus.SUCCESS;
         this.responseBody = responseBody;
+        this.responseBin = responseBin;
     }
 
     public void markFailed() {
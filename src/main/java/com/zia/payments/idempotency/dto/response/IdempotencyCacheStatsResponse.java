@@ -0,0 +1,16 @@
+package com.zia.payments.idempotency.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class IdempotencyCacheStatsResponse {
+    private int size;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private double hitRatio; // hit / (hit + miss)
+}
@@ -0,0 +1,14 @@
+package com.zia.payments.idempotency.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class IdempotencyPurgeResponse {
+    private long purgedRows;     // 보관 기간 지나서 삭제
+    private long recoveredRows;  // lease 지난 IN_PROGRESS 삭제
+    private long elapsedMillis;
+}
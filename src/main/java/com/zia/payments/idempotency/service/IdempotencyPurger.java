@@ -0,0 +1,260 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.dto.response.IdempotencyPurgeResponse;
+import com.zia.payments.idempotency.util.IdempotencyInFlightRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 멱등키 보관 기간 만료 삭제 + 멈춘 IN_PROGRESS 회수
+ * - 보관 기간 : 엔드포인트별(idempotency.retention.endpoint-hours) 또는 기본값(default-hours)
+ * - created_at 대신 PK 범위로 삭제 : idempotency_id가 생성 시각 순(TimeOrderedIds)이라 추가 인덱스 없이 오래된 쪽부터 스캔
+ *   도입 전 IDENTITY ID(MIN_GENERATED_ID 미만)는 시각 정보가 없으므로 그 구간만 created_at으로 판단
+ * - batch-size 행씩 키셋으로 읽고 PK IN 으로 삭제 (autocommit 짧은 DELETE 여러 번 -> 락/undo 최소화)
+ * - lease가 지난 IN_PROGRESS 회수(삭제)는 SUCCESS 확정이 업무와 같은 트랜잭션인 row만 (redeem/checkout)
+ *   -> IN_PROGRESS로 남았다면 업무도 커밋되지 않은 것 (살아 있는 느린 요청이면 markSuccess UPDATE가 0건 -> 업무도 롤백)
+ *   확정이 별도 커밋인 row(detached_confirm, confirmInTransaction이 아닌 {@code @Idempotent})는 업무가 이미 커밋됐을 수 있으므로 회수하지 않고
+ *   보관 기간 만료까지 유지 -> 그 사이 재시도는 인계 + 업무 쪽 반영 확인으로 처리
+ * 파티션 DROP 대신 배치 삭제 : uk_idempotency_request_id가 파티션 키(시각)를 포함할 수 없어 MySQL 파티셔닝 불가
+ */
+@Slf4j
+@Component
+public class IdempotencyPurger {
+
+    private static final String SELECT_EXPIRED_SQL = """
+            select idempotency_id from idempotency_requests
+            where idempotency_id > ? and idempotency_id < ?%s
+            order by idempotency_id
+            limit ?
+            """;
+
+    private static final String SELECT_IN_PROGRESS_SQL = """
+            select idempotency_id, request_id from idempotency_requests
+            where idempotency_id > ? and idempotency_id < ? and idempotency_status = ?
+              and (detached_confirm is null or detached_confirm = false)
+            order by idempotency_id
+            limit ?
+            """;
+
+    // 회수 시점에 아직 IN_PROGRESS이고 lease가 지난 경우만 삭제 (그 사이 인계된 row 제외)
+    private static final String DELETE_IN_PROGRESS_SQL = """
+            delete from idempotency_requests
+            where idempotency_id = ? and idempotency_status = ?
+              and (lease_expires_at < ? or (lease_expires_at is null and updated_at < ?))
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IdempotencyInFlightRegistry inFlightRegistry;
+
+    private final long defaultRetentionMillis;
+    private final Map<String, Long> endpointRetentionMillis;
+    private final long leaseMillis;
+    private final int batchSize;
+    private final boolean scheduled;
+    private final long intervalSeconds;
+
+    private final LongAdder purgedRows = new LongAdder();
+    private final LongAdder recoveredRows = new LongAdder();
+
+    // IN_PROGRESS 스캔 위치 (이미 확인한 구간은 다시 읽지 않음, 노드 로컬)
+    private volatile long inProgressScannedId = Long.MIN_VALUE;
+
+    private ScheduledExecutorService scheduler;
+
+    public IdempotencyPurger(
+            JdbcTemplate jdbcTemplate,
+            IdempotencyInFlightRegistry inFlightRegistry,
+            @Value("${idempotency.retention.default-hours:24}") long defaultRetentionHours,
+            @Value("${idempotency.retention.endpoint-hours:}") String endpointRetentionHours,
+            @Value("${idempotency.in-progress.lease-seconds:120}") long leaseSeconds,
+            @Value("${idempotency.purge.batch-size:1000}") int batchSize,
+            @Value("${idempotency.purge.scheduled:true}") boolean scheduled,
+            @Value("${idempotency.purge.interval-seconds:60}") long intervalSeconds
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.inFlightRegistry = inFlightRegistry;
+        this.defaultRetentionMillis = TimeUnit.HOURS.toMillis(defaultRetentionHours);
+        this.endpointRetentionMillis = parseEndpointRetention(endpointRetentionHours);
+        this.leaseMillis = TimeUnit.SECONDS.toMillis(leaseSeconds);
+        this.batchSize = batchSize;
+        this.scheduled = scheduled;
+        this.intervalSeconds = intervalSeconds;
+
+        long minRetention = endpointRetentionMillis.values().stream().reduce(defaultRetentionMillis, Math::min);
+        if (leaseMillis >= minRetention) {
+            log.warn("IN_PROGRESS lease({}ms)가 최소 보관 기간({}ms) 이상 -> 처리 중인 요청이 보관 기간 삭제로 지워질 수 있음",
+                    leaseMillis, minRetention);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        if (!scheduled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledPurge, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 1회 정리 (멈춘 IN_PROGRESS 회수 -> 보관 기간 지난 행 삭제)
+     */
+    public IdempotencyPurgeResponse purge() {
+        long startedAt = System.nanoTime();
+        long now = System.currentTimeMillis();
+
+        long recovered = recoverStaleInProgress(TimeOrderedIds.lowerBound(now - leaseMillis), new Timestamp(now - leaseMillis));
+
+        long purged = 0;
+        for (Map.Entry<String, Long> entry : endpointRetentionMillis.entrySet()) {
+            purged += deleteExpired(now - entry.getValue(), " and endpoint = ?", List.of(entry.getKey()));
+        }
+        List<Object> overridden = new ArrayList<>(endpointRetentionMillis.keySet());
+        String others = overridden.isEmpty()
+                ? ""
+                : " and endpoint not in (" + String.join(",", Collections.nCopies(overridden.size(), "?")) + ")";
+        purged += deleteExpired(now - defaultRetentionMillis, others, overridden);
+
+        purgedRows.add(purged);
+        recoveredRows.add(recovered);
+        IdempotencyPurgeResponse response = IdempotencyPurgeResponse.builder()
+                .purgedRows(purged)
+                .recoveredRows(recovered)
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .build();
+        if (purged > 0 || recovered > 0) {
+            log.info("멱등키 정리 : purged={}, recovered={}, elapsedMs={}", purged, recovered, response.getElapsedMillis());
+        }
+        return response;
+    }
+
+    public long getPurgedCount() {
+        return purgedRows.sum();
+    }
+
+    public long getRecoveredCount() {
+        return recoveredRows.sum();
+    }
+
+    private void scheduledPurge() {
+        // 스케줄 작업에서 예외가 나가면 이후 실행이 멈추므로 여기서 처리
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.error("멱등키 정리 오류", e);
+        }
+    }
+
+    // expiredBefore(epoch 밀리초) 이전에 생성된 행 삭제
+    private long deleteExpired(long expiredBefore, String endpointFilter, List<Object> endpointArgs) {
+        // 도입 전 IDENTITY ID 구간 : ID로 시각을 알 수 없으므로 created_at 조건 추가
+        List<Object> legacyArgs = new ArrayList<>(endpointArgs.size() + 1);
+        legacyArgs.add(new Timestamp(expiredBefore));
+        legacyArgs.addAll(endpointArgs);
+        long deleted = deleteRange(Long.MIN_VALUE, TimeOrderedIds.MIN_GENERATED_ID, " and created_at < ?" + endpointFilter, legacyArgs);
+
+        return deleted + deleteRange(TimeOrderedIds.MIN_GENERATED_ID - 1, TimeOrderedIds.lowerBound(expiredBefore),
+                endpointFilter, endpointArgs);
+    }
+
+    // afterId < idempotency_id < upperId 범위를 batchSize씩 삭제
+    private long deleteRange(long afterId, long upperId, String filter, List<Object> filterArgs) {
+        String selectSql = SELECT_EXPIRED_SQL.formatted(filter);
+        long deleted = 0;
+        while (true) {
+            List<Object> args = new ArrayList<>(filterArgs.size() + 3);
+            args.add(afterId);
+            args.add(upperId);
+            args.addAll(filterArgs);
+            args.add(batchSize);
+            List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class, args.toArray());
+            if (ids.isEmpty()) {
+                return deleted;
+            }
+
+            String deleteSql = "delete from idempotency_requests where idempotency_id in ("
+                    + String.join(",", Collections.nCopies(ids.size(), "?")) + ")";
+            deleted += jdbcTemplate.update(deleteSql, ids.toArray());
+            if (ids.size() < batchSize) {
+                return deleted;
+            }
+            afterId = ids.get(ids.size() - 1);
+        }
+    }
+
+    // lease 지난 IN_PROGRESS 삭제 (이 노드에서 아직 처리 중인 키는 제외)
+    private long recoverStaleInProgress(long upperId, Timestamp staleBefore) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        long afterId = inProgressScannedId;
+        long firstSkippedId = Long.MAX_VALUE;
+        long recovered = 0;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(SELECT_IN_PROGRESS_SQL,
+                    afterId, upperId, IdempotencyStatus.IN_PROGRESS.name(), batchSize);
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("idempotency_id")).longValue();
+                String requestId = (String) row.get("request_id");
+                afterId = id;
+                // 이 노드에서 처리 중이거나 그 사이 인계된 키는 남김 -> 나중에 멈추면 다시 확인해야 함
+                if (inFlightRegistry.find(requestId) != null
+                        || jdbcTemplate.update(DELETE_IN_PROGRESS_SQL, id, IdempotencyStatus.IN_PROGRESS.name(), now, staleBefore) == 0) {
+                    firstSkippedId = Math.min(firstSkippedId, id);
+                    continue;
+                }
+                log.warn("멈춘 IN_PROGRESS 멱등키 회수 : requestId={}, idempotencyId={}", requestId, id);
+                recovered++;
+            }
+            if (rows.size() < batchSize) {
+                break;
+            }
+        }
+        // 다음 실행은 이번 상한부터 (그 사이 lease가 지난 행만 새로 확인), 남긴 키가 있으면 그 앞까지만
+        long scannedId = Math.min(Math.max(afterId, upperId - 1), firstSkippedId - 1);
+        inProgressScannedId = Math.max(inProgressScannedId, scannedId);
+        return recovered;
+    }
+
+    // "엔드포인트=시간,엔드포인트=시간" 형식
+    private static Map<String, Long> parseEndpointRetention(String value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        if (value == null || value.isBlank()) {
+            return result;
+        }
+        for (String pair : value.split(",")) {
+            int eq = pair.lastIndexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("idempotency.retention.endpoint-hours 형식 오류 : " + pair);
+            }
+            result.put(pair.substring(0, eq).strip(), TimeUnit.HOURS.toMillis(Long.parseLong(pair.substring(eq + 1).strip())));
+        }
+        return result;
+    }
+}
@@ -3,19 +3,35 @@ package com.zia.payments.idempotency.service;
 import com.zia.payments.idempotency.domain.IdempotencyRequest;
 
 public interface IdempotencyService {
-    // 멱등키 조회
+
+    // 서버 내부 작업 전용 키 접두사 (대량 충전 행 "bulk:{jobId}:{rowNo}", point_ledger.request_id 공유) -> 클라이언트 키로는 거절
+    String RESERVED_KEY_PREFIX = "bulk:";
+
+    // 멱등키 조회 (SUCCESS 캐시 우선)
     IdempotencyRequest findByRequestId(String requestId);
 
     /**
-     * 선점
-     * 멱등키 없으면 : IN_PROGRESS insert
-     * 멱등키 있으면 : 기존 row 반환
+     * 선점 (INSERT 1문장)
+     * SUCCESS 캐시 히트 : DB 접근 없이 SUCCESS 반환
+     * 멱등키 없으면 : IN_PROGRESS insert 후 반환 (id 포함)
+     * 멱등키 있으면 : 기존 row 반환 (SUCCESS만, 나머지는 예외)
+     * 요청 지문(RequestFingerprint)이 저장된 값과 다르면 : IDEMPOTENCY_KEY_REUSED
+     * 같은 노드에서 처리 중이면 : 원 요청 결과를 기다렸다가 SUCCESS로 반환
+     * IN_PROGRESS인데 lease 만료 : 인계 후 반환 (takenOver=true, 호출부에서 이전 반영 여부 확인)
+     * 예약 접두사(RESERVED_KEY_PREFIX)로 시작하는 키 : BAD_REQUEST
+     * @param detachedConfirm SUCCESS 확정이 업무 트랜잭션과 별도 커밋인지 (confirmInTransaction이 아닌 {@code @Idempotent}) -> 멈춘 IN_PROGRESS 회수 대상에서 제외
      */
-    IdempotencyRequest createInProgress(Long userId, String requestId, String endpoint);
+    IdempotencyRequest createInProgress(Long userId, String requestId, String endpoint, long fingerprint, boolean detachedConfirm);
+
+    // SUCCESS (PK로 확정, 호출부 트랜잭션 참여 + 커밋 후 캐시 등록)
+    void markSuccess(IdempotencyRequest acquired, Object response);
+
+    // FAILED (PK로 확정, 별도 커밋)
+    void markFailed(IdempotencyRequest acquired);
 
-    // SUCCESS
-    void markSuccess(String requestId, String responseBody);
+    // 확정하지 않고 노드 로컬 대기만 해제 (IN_PROGRESS 유지 -> lease 만료 후 인계)
+    void release(IdempotencyRequest acquired);
 
-    // FAILED
-    void markFailed(String requestId);
+    // SUCCESS 응답 복원 (캐시 객체 우선, 없으면 response_bin 또는 이전 형식 JSON)
+    <T> T readResponse(IdempotencyRequest request, Class<T> responseType);
 }
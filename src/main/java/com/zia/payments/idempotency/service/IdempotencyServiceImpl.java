@@ -1,40 +1,132 @@
 package com.zia.payments.idempotency.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zia.payments.global.exception.ApiException;
 import com.zia.payments.global.exception.ErrorCode;
 import com.zia.payments.idempotency.domain.IdempotencyRequest;
 import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.util.IdempotencyInFlightRegistry;
+import com.zia.payments.idempotency.util.IdempotencyResponseCache;
+import com.zia.payments.idempotency.util.IdempotencyResponseCodecs;
 import com.zia.payments.idempotency.util.IdempotencyTxExecutor;
-import lombok.RequiredArgsConstructor;
+import com.zia.payments.global.util.TimeOrderedIds;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 멱등성 처리
+ * IN_PROGRESS row는 소유 노드 + lease 만료 시각을 가짐
+ * - 노드가 죽어서 확정되지 못한 키는 lease가 지나면 재시도 요청이 조건부 UPDATE로 인계 (동시 인계는 1건만 성공)
+ * - SUCCESS/FAILED 확정은 (소유 노드, lease) 일치 조건 -> 인계 후 늦게 끝난 이전 소유자는 확정 실패 + 지갑 변경 롤백
+ * - 인계받은 호출부는 원장 request_id로 이전 소유자의 반영 여부를 확인 후 처리
+ * - lease는 갱신하지 않음 (확정 조건이 lease 값이라 갱신과 확정이 경합) -> 업무 최대 대기 시간보다 길게 설정
+ *   (InnoDB 락 대기 50초 + 커넥션 대기 + group commit/write-behind 대기, max-business-wait-seconds 이하면 경고)
+ * 응답 저장 형식 (idempotency.codec.binary)
+ * - true : response_bin (코덱 고정 레이아웃 / 압축 JSON), false : response_body (JSON)
+ * - 읽기는 항상 두 형식 모두 지원 -> 전환 순서 : false로 전 노드 배포 -> true로 전환 -> 보관 기간 후 response_body 컬럼 제거
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class IdempotencyServiceImpl implements IdempotencyService {
 
     private final IdempotencyTxExecutor tx;
+    private final IdempotencyResponseCache responseCache;
+    private final IdempotencyInFlightRegistry inFlightRegistry;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyResponseCodecs codecs;
+    private final Duration lease;
+    private final boolean binaryResponse;
+
+    public IdempotencyServiceImpl(
+            IdempotencyTxExecutor tx,
+            IdempotencyResponseCache responseCache,
+            IdempotencyInFlightRegistry inFlightRegistry,
+            ObjectMapper objectMapper,
+            IdempotencyResponseCodecs codecs,
+            @Value("${idempotency.in-progress.lease-seconds:120}") long leaseSeconds,
+            @Value("${idempotency.in-progress.max-business-wait-seconds:60}") long maxBusinessWaitSeconds,
+            @Value("${idempotency.codec.binary:true}") boolean binaryResponse
+    ) {
+        this.tx = tx;
+        this.responseCache = responseCache;
+        this.inFlightRegistry = inFlightRegistry;
+        this.objectMapper = objectMapper;
+        this.codecs = codecs;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.binaryResponse = binaryResponse;
+
+        if (leaseSeconds <= maxBusinessWaitSeconds) {
+            log.warn("IN_PROGRESS lease({}s)가 업무 최대 대기 시간({}s) 이하 -> 살아 있는 느린 요청의 키가 인계될 수 있음",
+                    leaseSeconds, maxBusinessWaitSeconds);
+        }
+    }
 
     @Override
     public IdempotencyRequest findByRequestId(String requestId) {
+        // 캐시 히트 -> DB 조회/JSON 파싱 생략
+        IdempotencyResponseCache.Entry cached = responseCache.get(requestId);
+        if (cached != null) {
+            return IdempotencyRequest.cachedSuccess(requestId, cached.getUserId(), cached.getFingerprint(), cached.getResponse());
+        }
         return tx.findOrNull(requestId);
     }
 
     @Override
-    public IdempotencyRequest createInProgress(Long userId, String requestId, String endpoint) {
+    public IdempotencyRequest createInProgress(Long userId, String requestId, String endpoint, long fingerprint,
+                                               boolean detachedConfirm) {
+        // MySQL 기본 collation은 대소문자를 구분하지 않으므로 접두사도 대소문자 무시
+        if (requestId.regionMatches(true, 0, RESERVED_KEY_PREFIX, 0, RESERVED_KEY_PREFIX.length())) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "Idempotency-Key는 '" + RESERVED_KEY_PREFIX + "'로 시작할 수 없습니다.");
+        }
+
+        // 재시도 대부분은 캐시에서 끝남
+        IdempotencyResponseCache.Entry cached = responseCache.get(requestId);
+        if (cached != null) {
+            validateRequest(requestId, cached.getUserId(), cached.getFingerprint(), userId, fingerprint);
+            return IdempotencyRequest.cachedSuccess(requestId, cached.getUserId(), cached.getFingerprint(), cached.getResponse());
+        }
+
+        // 같은 노드에서 처리 중이면 INSERT 시도 없이 원 요청 결과 대기
+        IdempotencyInFlightRegistry.InFlight running = inFlightRegistry.find(requestId);
+        if (running != null) {
+            return awaitInFlight(requestId, userId, fingerprint, running);
+        }
+
+        int ownerNode = (int) TimeOrderedIds.nodeId();
+        LocalDateTime leaseExpiresAt = newLeaseExpiry();
         try {
-            // INSERT는 REQUIRES_NEW에서 실행
-            return tx.insertInProgress(userId, requestId, endpoint);
+            // INSERT 1문장 (autocommit)
+            Long id = tx.insertInProgress(userId, requestId, endpoint, fingerprint, detachedConfirm, ownerNode, leaseExpiresAt);
+            inFlightRegistry.register(requestId, userId, fingerprint);
+            return IdempotencyRequest.claimed(id, requestId, userId, endpoint, fingerprint, ownerNode, leaseExpiresAt, false);
         } catch (DataIntegrityViolationException e) {
             // 조회도 REQUIRES_NEW에서 실행 -> 500 error 방지
             IdempotencyRequest existing = tx.load(requestId);
 
             log.info("멱등키 이미 존재 : requestId={}, status={}", requestId, existing.getIdempotencyStatus());
 
+            validateRequest(requestId, existing.getUserId(), existing.getRequestFingerprint(), userId, fingerprint);
+
             // 상태별 처리
             if(existing.getIdempotencyStatus() == IdempotencyStatus.IN_PROGRESS) {
+                // INSERT 직후 등록 전이었을 수 있으므로 한 번 더 확인
+                IdempotencyInFlightRegistry.InFlight registered = inFlightRegistry.find(requestId);
+                if (registered != null) {
+                    return awaitInFlight(requestId, userId, fingerprint, registered);
+                }
+                // 소유 노드가 죽은 뒤 lease 만료 -> 인계
+                IdempotencyRequest takenOver = takeOver(existing, userId, fingerprint, ownerNode);
+                if (takenOver != null) {
+                    return takenOver;
+                }
                 throw new ApiException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
             }
 
@@ -48,12 +140,125 @@ public class IdempotencyServiceImpl implements IdempotencyService {
     }
 
     @Override
-    public void markSuccess(String requestId, String responseBody) {
-        tx.markSuccess(requestId, responseBody);
+    public void markSuccess(IdempotencyRequest acquired, Object response) {
+        boolean confirmed = binaryResponse
+                ? tx.markSuccess(acquired, null, codecs.encode(response))
+                : tx.markSuccess(acquired, serialize(response), null);
+        if (!confirmed) {
+            throw new ApiException(ErrorCode.IDEMPOTENCY_IN_PROGRESS, "멱등키 소유권을 잃었습니다. (lease 만료 후 인계/회수됨)");
+        }
+
+        // 지갑 트랜잭션 안이면 커밋 이후에만 캐시 등록 + 대기 중인 요청 깨움
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publishSuccess(acquired, response);
+                }
+            });
+        } else {
+            publishSuccess(acquired, response);
+        }
     }
 
     @Override
-    public void markFailed(String requestId) {
-        tx.markFailed(requestId);
+    public void markFailed(IdempotencyRequest acquired) {
+        try {
+            tx.markFailed(acquired);
+        } finally {
+            inFlightRegistry.fail(acquired.getRequestId());
+        }
+    }
+
+    @Override
+    public void release(IdempotencyRequest acquired) {
+        inFlightRegistry.abandon(acquired.getRequestId());
+    }
+
+    @Override
+    public <T> T readResponse(IdempotencyRequest request, Class<T> responseType) {
+        if (request.getCachedResponse() != null) {
+            return responseType.cast(request.getCachedResponse());
+        }
+
+        T response = (request.getResponseBin() != null)
+                ? codecs.decode(request.getResponseBin(), responseType)
+                : parse(request.getResponseBody(), responseType);
+        // DB에서 읽은 SUCCESS도 캐시에 올려서 다음 재시도는 메모리에서 응답
+        responseCache.put(request.getRequestId(), request.getUserId(), request.getRequestFingerprint(), response);
+        return response;
+    }
+
+    // lease 만료된 IN_PROGRESS 인계 (실패하면 null)
+    private IdempotencyRequest takeOver(IdempotencyRequest existing, Long userId, long fingerprint, int ownerNode) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!existing.isLeaseExpired(now, lease)) {
+            return null;
+        }
+
+        LocalDateTime leaseExpiresAt = newLeaseExpiry();
+        if (!tx.takeOver(existing.getId(), ownerNode, leaseExpiresAt, now.minus(lease))) {
+            return null;
+        }
+
+        log.warn("lease 만료된 멱등키 인계 : requestId={}, previousOwner={}, newOwner={}",
+                existing.getRequestId(), existing.getOwnerNode(), ownerNode);
+        inFlightRegistry.register(existing.getRequestId(), userId, fingerprint);
+        return IdempotencyRequest.claimed(existing.getId(), existing.getRequestId(), existing.getUserId(),
+                existing.getEndpoint(), fingerprint, ownerNode, leaseExpiresAt, true);
+    }
+
+    // datetime(3) 컬럼과 정확히 비교되도록 밀리초 단위로 자름
+    private LocalDateTime newLeaseExpiry() {
+        return LocalDateTime.now().plus(lease).truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private void publishSuccess(IdempotencyRequest acquired, Object response) {
+        responseCache.put(acquired.getRequestId(), acquired.getUserId(), acquired.getRequestFingerprint(), response);
+        inFlightRegistry.complete(acquired.getRequestId(), response);
+    }
+
+    // 처리 중인 원 요청의 결과를 기다렸다가 SUCCESS로 반환 (시간 초과 시 IDEMPOTENCY_IN_PROGRESS)
+    private IdempotencyRequest awaitInFlight(String requestId, Long userId, long fingerprint, IdempotencyInFlightRegistry.InFlight running) {
+        validateRequest(requestId, running.getUserId(), running.getFingerprint(), userId, fingerprint);
+
+        log.info("처리 중인 멱등키 대기 : requestId={}", requestId);
+        Object response = inFlightRegistry.await(requestId, running);
+        return IdempotencyRequest.cachedSuccess(requestId, running.getUserId(), running.getFingerprint(), response);
+    }
+
+    /**
+     * 멱등키 재사용 검증
+     * - 다른 사용자의 키 : BAD_REQUEST
+     * - 같은 키인데 요청 내용(지문)이 다름 : IDEMPOTENCY_KEY_REUSED (지문이 없는 이전 row는 사용자만 확인)
+     */
+    private void validateRequest(String requestId, Long storedUserId, Long storedFingerprint, Long userId, long fingerprint) {
+        if (storedUserId != null && !storedUserId.equals(userId)) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "Idempotency-Key가 다른 사용자에 의해 사용되었습니다.");
+        }
+        if (storedFingerprint != null && storedFingerprint != fingerprint) {
+            log.info("멱등키 재사용 (요청 내용 불일치) : requestId={}", requestId);
+            throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REUSED);
+        }
+    }
+
+    // JSON 직렬화 (멱등성용)
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (Exception e) {
+            log.error("응답 직렬화 실패 : {}", response, e);
+            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    // JSON 역직렬화 (멱등성용)
+    private <T> T parse(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (Exception e) {
+            log.error("응답 파싱 실패 : type={}, json={}", responseType.getSimpleName(), json, e);
+            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+        }
     }
 }
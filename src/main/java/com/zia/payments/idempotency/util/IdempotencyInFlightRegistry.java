@@ -0,0 +1,110 @@
+package com.zia.payments.idempotency.util;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 처리 중인 멱등키 레지스트리 (노드 로컬)
+ * 같은 노드에서 처리 중인 requestId로 재시도가 들어오면 409를 바로 주지 않고
+ * 원 요청의 결과를 최대 max-wait 동안 기다렸다가 같은 응답을 돌려준다.
+ * - 원 요청 SUCCESS : 동일 응답 객체 반환
+ * - 원 요청 FAILED : IDEMPOTENCY_FAILED
+ * - 대기 시간 초과 : IDEMPOTENCY_IN_PROGRESS (기존 동작)
+ */
+@Slf4j
+@Component
+public class IdempotencyInFlightRegistry {
+
+    private final long maxWaitMillis;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyInFlightRegistry(@Value("${idempotency.coalesce.max-wait-ms:3000}") long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public boolean isEnabled() {
+        return maxWaitMillis > 0;
+    }
+
+    // 선점 성공한 요청 등록
+    public void register(String requestId, Long userId, long fingerprint) {
+        if (!isEnabled()) {
+            return;
+        }
+        inFlight.put(requestId, new InFlight(userId, fingerprint));
+    }
+
+    // 처리 중인 요청 조회 (없으면 null)
+    public InFlight find(String requestId) {
+        return isEnabled() ? inFlight.get(requestId) : null;
+    }
+
+    public void complete(String requestId, Object response) {
+        InFlight entry = inFlight.remove(requestId);
+        if (entry != null) {
+            entry.future.complete(response);
+        }
+    }
+
+    public void fail(String requestId) {
+        InFlight entry = inFlight.remove(requestId);
+        if (entry != null) {
+            entry.future.completeExceptionally(new ApiException(ErrorCode.IDEMPOTENCY_FAILED));
+        }
+    }
+
+    // 결과를 확정하지 못하고 손을 뗌 -> 대기 중인 요청은 IDEMPOTENCY_IN_PROGRESS (재시도 시 인계)
+    public void abandon(String requestId) {
+        InFlight entry = inFlight.remove(requestId);
+        if (entry != null) {
+            entry.future.completeExceptionally(new ApiException(ErrorCode.IDEMPOTENCY_IN_PROGRESS));
+        }
+    }
+
+    public int size() {
+        return inFlight.size();
+    }
+
+    /**
+     * 원 요청 결과 대기
+     * @return 원 요청의 응답 객체
+     */
+    public Object await(String requestId, InFlight entry) {
+        try {
+            return entry.future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.info("멱등키 대기 시간 초과 : requestId={}, maxWaitMillis={}", requestId, maxWaitMillis);
+            throw new ApiException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw new ApiException(ErrorCode.IDEMPOTENCY_FAILED);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(ErrorCode.IDEMPOTENCY_IN_PROGRESS);
+        }
+    }
+
+    @Getter
+    public static class InFlight {
+        private final Long userId;
+        private final Long fingerprint;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        private InFlight(Long userId, long fingerprint) {
+            this.userId = userId;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.zia.payments.idempotency.util;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SUCCESS 멱등성 결과 인메모리 캐시
+ * 재시도 요청을 DB 조회 + JSON 파싱 없이 바로 응답하기 위한 용도
+ * - requestId -> (userId, 요청 지문, 역직렬화된 응답 객체)
+ * - 최대 크기 초과 시 오래된 항목부터 제거 (FIFO)
+ * - TTL 지나면 조회 시점에 제거
+ * - 삽입 순서 큐에는 Entry를 넣고, 맵의 현재 값과 같은 객체일 때만 유효한 항목으로 본다
+ *   (invalidate/덮어쓰기/만료 제거된 옛 Entry가 같은 키의 새 항목을 대신 밀어내지 않도록)
+ * - SUCCESS는 바뀌지 않는 결과이므로 캐시와 DB 불일치 문제 없음
+ */
+@Component
+public class IdempotencyResponseCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public IdempotencyResponseCache(
+            @Value("${idempotency.cache.max-size:10000}") int maxSize,
+            @Value("${idempotency.cache.ttl-seconds:600}") long ttlSeconds
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    // 캐시 조회 (없거나 만료면 null)
+    public Entry get(String requestId) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        Entry entry = entries.get(requestId);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.isExpired(System.nanoTime())) {
+            if (entries.remove(requestId, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry;
+    }
+
+    // SUCCESS 결과 저장
+    public void put(String requestId, Long userId, Long fingerprint, Object response) {
+        if (!isEnabled() || response == null) {
+            return;
+        }
+
+        Entry entry = new Entry(requestId, userId, fingerprint, response, System.nanoTime() + ttlNanos);
+        entries.put(requestId, entry);
+        insertionOrder.offer(entry); // 덮어쓴 옛 Entry는 큐에 남지만 맵과 달라서 제거 대상
+        evictIfNeeded();
+    }
+
+    // 드문 경로라 큐에서도 바로 제거 (O(n))
+    public void invalidate(String requestId) {
+        Entry removed = entries.remove(requestId);
+        if (removed != null) {
+            insertionOrder.remove(removed);
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // 크기 초과분 + 앞쪽의 만료 항목 제거 (삽입 순서 = 만료 순서)
+    // 맵에서 이미 빠졌거나 새 값으로 바뀐 옛 Entry는 큐에서만 제거
+    private void evictIfNeeded() {
+        long now = System.nanoTime();
+        Entry oldest;
+        while ((oldest = insertionOrder.peek()) != null) {
+            boolean live = entries.get(oldest.requestId) == oldest;
+            boolean overflow = entries.size() > maxSize;
+
+            if (live && !overflow && !oldest.isExpired(now)) {
+                break;
+            }
+
+            // 다른 스레드가 먼저 꺼냈으면 그쪽이 처리
+            if (insertionOrder.remove(oldest) && live && entries.remove(oldest.requestId, oldest)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    @Getter
+    public static class Entry {
+        @Getter(AccessLevel.NONE)
+        private final String requestId;
+        private final Long userId;
+        private final Long fingerprint;
+        private final Object response;
+        private final long expiresAtNanos;
+
+        private Entry(String requestId, Long userId, Long fingerprint, Object response, long expiresAtNanos) {
+            this.requestId = requestId;
+            this.userId = userId;
+            this.fingerprint = fingerprint;
+            this.response = response;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
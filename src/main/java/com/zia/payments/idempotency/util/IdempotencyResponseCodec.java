@@ -0,0 +1,23 @@
+package com.zia.payments.idempotency.util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 멱등성 응답 바이너리 코덱 (응답 타입별 고정 레이아웃)
+ * 빈으로 등록하면 IdempotencyResponseCodecs가 타입/tag로 찾아서 사용, 등록되지 않은 타입은 JSON(압축) 폴백
+ * tag는 저장된 데이터의 첫 바이트이므로 한 번 정하면 바꾸지 않고, 레이아웃을 바꿀 때는 새 tag를 쓴다.
+ */
+public interface IdempotencyResponseCodec<T> {
+
+    // 16 ~ 127, 코덱마다 고유
+    byte tag();
+
+    Class<T> type();
+
+    // tag 1바이트를 제외한 인코딩 크기 (정확히 이만큼만 할당)
+    int encodedSize(T response);
+
+    void encode(T response, ByteBuffer out);
+
+    T decode(ByteBuffer in);
+}
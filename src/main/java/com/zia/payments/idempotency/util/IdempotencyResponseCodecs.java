@@ -0,0 +1,149 @@
+package com.zia.payments.idempotency.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 멱등성 응답 직렬화 (response_bin 컬럼)
+ * [1바이트 tag | 본문]
+ * - tag 16 ~ 127 : 등록된 코덱의 고정 레이아웃 (JSON 파싱/필드명 없이 값만 저장)
+ * - tag 1 : JSON 원문, tag 2 : JSON Deflate 압축 (compress-threshold-bytes 이상일 때)
+ */
+@Slf4j
+@Component
+public class IdempotencyResponseCodecs {
+
+    static final byte TAG_JSON = 1;
+    static final byte TAG_JSON_DEFLATE = 2;
+    private static final int MIN_CODEC_TAG = 16;
+
+    private final ObjectMapper objectMapper;
+    private final int compressThresholdBytes;
+    private final Map<Class<?>, IdempotencyResponseCodec<?>> byType = new HashMap<>();
+    private final IdempotencyResponseCodec<?>[] byTag = new IdempotencyResponseCodec<?>[128];
+
+    public IdempotencyResponseCodecs(
+            List<IdempotencyResponseCodec<?>> codecs,
+            ObjectMapper objectMapper,
+            @Value("${idempotency.codec.compress-threshold-bytes:256}") int compressThresholdBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.compressThresholdBytes = compressThresholdBytes;
+        for (IdempotencyResponseCodec<?> codec : codecs) {
+            int tag = codec.tag();
+            if (tag < MIN_CODEC_TAG || byTag[tag] != null || byType.containsKey(codec.type())) {
+                throw new IllegalStateException("멱등성 응답 코덱 tag/타입 중복 또는 범위 오류 : " + codec.getClass().getSimpleName());
+            }
+            byTag[tag] = codec;
+            byType.put(codec.type(), codec);
+        }
+    }
+
+    public byte[] encode(Object response) {
+        IdempotencyResponseCodec<?> codec = byType.get(response.getClass());
+        if (codec != null) {
+            return encodeWith(codec, response);
+        }
+        return encodeJson(response);
+    }
+
+    public <T> T decode(byte[] bytes, Class<T> responseType) {
+        try {
+            byte tag = bytes[0];
+            if (tag == TAG_JSON) {
+                return objectMapper.readValue(bytes, 1, bytes.length - 1, responseType);
+            }
+            if (tag == TAG_JSON_DEFLATE) {
+                return objectMapper.readValue(inflate(bytes), responseType);
+            }
+
+            IdempotencyResponseCodec<?> codec = (tag >= MIN_CODEC_TAG) ? byTag[tag] : null;
+            if (codec == null || !responseType.isAssignableFrom(codec.type())) {
+                throw new IllegalStateException("알 수 없는 응답 tag 또는 타입 불일치 : tag=" + tag);
+            }
+            return responseType.cast(codec.decode(ByteBuffer.wrap(bytes, 1, bytes.length - 1)));
+        } catch (Exception e) {
+            log.error("응답 복원 실패 : type={}, bytes={}", responseType.getSimpleName(), bytes.length, e);
+            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> byte[] encodeWith(IdempotencyResponseCodec<T> codec, Object response) {
+        T typed = (T) response;
+        ByteBuffer out = ByteBuffer.allocate(1 + codec.encodedSize(typed));
+        out.put(codec.tag());
+        codec.encode(typed, out);
+        return out.array();
+    }
+
+    private byte[] encodeJson(Object response) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(response);
+        } catch (Exception e) {
+            log.error("응답 직렬화 실패 : {}", response, e);
+            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+        }
+
+        if (json.length >= compressThresholdBytes) {
+            byte[] deflated = deflate(json);
+            if (deflated.length < json.length) {
+                return deflated;
+            }
+        }
+        byte[] bytes = new byte[1 + json.length];
+        bytes[0] = TAG_JSON;
+        System.arraycopy(json, 0, bytes, 1, json.length);
+        return bytes;
+    }
+
+    private static byte[] deflate(byte[] json) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(json);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2 + 16);
+            out.write(TAG_JSON_DEFLATE);
+            byte[] buffer = new byte[512];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) throws DataFormatException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[512];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("압축 데이터가 잘렸습니다.");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+}
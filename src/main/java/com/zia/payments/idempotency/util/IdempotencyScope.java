@@ -0,0 +1,35 @@
+package com.zia.payments.idempotency.util;
+
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+
+/**
+ * {@code @Idempotent} 메서드 실행 중 선점한 멱등키 (요청 스레드 로컬)
+ * 업무는 여기서 requestId를 받아 기록하고, 인계(takenOver)받은 경우 이전 반영 여부를 확인한다.
+ * - confirmInTransaction이면 업무 메서드가 이 멱등키로 자기 트랜잭션 안에서 markSuccess (충전)
+ * - 아니면 확정이 업무 트랜잭션과 별도 커밋 -> 커밋 직후 노드가 죽으면 lease 만료 후 재시도가 인계로 들어온다.
+ */
+public final class IdempotencyScope {
+
+    private static final ThreadLocal<IdempotencyRequest> CURRENT = new ThreadLocal<>();
+
+    private IdempotencyScope() {
+    }
+
+    // 멱등키 없이 실행 중이면 null
+    public static IdempotencyRequest current() {
+        return CURRENT.get();
+    }
+
+    public static String currentRequestId() {
+        IdempotencyRequest acquired = CURRENT.get();
+        return (acquired == null) ? null : acquired.getRequestId();
+    }
+
+    static void enter(IdempotencyRequest acquired) {
+        CURRENT.set(acquired);
+    }
+
+    static void exit() {
+        CURRENT.remove();
+    }
+}
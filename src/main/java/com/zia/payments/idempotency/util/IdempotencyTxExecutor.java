@@ -2,24 +2,100 @@ package com.zia.payments.idempotency.util;
 
 import com.zia.payments.global.exception.ApiException;
 import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.util.TimeOrderedIds;
 import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
 import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class IdempotencyTxExecutor {
 
+    private static final String INSERT_IN_PROGRESS_SQL = """
+            insert into idempotency_requests
+                (idempotency_id, request_id, user_id, endpoint, request_fingerprint, detached_confirm, idempotency_status,
+                 owner_node, lease_expires_at, created_at, updated_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // lease 만료된 IN_PROGRESS만 인계 (동시에 인계를 시도해도 1건만 성공)
+    private static final String TAKE_OVER_SQL = """
+            update idempotency_requests
+            set owner_node = ?, lease_expires_at = ?, updated_at = ?
+            where idempotency_id = ? and idempotency_status = ?
+              and (lease_expires_at < ? or (lease_expires_at is null and updated_at < ?))
+            """;
+
+    // PK로 바로 확정 (requestId 재조회 없음), 내가 소유한 IN_PROGRESS일 때만 전이
+    // 인계된 뒤 늦게 끝난 이전 소유자는 0건 -> 예외로 지갑 변경까지 롤백 (이중 반영 방지)
+    private static final String MARK_SUCCESS_SQL = """
+            update idempotency_requests
+            set idempotency_status = ?, response_body = ?, response_bin = ?, updated_at = ?
+            where idempotency_id = ? and idempotency_status = ? and owner_node = ? and lease_expires_at = ?
+            """;
+
+    private static final String MARK_FAILED_SQL = """
+            update idempotency_requests
+            set idempotency_status = ?, updated_at = ?
+            where idempotency_id = ? and idempotency_status = ? and owner_node = ? and lease_expires_at = ?
+            """;
+
     private final IdempotencyRequestRepository repo;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 선점 INSERT 1문장 (autocommit)
+     * 호출부 트랜잭션과 분리해야 다른 요청이 바로 UNIQUE 충돌을 볼 수 있음
+     * ID는 애플리케이션에서 생성 (generated key 조회 없음)
+     * @return 생성된 idempotency_id (중복이면 DuplicateKeyException)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long insertInProgress(Long userId, String requestId, String endpoint, long fingerprint, boolean detachedConfirm,
+                                 int ownerNode, LocalDateTime leaseExpiresAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long id = TimeOrderedIds.next();
+
+        jdbcTemplate.update(INSERT_IN_PROGRESS_SQL,
+                id,
+                requestId,
+                userId,
+                endpoint,
+                fingerprint,
+                detachedConfirm,
+                IdempotencyStatus.IN_PROGRESS.name(),
+                ownerNode,
+                Timestamp.valueOf(leaseExpiresAt),
+                now,
+                now);
+        return id;
+    }
 
-    // UNIQUE 충돌을 즉시 발생시키기 위해 flush 포함
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public IdempotencyRequest insertInProgress(Long userId, String requestId, String endpoint) {
-        IdempotencyRequest req = IdempotencyRequest.inProgress(requestId, userId, endpoint);
-        return repo.saveAndFlush(req);
+    /**
+     * lease 만료된 IN_PROGRESS 인계 (조건부 UPDATE 1문장, autocommit)
+     * @param staleBefore lease 도입 전 row(lease_expires_at null)는 updated_at이 이 시각 이전이면 만료로 봄
+     * @return 인계 성공 여부 (다른 요청이 먼저 인계했거나 확정됐으면 false)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public boolean takeOver(Long idempotencyId, int ownerNode, LocalDateTime leaseExpiresAt, LocalDateTime staleBefore) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.update(TAKE_OVER_SQL,
+                ownerNode,
+                Timestamp.valueOf(leaseExpiresAt),
+                Timestamp.valueOf(now),
+                idempotencyId,
+                IdempotencyStatus.IN_PROGRESS.name(),
+                Timestamp.valueOf(now),
+                Timestamp.valueOf(staleBefore)) == 1;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
@@ -33,17 +109,43 @@ public class IdempotencyTxExecutor {
         return repo.findByRequestId(requestId).orElse(null);
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markSuccess(String requestId, String responseBody) {
-        IdempotencyRequest req = repo.findByRequestId(requestId)
-                        .orElseThrow(() -> new ApiException(ErrorCode.BAD_REQUEST, "멱등키 조회 실패"));
-        req.markSuccess(responseBody);
+    /**
+     * SUCCESS 확정 (PK 기준 UPDATE 1문장, 응답은 JSON/바이너리 중 하나만 채움)
+     * 호출부 트랜잭션(지갑 변경)에 참여 -> 지갑 변경과 함께 커밋/롤백
+     * 소유권을 잃어도 여기서 던지지 않음 : 참여 트랜잭션에서 예외가 나가면 전체가 rollback-only가 되므로
+     * 호출부(그룹 커밋 savepoint 등)가 이 요청만 롤백할 수 있도록 결과만 반환
+     * @return 확정 성공 여부 (false면 lease 만료 후 인계/회수됨)
+     */
+    @Transactional
+    public boolean markSuccess(IdempotencyRequest acquired, String responseBody, byte[] responseBin) {
+        int updated = jdbcTemplate.update(MARK_SUCCESS_SQL,
+                IdempotencyStatus.SUCCESS.name(),
+                responseBody,
+                responseBin,
+                Timestamp.valueOf(LocalDateTime.now()),
+                acquired.getId(),
+                IdempotencyStatus.IN_PROGRESS.name(),
+                acquired.getOwnerNode(),
+                Timestamp.valueOf(acquired.getLeaseExpiresAt()));
+        return updated == 1;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void markFailed(String requestId) {
-        IdempotencyRequest req = repo.findByRequestId(requestId)
-                        .orElseThrow(() -> new ApiException(ErrorCode.BAD_REQUEST, "멱등키 조회 실패"));
-        req.markFailed();
+    /**
+     * FAILED 확정 (PK 기준 UPDATE 1문장, autocommit)
+     * 지갑 트랜잭션이 롤백된 뒤에도 남아야 하므로 호출부 트랜잭션과 분리
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void markFailed(IdempotencyRequest acquired) {
+        int updated = jdbcTemplate.update(MARK_FAILED_SQL,
+                IdempotencyStatus.FAILED.name(),
+                Timestamp.valueOf(LocalDateTime.now()),
+                acquired.getId(),
+                IdempotencyStatus.IN_PROGRESS.name(),
+                acquired.getOwnerNode(),
+                Timestamp.valueOf(acquired.getLeaseExpiresAt()));
+        if (updated == 0) {
+            // 이미 다른 요청이 인계했거나 회수됨 -> 새 소유자의 결과를 덮지 않음
+            log.warn("멱등키 FAILED 확정 생략 (소유권 없음) : requestId={}, idempotencyId={}", acquired.getRequestId(), acquired.getId());
+        }
     }
 }
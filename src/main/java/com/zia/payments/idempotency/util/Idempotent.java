@@ -0,0 +1,29 @@
+package com.zia.payments.idempotency.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 컨트롤러 메서드 멱등성 적용 (Idempotency-Key 헤더 기준, IdempotentMethodInterceptor)
+ * - 같은 키 재요청 : 메서드를 실행하지 않고 저장된 응답 반환 (캐시 -> 처리 중 대기 -> DB 순)
+ * - 같은 키 + 다른 요청 내용 : IDEMPOTENCY_KEY_REUSED
+ * 반환 타입은 ApiResponse<T> 또는 DTO (ApiResponse면 data만 저장), 경로에 {userId} 필수
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Idempotent {
+
+    // 멱등키 테이블 endpoint 값 (비우면 매핑 경로, ex. /api/users/{userId}/points/charge)
+    String endpoint() default "";
+
+    // false면 헤더 없는 요청은 멱등성 없이 그대로 실행 (기존 클라이언트 호환)
+    boolean required() default true;
+
+    // true면 업무 메서드가 IdempotencyScope의 멱등키로 업무 트랜잭션 안에서 SUCCESS 확정 (인터셉터는 확정하지 않음)
+    // -> 확정과 업무가 한 커밋이라 lease 만료 후 인계와 겹쳐도 이중 반영 없음, 멈춘 IN_PROGRESS는 회수 대상
+    boolean confirmInTransaction() default false;
+}
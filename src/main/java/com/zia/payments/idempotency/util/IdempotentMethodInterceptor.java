@@ -0,0 +1,213 @@
+package com.zia.payments.idempotency.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.service.IdempotencyService;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code @Idempotent} 컨트롤러 메서드 감싸기 (redeem과 같은 멱등성 절차)
+ * createInProgress(캐시 히트 / 처리 중 대기 / DB 선점) -> 메서드 실행 -> markSuccess, 예외면 markFailed
+ * - 결과 미정 예외(IDEMPOTENCY_OUTCOME_UNKNOWN, 예 : 쓰기 지연 배치 대기 시간 초과)는 FAILED로 바꾸지 않고 IN_PROGRESS로 둠
+ *   (업무가 나중에 커밋될 수 있음 -> lease 만료 후 같은 키 재시도가 인계받아 업무 쪽에서 반영 여부 확인)
+ * - 응답은 ApiResponse의 data(타입 T)만 저장 -> 코덱이 있으면 고정 레이아웃, 없으면 JSON
+ * - 요청 지문 : endpoint + 헤더를 제외한 메서드 인자 (숫자/문자열은 값 그대로, DTO는 JSON 바이트)
+ * - 메서드 분석(endpoint, userId 위치, 응답 타입)은 메서드별로 1회
+ * confirmInTransaction(충전) : 업무 메서드가 자기 트랜잭션 안에서 SUCCESS 확정 -> 인터셉터는 선점/실패 처리만
+ * 그 외 : SUCCESS 확정이 업무 트랜잭션과 별도 커밋
+ * -> 커밋 후 확정 전에 노드가 죽으면 재시도가 인계로 들어옴 : 업무 쪽에서 IdempotencyScope로 확인
+ * -> 확정 UPDATE가 실패하면 FAILED로 바꾸지 않고 IN_PROGRESS로 둠 (이미 커밋된 업무를 새 키로 재시도하게 만들지 않음)
+ * -> 인계 확인과 원 소유자의 늦은 업무 커밋 사이에는 순서 보장이 없음 (둘 다 반영될 수 있음)
+ *    반복 실행하면 안 되는 업무는 confirmInTransaction으로 확정을 업무 커밋에 묶을 것
+ */
+@Slf4j
+public class IdempotentMethodInterceptor implements MethodInterceptor {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String USER_ID = "userId";
+
+    private final ObjectProvider<IdempotencyService> idempotencyService;
+    private final ObjectProvider<ObjectMapper> objectMapper;
+    private final ParameterNameDiscoverer parameterNames = new DefaultParameterNameDiscoverer();
+    private final ConcurrentHashMap<Method, Target> targets = new ConcurrentHashMap<>();
+
+    // 인프라 advisor가 먼저 만들어지므로 서비스 빈은 첫 호출 때 조회
+    public IdempotentMethodInterceptor(ObjectProvider<IdempotencyService> idempotencyService, ObjectProvider<ObjectMapper> objectMapper) {
+        this.idempotencyService = idempotencyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Target target = targets.computeIfAbsent(invocation.getMethod(), this::analyze);
+        Object[] args = invocation.getArguments();
+
+        String requestId = currentIdempotencyKey();
+        if (requestId == null || requestId.isBlank()) {
+            if (target.required) {
+                throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REQUIRED);
+            }
+            return invocation.proceed();
+        }
+
+        IdempotencyService service = idempotencyService.getObject();
+        Long userId = (Long) args[target.userIdIndex];
+        IdempotencyRequest acquired = service.createInProgress(userId, requestId, target.endpoint, fingerprint(target, args),
+                !target.confirmInTransaction);
+
+        // 이미 완료된 요청 -> 저장된 응답 반환
+        if (acquired.getIdempotencyStatus() == IdempotencyStatus.SUCCESS) {
+            log.info("멱등성 캐시 히트(SUCCESS) : requestId={}, endpoint={}", requestId, target.endpoint);
+            return target.wrap(service.readResponse(acquired, target.responseType));
+        }
+
+        Object result;
+        IdempotencyScope.enter(acquired);
+        try {
+            result = invocation.proceed();
+        } catch (Throwable e) {
+            if (isOutcomeUnknown(e)) {
+                log.warn("업무 결과 미정 -> IN_PROGRESS 유지 (lease 만료 후 인계) : requestId={}", requestId);
+                service.release(acquired);
+            } else {
+                service.markFailed(acquired);
+            }
+            throw e;
+        } finally {
+            IdempotencyScope.exit();
+        }
+
+        // 업무 트랜잭션 안에서 이미 확정됨
+        if (target.confirmInTransaction) {
+            return result;
+        }
+
+        try {
+            service.markSuccess(acquired, target.unwrap(result));
+        } catch (RuntimeException e) {
+            log.error("멱등키 확정 실패 (업무는 커밋됨, lease 만료 후 인계) : requestId={}", requestId, e);
+            service.release(acquired);
+            throw e;
+        }
+        return result;
+    }
+
+    private static boolean isOutcomeUnknown(Throwable e) {
+        return e instanceof ApiException apiException && apiException.getErrorCode() == ErrorCode.IDEMPOTENCY_OUTCOME_UNKNOWN;
+    }
+
+    // 메서드별 1회 : endpoint, 헤더/userId 인자 위치, 저장할 응답 타입
+    private Target analyze(Method method) {
+        Idempotent idempotent = AnnotatedElementUtils.findMergedAnnotation(method, Idempotent.class);
+        String endpoint = StringUtils.hasText(idempotent.endpoint()) ? idempotent.endpoint() : mappingPath(method);
+
+        int keyIndex = -1;
+        int userIdIndex = -1;
+        for (int i = 0; i < method.getParameterCount(); i++) {
+            MethodParameter parameter = new MethodParameter(method, i);
+            parameter.initParameterNameDiscovery(parameterNames);
+
+            RequestHeader header = parameter.getParameterAnnotation(RequestHeader.class);
+            if (header != null && IDEMPOTENCY_KEY_HEADER.equalsIgnoreCase(StringUtils.hasText(header.name()) ? header.name() : header.value())) {
+                keyIndex = i;
+            }
+            PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+            if (pathVariable != null && parameter.getParameterType() == Long.class) {
+                String name = StringUtils.hasText(pathVariable.name()) ? pathVariable.name() : pathVariable.value();
+                if (USER_ID.equals(StringUtils.hasText(name) ? name : parameter.getParameterName())) {
+                    userIdIndex = i;
+                }
+            }
+        }
+        if (userIdIndex < 0) {
+            throw new IllegalStateException("@Idempotent 메서드에 @PathVariable Long userId가 필요합니다 : " + method);
+        }
+
+        boolean wrapped = ApiResponse.class.isAssignableFrom(method.getReturnType());
+        Class<?> responseType = wrapped
+                ? ResolvableType.forMethodReturnType(method).getGeneric(0).resolve(Object.class)
+                : method.getReturnType();
+        return new Target(endpoint, keyIndex, userIdIndex, wrapped, responseType, idempotent.required(),
+                idempotent.confirmInTransaction());
+    }
+
+    // 클래스 + 메서드 @RequestMapping 첫 경로
+    private static String mappingPath(Method method) {
+        RequestMapping type = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequestMapping.class);
+        RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+        String prefix = (type != null && type.path().length > 0) ? type.path()[0] : "";
+        String path = (mapping != null && mapping.path().length > 0) ? mapping.path()[0] : "";
+        return prefix + path;
+    }
+
+    private long fingerprint(Target target, Object[] args) {
+        long hash = RequestFingerprint.mix(RequestFingerprint.start(), target.endpoint);
+        for (int i = 0; i < args.length; i++) {
+            if (i != target.keyIndex) {
+                hash = mixArgument(hash, args[i]);
+            }
+        }
+        return RequestFingerprint.finish(hash);
+    }
+
+    private long mixArgument(long hash, Object arg) {
+        if (arg == null) {
+            return RequestFingerprint.mix(hash, (Long) null);
+        }
+        if (arg instanceof Long || arg instanceof Integer || arg instanceof Short || arg instanceof Byte) {
+            return RequestFingerprint.mix(hash, ((Number) arg).longValue());
+        }
+        if (arg instanceof String value) {
+            return RequestFingerprint.mix(hash, value);
+        }
+        try {
+            byte[] json = objectMapper.getObject().writeValueAsBytes(arg);
+            return RequestFingerprint.mix(hash, json, 0, json.length);
+        } catch (Exception e) {
+            log.error("요청 지문 계산 실패 : {}", arg.getClass().getSimpleName(), e);
+            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+        }
+    }
+
+    private static String currentIdempotencyKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            return servlet.getRequest().getHeader(IDEMPOTENCY_KEY_HEADER);
+        }
+        return null;
+    }
+
+    private record Target(String endpoint, int keyIndex, int userIdIndex, boolean wrapped,
+                          Class<?> responseType, boolean required, boolean confirmInTransaction) {
+
+        private Object unwrap(Object result) {
+            return (wrapped && result != null) ? ((ApiResponse<?>) result).getData() : result;
+        }
+
+        private Object wrap(Object response) {
+            return wrapped ? ApiResponse.success(response) : response;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.zia.payments.idempotency.util;
+
+/**
+ * 멱등키 재사용 검증용 요청 지문 (64bit)
+ * 요청 필드를 순서대로 섞어서 해시 -> 원문/JSON 문자열 없이 값만으로 계산 (객체 할당 없음)
+ * - FNV-1a 64bit + 마지막에 murmur3 fmix64로 분산
+ * - 문자열은 길이 + UTF-16 code unit, null은 별도 표시 -> ("ab", "c")와 ("a", "bc"), null과 "" 구분
+ * 같은 키의 재요청끼리만 비교하므로 암호학적 해시가 필요 없음
+ */
+public final class RequestFingerprint {
+
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final long NULL_MARKER = 0x9E3779B97F4A7C15L;
+
+    private RequestFingerprint() {
+    }
+
+    public static long of(String endpoint, Long userId, Long amount, String memo) {
+        long hash = mix(OFFSET_BASIS, endpoint);
+        hash = mix(hash, userId);
+        hash = mix(hash, amount);
+        hash = mix(hash, memo);
+        return finish(hash);
+    }
+
+    public static long of(String endpoint, Long userId, Long amount, Long refId, String memo) {
+        long hash = mix(OFFSET_BASIS, endpoint);
+        hash = mix(hash, userId);
+        hash = mix(hash, amount);
+        hash = mix(hash, refId);
+        hash = mix(hash, memo);
+        return finish(hash);
+    }
+
+    // 임의 필드 조합용 : start() -> mix(...) -> finish()
+    public static long start() {
+        return OFFSET_BASIS;
+    }
+
+    public static long mix(long hash, Long value) {
+        return (value == null) ? mixLong(hash, NULL_MARKER) : mixLong(mixLong(hash, 1), value);
+    }
+
+    public static long mix(long hash, String value) {
+        if (value == null) {
+            return mixLong(hash, NULL_MARKER);
+        }
+        hash = mixLong(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xFF)) * PRIME;
+            hash = (hash ^ (c >>> 8)) * PRIME;
+        }
+        return hash;
+    }
+
+    public static long mix(long hash, byte[] value, int offset, int length) {
+        hash = mixLong(hash, length);
+        for (int i = offset; i < offset + length; i++) {
+            hash = (hash ^ (value[i] & 0xFF)) * PRIME;
+        }
+        return hash;
+    }
+
+    public static long finish(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long mixLong(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,35 @@
+package com.zia.payments.point.controller;
+
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.point.dto.response.BalanceCacheStatsResponse;
+import com.zia.payments.point.util.BalanceCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/points/balance-cache")
+@RequiredArgsConstructor
+public class BalanceCacheController {
+
+    private final BalanceCache balanceCache;
+
+    // 잔액 캐시 통계 : GET /api/points/balance-cache/stats
+    @GetMapping("/stats")
+    public ApiResponse<BalanceCacheStatsResponse> stats() {
+        long hits = balanceCache.getHitCount();
+        long misses = balanceCache.getMissCount();
+        long total = hits + misses;
+
+        return ApiResponse.success(
+                BalanceCacheStatsResponse.builder()
+                        .size(balanceCache.size())
+                        .hitCount(hits)
+                        .missCount(misses)
+                        .evictionCount(balanceCache.getEvictionCount())
+                        .hitRatio(total == 0 ? 0.0 : (double) hits / total)
+                        .build()
+        );
+    }
+}
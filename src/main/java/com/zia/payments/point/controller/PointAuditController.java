@@ -0,0 +1,37 @@
+package com.zia.payments.point.controller;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.point.dto.response.BalanceAuditReport;
+import com.zia.payments.point.dto.response.BalanceAuditResult;
+import com.zia.payments.point.service.PointBalanceAuditor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/points/audit")
+@RequiredArgsConstructor
+public class PointAuditController {
+
+    private final PointBalanceAuditor pointBalanceAuditor;
+
+    // 전체 잔액 감사 : POST /api/points/audit?rebuild=false
+    @PostMapping
+    public ApiResponse<BalanceAuditReport> auditAll(@RequestParam(defaultValue = "false") boolean rebuild) {
+        return ApiResponse.success(pointBalanceAuditor.auditAll(rebuild));
+    }
+
+    // 유저 1명 잔액 감사 : POST /api/points/audit/{userId}?rebuild=false
+    @PostMapping("/{userId}")
+    public ApiResponse<BalanceAuditResult> audit(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "false") boolean rebuild
+    ) {
+        BalanceAuditResult result = pointBalanceAuditor.audit(userId, rebuild);
+        if (result == null) {
+            throw new ApiException(ErrorCode.WALLET_NOT_FOUND);
+        }
+        return ApiResponse.success(result);
+    }
+}
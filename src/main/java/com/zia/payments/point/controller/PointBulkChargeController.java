@@ -0,0 +1,42 @@
+package com.zia.payments.point.controller;
+
+import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.point.dto.response.BulkChargeResponse;
+import com.zia.payments.point.service.PointBulkCharger;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/points/bulk-charges")
+@RequiredArgsConstructor
+public class PointBulkChargeController {
+
+    private final PointBulkCharger pointBulkCharger;
+
+    // 대량 충전 (CSV 본문 스트림) : POST /api/points/bulk-charges
+    // Header : Idempotency-Key (같은 파일을 다시 보내면 이미 충전된 행은 건너뜀)
+    // Body : userId,amount,memo (한 줄에 1건)
+    @PostMapping(consumes = {"text/csv", MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ApiResponse<BulkChargeResponse> bulkCharge(
+            @RequestHeader(value = "Idempotency-Key") String jobId,
+            InputStream body
+    ) throws IOException {
+        return ApiResponse.success(pointBulkCharger.charge(jobId, body));
+    }
+
+    // 대량 충전 (파일 업로드) : POST /api/points/bulk-charges (multipart, part 이름 file)
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ApiResponse<BulkChargeResponse> bulkChargeFile(
+            @RequestHeader(value = "Idempotency-Key") String jobId,
+            @RequestPart("file") MultipartFile file
+    ) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ApiResponse.success(pointBulkCharger.charge(jobId, in));
+        }
+    }
+}
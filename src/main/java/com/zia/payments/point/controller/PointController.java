@@ -3,14 +3,29 @@ package com.zia.payments.point.controller;
 import com.zia.payments.global.exception.ApiException;
 import com.zia.payments.global.exception.ErrorCode;
 import com.zia.payments.global.response.ApiResponse;
+import com.zia.payments.idempotency.util.Idempotent;
 import com.zia.payments.point.dto.request.ChargeRequest;
+import com.zia.payments.point.dto.request.CheckoutRequest;
 import com.zia.payments.point.dto.request.RedeemRequest;
+import com.zia.payments.point.dto.request.ShardingRequest;
 import com.zia.payments.point.dto.response.BalanceResponse;
 import com.zia.payments.point.dto.response.ChargeResponse;
+import com.zia.payments.point.dto.response.CheckoutResponse;
+import com.zia.payments.point.dto.response.LedgerPageResponse;
 import com.zia.payments.point.dto.response.RedeemResponse;
+import com.zia.payments.point.service.LedgerExportFormat;
+import com.zia.payments.point.service.PointLedgerExporter;
 import com.zia.payments.point.service.PointService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/users/{userId}/points")
@@ -18,8 +33,11 @@ import org.springframework.web.bind.annotation.*;
 public class PointController {
 
     private final PointService pointService;
+    private final PointLedgerExporter pointLedgerExporter;
 
     // 포인트 충전 : POST /api/users/{userId}/points/charge
+    // Header : Idempotency-Key (선택, 있으면 재시도 시 같은 응답)
+    @Idempotent(required = false, confirmInTransaction = true)
     @PostMapping("/charge")
     public ApiResponse<ChargeResponse> chargePoints(
             @PathVariable Long userId,
@@ -45,6 +63,37 @@ public class PointController {
         );
     }
 
+    // 포인트 원장 조회 : GET /api/users/{userId}/points/ledger?cursor=&size=
+    @GetMapping("/ledger")
+    public ApiResponse<LedgerPageResponse> getLedger(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        return ApiResponse.success(pointService.getLedger(userId, cursor, size));
+    }
+
+    // 포인트 원장 내보내기 (정산용 스트리밍) : GET /api/users/{userId}/points/ledger/export?format=ndjson|csv&from=&to=
+    @GetMapping("/ledger/export")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @PathVariable Long userId,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        // 스트리밍 시작 전에 검증 (시작 후에는 에러 응답으로 바꿀 수 없음)
+        LedgerExportFormat exportFormat = LedgerExportFormat.from(format);
+        LocalDateTime upper = (to == null) ? LocalDateTime.now() : to;
+        pointLedgerExporter.validateRange(from, upper);
+
+        StreamingResponseBody body = out -> pointLedgerExporter.export(userId, from, upper, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"ledger-" + userId + "." + exportFormat.getExtension() + "\"")
+                .body(body);
+    }
+
     // 포인트 차감 (결제) : POST /api/users/{userId}/redeem
     // Header : Idempotency-Key
     @PostMapping("/redeem")
@@ -62,4 +111,52 @@ public class PointController {
         );
         return ApiResponse.success(response);
     }
+
+    // 쿠폰 결제 (쿠폰 사용 + 할인 금액 차감) : POST /api/users/{userId}/points/checkout
+    // Header : Idempotency-Key
+    @PostMapping("/checkout")
+    public ApiResponse<CheckoutResponse> checkout(
+            @PathVariable Long userId,
+            @Valid @RequestBody CheckoutRequest request,
+            @RequestHeader(value = "Idempotency-Key") String requestId
+    ) {
+        CheckoutResponse response = pointService.checkout(
+                userId,
+                request.getAmount(),
+                request.getUserCouponId(),
+                request.getMemo(),
+                requestId
+        );
+        return ApiResponse.success(response);
+    }
+
+    // 지갑 샤딩 전환 (핫 계정) : POST /api/users/{userId}/points/shards
+    @PostMapping("/shards")
+    public ApiResponse<BalanceResponse> enableSharding(
+            @PathVariable Long userId,
+            @RequestBody ShardingRequest request
+    ) {
+        if (request.getShardCount() == null) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "shardCount는 필수입니다.");
+        }
+        pointService.enableSharding(userId, request.getShardCount());
+        return ApiResponse.success(
+                BalanceResponse.builder()
+                        .userId(userId)
+                        .balance(pointService.getBalance(userId))
+                        .build()
+        );
+    }
+
+    // 지갑 샤딩 해제 : DELETE /api/users/{userId}/points/shards
+    @DeleteMapping("/shards")
+    public ApiResponse<BalanceResponse> disableSharding(@PathVariable Long userId) {
+        pointService.disableSharding(userId);
+        return ApiResponse.success(
+                BalanceResponse.builder()
+                        .userId(userId)
+                        .balance(pointService.getBalance(userId))
+                        .build()
+        );
+    }
 }
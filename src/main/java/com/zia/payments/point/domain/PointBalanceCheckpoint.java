@@ -0,0 +1,59 @@
+package com.zia.payments.point.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 유저별 잔액 체크포인트 (감사용)
+ * (ledger_created_at, ledger_id)까지의 원장을 모두 더한 잔액
+ * 감사 시 이 지점 이후 원장만 재생하면 됨 -> 전체 원장 스캔 X
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "point_balance_checkpoints")
+public class PointBalanceCheckpoint {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 마지막으로 반영한 원장 (원장 키셋 순서 = created_at, ledger_id)
+    @Column(name = "ledger_id", nullable = false)
+    private Long ledgerId;
+
+    @Column(name = "ledger_created_at", nullable = false)
+    private LocalDateTime ledgerCreatedAt;
+
+    // 원장 기준 잔액 (지갑 잔액 X)
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static PointBalanceCheckpoint of(Long userId, Long ledgerId, LocalDateTime ledgerCreatedAt, long balance) {
+        return PointBalanceCheckpoint.builder()
+                .userId(userId)
+                .ledgerId(ledgerId)
+                .ledgerCreatedAt(ledgerCreatedAt)
+                .balance(balance)
+                .build();
+    }
+
+    public void advance(Long ledgerId, LocalDateTime ledgerCreatedAt, long balance) {
+        this.ledgerId = ledgerId;
+        this.ledgerCreatedAt = ledgerCreatedAt;
+        this.balance = balance;
+    }
+}
@@ -1,6 +1,7 @@
 package com.zia.payments.point.domain;
 
 import com.zia.payments.user.domain.User;
+import com.zia.payments.global.util.TimeOrderedId;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
@@ -13,14 +14,14 @@ import java.time.LocalDateTime;
 @Table(
         name = "point_ledger",
         indexes = {
-                @Index(name = "idx_ledger_user_created", columnList = "user_id, created_at"), // 최근 원장 조회
+                @Index(name = "idx_ledger_user_created_id", columnList = "user_id, created_at, ledger_id"), // 원장 키셋 페이지네이션
                 @Index(name = "idx_ledger_request", columnList = "request_id") // 멱등성 추적
         }
 )
 public class PointLedger {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     @Column(name = "ledger_id")
     private Long id;
 
@@ -74,6 +75,18 @@ public class PointLedger {
                 .build();
     }
 
+    // 팩토리 메서드 : 충전용 (@Idempotent로 들어온 충전이면 멱등키 기록)
+    public static PointLedger charge(User user, Long amount, Long balanceAfter, String memo, String requestId) {
+        return PointLedger.builder()
+                .user(user)
+                .type(PointLedgerType.CHARGE)
+                .amount(amount)
+                .balanceAfter(balanceAfter)
+                .memo(memo)
+                .requestId(requestId)
+                .build();
+    }
+
     // 팩토리 메서드 : 차감용
     public static PointLedger redeem(User user, Long amount, Long balanceAfter, String memo) {
         return PointLedger.builder()
@@ -84,4 +97,30 @@ public class PointLedger {
                 .memo(memo)
                 .build();
     }
+
+    // 팩토리 메서드 : 차감용 (멱등키 기록 -> 인계받은 요청이 이미 반영됐는지 확인용)
+    public static PointLedger redeem(User user, Long amount, Long balanceAfter, String memo, String requestId) {
+        return PointLedger.builder()
+                .user(user)
+                .type(PointLedgerType.REDEEM)
+                .amount(amount)
+                .balanceAfter(balanceAfter)
+                .requestId(requestId)
+                .memo(memo)
+                .build();
+    }
+
+    // 팩토리 메서드 : 차감용 (참조 대상 + 멱등키 기록, 예: 쿠폰 결제)
+    public static PointLedger redeem(User user, Long amount, Long balanceAfter, String memo, String refType, Long refId, String requestId) {
+        return PointLedger.builder()
+                .user(user)
+                .type(PointLedgerType.REDEEM)
+                .amount(amount)
+                .balanceAfter(balanceAfter)
+                .refType(refType)
+                .refId(refId)
+                .requestId(requestId)
+                .memo(memo)
+                .build();
+    }
 }
@@ -34,6 +34,15 @@ public class PointWallet {
     @Column(name = "balance", nullable = false)
     private Long balance;
 
+    // 샤딩 슬롯 수 (null이면 단일 지갑, 샤딩 중에는 balance 대신 슬롯 합계가 잔액)
+    @Column(name = "shard_count")
+    private Integer shardCount;
+
+    // 낙관적 락 버전 (비관적 락 경로에서도 UPDATE마다 증가)
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -69,4 +78,25 @@ public class PointWallet {
         }
         this.balance -= amount;
     }
+
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 1;
+    }
+
+    // 샤딩 전환 : 잔액은 슬롯으로 옮겨짐
+    public void enableSharding(int shardCount) {
+        this.shardCount = shardCount;
+        this.balance = 0L;
+    }
+
+    // 단일 지갑 복귀 : 슬롯 합계를 다시 지갑 잔액으로
+    public void disableSharding(long consolidatedBalance) {
+        this.shardCount = null;
+        this.balance = consolidatedBalance;
+    }
+
+    // 감사 재구성 : 원장 기준 잔액으로 덮어씀 (단일 지갑만)
+    public void rebuildBalance(long ledgerBalance) {
+        this.balance = ledgerBalance;
+    }
 }
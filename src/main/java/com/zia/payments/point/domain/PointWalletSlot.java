@@ -0,0 +1,83 @@
+package com.zia.payments.point.domain;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 샤딩 지갑의 잔액 슬롯
+ * 핫 계정의 잔액을 K개 row로 나눠서 row lock 경합을 분산
+ * 지갑 잔액 = 슬롯 잔액 합계
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(
+        name = "point_wallet_slots",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_wallet_slot", columnNames = {"user_id", "slot_no"})
+        }
+)
+public class PointWalletSlot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "slot_id")
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "slot_no", nullable = false)
+    private Integer slotNo;
+
+    @Column(name = "balance", nullable = false)
+    private Long balance;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        this.createdAt = now;
+        this.updatedAt = now;
+        if (this.balance == null) this.balance = 0L;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public static PointWalletSlot of(Long userId, int slotNo, long balance) {
+        return PointWalletSlot.builder()
+                .userId(userId)
+                .slotNo(slotNo)
+                .balance(balance)
+                .build();
+    }
+
+    public void increase(long amount) {
+        if (amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
+        }
+        this.balance += amount;
+    }
+
+    // 슬롯 통합 차감용 (슬롯 잔액 이하만 가능)
+    public void decrease(long amount) {
+        if (amount < 0 || this.balance < amount) {
+            throw new ApiException(ErrorCode.INSUFFICIENT_BALANCE);
+        }
+        this.balance -= amount;
+    }
+}
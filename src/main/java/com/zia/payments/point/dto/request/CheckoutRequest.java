@@ -0,0 +1,21 @@
+package com.zia.payments.point.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+
+    @NotNull(message = "amount는 필수입니다.")
+    @Min(value = 1, message = "amount는 1 이상이어야 합니다.")
+    private Long amount; // 할인 전 결제 금액
+
+    private Long userCouponId; // 선택 (없으면 쿠폰 없이 차감)
+
+    private String memo;
+}
@@ -0,0 +1,12 @@
+package com.zia.payments.point.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShardingRequest {
+    private Integer shardCount; // 슬롯 수 (2 ~ 64)
+}
@@ -0,0 +1,19 @@
+package com.zia.payments.point.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BalanceAuditReport {
+    private long checkedUsers;
+    private long driftUsers;    // DRIFT + REBUILT
+    private long rebuiltUsers;
+    private long elapsedMillis;
+    private List<BalanceAuditResult> drifts;
+    private boolean driftsTruncated; // 불일치 목록이 max-reported-drifts를 넘어 잘렸는지
+}
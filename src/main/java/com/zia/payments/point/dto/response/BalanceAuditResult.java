@@ -0,0 +1,17 @@
+package com.zia.payments.point.dto.response;
+
+import com.zia.payments.point.service.BalanceAuditStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BalanceAuditResult {
+    private Long userId;
+    private BalanceAuditStatus status;
+    private long walletBalance; // 감사 시점 지갑 잔액 (재구성 전)
+    private long ledgerBalance; // 체크포인트 + 이후 원장 재생
+    private long drift;         // walletBalance - ledgerBalance
+}
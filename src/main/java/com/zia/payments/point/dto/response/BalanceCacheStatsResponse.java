@@ -0,0 +1,16 @@
+package com.zia.payments.point.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BalanceCacheStatsResponse {
+    private int size;
+    private long hitCount;
+    private long missCount;     // = 잔액 DB 조회 수
+    private long evictionCount;
+    private double hitRatio;    // hit / (hit + miss)
+}
@@ -0,0 +1,15 @@
+package com.zia.payments.point.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BulkChargeFailure {
+    private long rowNo;    // 1부터 (헤더 제외 데이터 행 번호)
+    private Long userId;   // 파싱 실패면 null
+    private String code;   // ErrorCode.code
+    private String message;
+}
@@ -0,0 +1,21 @@
+package com.zia.payments.point.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class BulkChargeResponse {
+    private String jobId;
+    private long totalRows;
+    private long appliedRows;  // 이번 호출에서 충전된 행
+    private long skippedRows;  // 이전 호출에서 이미 충전된 행 (재실행/이어하기)
+    private long failedRows;
+    private long appliedAmount;
+    private List<BulkChargeFailure> failures;
+    private boolean failuresTruncated; // 실패 목록이 max-reported-failures를 넘어 잘렸는지
+}
@@ -0,0 +1,21 @@
+package com.zia.payments.point.dto.response;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+@Builder
+public class CheckoutResponse {
+    private Long userId;
+    private Long orderAmount;    // 할인 전 금액
+    private Long discountAmount; // 쿠폰 할인 (쿠폰 없으면 0)
+    private Long redeemedAmount; // 실제 차감 포인트
+    private Long balanceAfter;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long userCouponId;
+    private String memo;
+}
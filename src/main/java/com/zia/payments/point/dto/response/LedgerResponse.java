@@ -1,4 +1,27 @@
 package com.zia.payments.point.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.zia.payments.point.domain.PointLedgerType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// 원장 1건 (JPQL 생성자 프로젝션 대상, 필드 순서 = 쿼리 select 순서)
+@Getter
+@AllArgsConstructor
+@Builder
 public class LedgerResponse {
+    @JsonSerialize(using = ToStringSerializer.class) // 앱 생성 ID(2^53 초과)는 문자열로 (JS Number 정밀도 손실 방지)
+    private Long ledgerId;
+    private PointLedgerType type;
+    private Long amount;
+    private Long balanceAfter;
+    private String refType;
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long refId;
+    private String memo;
+    private LocalDateTime createdAt;
 }
@@ -0,0 +1,7 @@
+package com.zia.payments.point.repository;
+
+import com.zia.payments.point.domain.PointBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PointBalanceCheckpointRepository extends JpaRepository<PointBalanceCheckpoint, Long> {
+}
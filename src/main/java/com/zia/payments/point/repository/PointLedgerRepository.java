@@ -1,13 +1,55 @@
 package com.zia.payments.point.repository;
 
 import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.dto.response.LedgerResponse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface PointLedgerRepository extends JpaRepository<PointLedger, Long> {
 
-    @Query("SELECT pl FROM PointLedger pl WHERE pl.user.id = :userId ORDER BY pl.createdAt DESC")
-    List<PointLedger> findTop20ByUserIdOrderByCreatedAtDesc(Long userId); // 최근 원장 20개 조회
+    // 멱등키로 반영된 원장 조회 (idx_ledger_request, 인계받은 요청의 커밋 여부 확인용)
+    // request_id는 유저별로 고유하지 않으므로 (다른 유저가 같은 키를 쓸 수 있음) 항상 유저와 함께 조회
+    Optional<PointLedger> findFirstByUser_IdAndRequestId(Long userId, String requestId);
+
+    // 원장 첫 페이지 (idx_ledger_user_created_id 역순 스캔, User 조인 없이 DTO 프로젝션)
+    @Query("""
+            SELECT new com.zia.payments.point.dto.response.LedgerResponse(
+                pl.id, pl.type, pl.amount, pl.balanceAfter, pl.refType, pl.refId, pl.memo, pl.createdAt)
+            FROM PointLedger pl
+            WHERE pl.user.id = :userId
+            ORDER BY pl.createdAt DESC, pl.id DESC
+            """)
+    List<LedgerResponse> findLedgerPage(@Param("userId") Long userId, Limit limit);
+
+    // 원장 다음 페이지 : (created_at, ledger_id) < 커서 (OFFSET 없이 인덱스에서 바로 시작)
+    @Query("""
+            SELECT new com.zia.payments.point.dto.response.LedgerResponse(
+                pl.id, pl.type, pl.amount, pl.balanceAfter, pl.refType, pl.refId, pl.memo, pl.createdAt)
+            FROM PointLedger pl
+            WHERE pl.user.id = :userId
+              AND (pl.createdAt < :createdAt OR (pl.createdAt = :createdAt AND pl.id < :ledgerId))
+            ORDER BY pl.createdAt DESC, pl.id DESC
+            """)
+    List<LedgerResponse> findLedgerPageAfter(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("ledgerId") Long ledgerId,
+                                             Limit limit);
+
+    // 감사 재생 : (created_at, ledger_id) > 체크포인트 이후 원장의 순증감 합계 (REDEEM만 차감)
+    @Query("""
+            SELECT coalesce(sum(CASE WHEN pl.type = com.zia.payments.point.domain.PointLedgerType.REDEEM
+                                     THEN -pl.amount ELSE pl.amount END), 0)
+            FROM PointLedger pl
+            WHERE pl.user.id = :userId
+              AND (pl.createdAt > :createdAt OR (pl.createdAt = :createdAt AND pl.id > :ledgerId))
+            """)
+    long sumNetAmountAfter(@Param("userId") Long userId,
+                           @Param("createdAt") LocalDateTime createdAt,
+                           @Param("ledgerId") Long ledgerId);
 }
@@ -2,11 +2,15 @@ package com.zia.payments.point.repository;
 
 import com.zia.payments.point.domain.PointWallet;
 import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PointWalletRepository extends JpaRepository<PointWallet, Long> {
@@ -17,4 +21,60 @@ public interface PointWalletRepository extends JpaRepository<PointWallet, Long>
     @Query("SELECT pw FROM PointWallet pw WHERE pw.user.id = :userId")
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<PointWallet> findByUserIdWithLock(@Param("userId") Long userId);
+
+    // 샤딩 여부 조회 (지갑 없으면 empty, 단일 지갑이면 0)
+    @Query("SELECT coalesce(pw.shardCount, 0) FROM PointWallet pw WHERE pw.user.id = :userId")
+    Optional<Integer> findShardCountByUserId(@Param("userId") Long userId);
+
+    // SELECT FOR SHARE (샤딩 지갑 : 슬롯 작업끼리는 공유, 샤딩 전환과는 배타)
+    @Query("SELECT pw FROM PointWallet pw WHERE pw.user.id = :userId")
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    Optional<PointWallet> findByUserIdWithSharedLock(@Param("userId") Long userId);
+
+    /**
+     * 원자적 조건부 차감 (지갑 엔티티 로드 없음)
+     * balance >= amount인 경우에만 차감, 샤딩 지갑은 제외
+     * rowCount=1이면 성공, 0이면 잔액 부족/지갑 없음/샤딩 지갑
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update PointWallet pw
+        set pw.balance = pw.balance - :amount,
+            pw.version = pw.version + 1,
+            pw.updatedAt = :now
+        where pw.user.id = :userId
+        and pw.shardCount is null
+        and pw.balance >= :amount
+    """)
+    int tryDecreaseBalance(@Param("userId") Long userId, @Param("amount") Long amount, @Param("now") LocalDateTime now);
+
+    // 원자적 충전 (샤딩 지갑 제외)
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update PointWallet pw
+        set pw.balance = pw.balance + :amount,
+            pw.version = pw.version + 1,
+            pw.updatedAt = :now
+        where pw.user.id = :userId
+        and pw.shardCount is null
+    """)
+    int increaseBalance(@Param("userId") Long userId, @Param("amount") Long amount, @Param("now") LocalDateTime now);
+
+    // 잔액만 조회 (엔티티 로드 없음)
+    @Query("SELECT pw.balance FROM PointWallet pw WHERE pw.user.id = :userId")
+    Optional<Long> findBalanceByUserId(@Param("userId") Long userId);
+
+    // 잔액 조회용 projection (샤딩 지갑이면 슬롯 합계, 엔티티 로드 없음)
+    @Query("""
+        select case when coalesce(pw.shardCount, 0) > 1
+                    then (select coalesce(sum(s.balance), 0) from PointWalletSlot s where s.userId = pw.user.id)
+                    else pw.balance end
+        from PointWallet pw
+        where pw.user.id = :userId
+    """)
+    Optional<Long> findCurrentBalanceByUserId(@Param("userId") Long userId);
+
+    // 지갑 보유 유저 키셋 순회 (uk_point_wallets_user_id)
+    @Query("SELECT pw.user.id FROM PointWallet pw WHERE pw.user.id > :afterUserId ORDER BY pw.user.id")
+    List<Long> findUserIdsAfter(@Param("afterUserId") Long afterUserId, Limit limit);
 }
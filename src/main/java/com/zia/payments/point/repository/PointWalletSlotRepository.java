@@ -0,0 +1,50 @@
+package com.zia.payments.point.repository;
+
+import com.zia.payments.point.domain.PointWalletSlot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface PointWalletSlotRepository extends JpaRepository<PointWalletSlot, Long> {
+
+    // 잔액이 충분한 슬롯 번호 (락 없이 조회 -> 후보 선택용)
+    @Query("SELECT s.slotNo FROM PointWalletSlot s WHERE s.userId = :userId AND s.balance >= :amount")
+    List<Integer> findSlotNosWithBalance(@Param("userId") Long userId, @Param("amount") Long amount);
+
+    /**
+     * 단일 슬롯 조건부 차감
+     * balance >= amount인 경우에만 차감
+     * rowCount=1이면 성공, 0이면 잔액 부족(다른 요청이 먼저 차감)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update PointWalletSlot s
+        set s.balance = s.balance - :amount
+        where s.userId = :userId
+        and s.slotNo = :slotNo
+        and s.balance >= :amount
+    """)
+    int tryDecrease(@Param("userId") Long userId, @Param("slotNo") Integer slotNo, @Param("amount") Long amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update PointWalletSlot s
+        set s.balance = s.balance + :amount
+        where s.userId = :userId
+        and s.slotNo = :slotNo
+    """)
+    int increase(@Param("userId") Long userId, @Param("slotNo") Integer slotNo, @Param("amount") Long amount);
+
+    // 전체 슬롯 SELECT FOR UPDATE (slot_no 오름차순 고정 -> 데드락 방지)
+    @Query("SELECT s FROM PointWalletSlot s WHERE s.userId = :userId ORDER BY s.slotNo")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PointWalletSlot> findAllByUserIdWithLock(@Param("userId") Long userId);
+
+    @Query("SELECT coalesce(sum(s.balance), 0) FROM PointWalletSlot s WHERE s.userId = :userId")
+    Long sumBalanceByUserId(@Param("userId") Long userId);
+}
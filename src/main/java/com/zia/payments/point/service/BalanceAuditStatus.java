@@ -0,0 +1,10 @@
+package com.zia.payments.point.service;
+
+/**
+ * 잔액 감사 결과
+ */
+public enum BalanceAuditStatus {
+    OK,      // 지갑 잔액 = 원장 재생 잔액
+    DRIFT,   // 불일치 (재구성 안 함 또는 샤딩 지갑)
+    REBUILT  // 불일치 -> 지갑 잔액을 원장 기준으로 재구성
+}
@@ -0,0 +1,25 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum LedgerExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    public static LedgerExportFormat from(String value) {
+        for (LedgerExportFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new ApiException(ErrorCode.BAD_REQUEST, "format은 ndjson 또는 csv 여야 합니다.");
+    }
+}
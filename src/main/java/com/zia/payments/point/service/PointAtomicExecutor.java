@@ -0,0 +1,106 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * 원자적 충전/차감 (points.lock-mode=ATOMIC)
+ * CouponRepository.tryIncreaseIssuedCount 와 같은 방식으로
+ * UPDATE ... SET balance = balance - ? WHERE balance >= ? 한 문장으로 차감한다.
+ * - 지갑 엔티티 SELECT/하이드레이션/더티체킹 없음
+ * - row lock은 UPDATE 시점부터 커밋까지만 유지
+ * - balance_after는 같은 트랜잭션에서 잔액만 다시 읽음 (row lock 보유 중이라 정확)
+ */
+@Slf4j
+@Component
+public class PointAtomicExecutor {
+
+    private final PointWalletRepository pointWalletRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public PointAtomicExecutor(
+            PointWalletRepository pointWalletRepository,
+            PointLedgerRepository pointLedgerRepository,
+            UserRepository userRepository,
+            UserExistenceCache userExistenceCache,
+            BalanceCache balanceCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${points.lock-mode:PESSIMISTIC}") WalletLockMode lockMode
+    ) {
+        this.pointWalletRepository = pointWalletRepository;
+        this.pointLedgerRepository = pointLedgerRepository;
+        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.balanceCache = balanceCache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = (lockMode == WalletLockMode.ATOMIC);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 조건부 UPDATE 충전/차감
+     * @param requestId 원장에 남길 멱등키 (null 가능)
+     * @param onApplied 성공 시 같은 트랜잭션 안에서 호출 (멱등성 확정용, null 가능)
+     * @return 적용 후 잔액, 샤딩 지갑이면 null (호출부에서 다른 경로로 처리)
+     */
+    public Long apply(Long userId, PointLedgerType type, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            int updated = (type == PointLedgerType.CHARGE)
+                    ? pointWalletRepository.increaseBalance(userId, amount, now)
+                    : pointWalletRepository.tryDecreaseBalance(userId, amount, now);
+
+            if (updated == 0) {
+                // 실패 원인 구분 (실패 경로에서만 추가 조회)
+                int shardCount = pointWalletRepository.findShardCountByUserId(userId)
+                        .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+                if (shardCount > 1) {
+                    return null;
+                }
+                throw new ApiException(ErrorCode.INSUFFICIENT_BALANCE);
+            }
+
+            long balanceAfter = pointWalletRepository.findBalanceByUserId(userId)
+                    .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+            balanceCache.putAfterCommit(userId, balanceAfter);
+
+            // UPDATE가 적용됐으면 지갑(=유저)이 존재하므로 프록시만 연결
+            User user = userRepository.getReferenceById(userId);
+
+            PointLedger ledger = (type == PointLedgerType.CHARGE)
+                    ? PointLedger.charge(user, amount, balanceAfter, memo, requestId)
+                    : PointLedger.redeem(user, amount, balanceAfter, memo, requestId);
+            pointLedgerRepository.save(ledger);
+
+            if (onApplied != null) {
+                onApplied.accept(balanceAfter);
+            }
+
+            log.info("포인트 {} 성공(atomic) : userId={}, amount={}, balanceAfter={}", type, userId, amount, balanceAfter);
+            return balanceAfter;
+        });
+    }
+}
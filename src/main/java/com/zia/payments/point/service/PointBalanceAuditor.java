@@ -0,0 +1,270 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.point.domain.PointBalanceCheckpoint;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.BalanceAuditReport;
+import com.zia.payments.point.dto.response.BalanceAuditResult;
+import com.zia.payments.point.dto.response.LedgerResponse;
+import com.zia.payments.point.repository.PointBalanceCheckpointRepository;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지갑 잔액 감사 (체크포인트 + 원장 재생)
+ * 유저마다 마지막 체크포인트 이후 원장만 합산해서 지갑 잔액과 비교하고, 체크포인트를 최신 원장으로 옮긴다.
+ * - 첫 감사만 전체 원장, 이후에는 직전 감사 이후 쌓인 원장만 읽음
+ * - 유저 1명 = 짧은 트랜잭션 1개 : 지갑 FOR UPDATE(샤딩 슬롯 작업의 FOR SHARE까지 배제) -> 진행 중인 충전/차감이 없는 상태에서 비교
+ * - 전체 감사는 user_id 키셋 페이지를 ForkJoinPool로 나눠서 병렬 처리 (parallelism <= 커넥션 풀 크기)
+ * - 체크포인트는 원장 기준 잔액이므로 불일치 여부와 관계없이 전진
+ * 주의 : 원장 순서는 created_at(애플리케이션 시각) 기준 -> 노드 간 시계 오차가 크면 체크포인트 직전 시각의 늦은 커밋을 놓칠 수 있음
+ */
+@Slf4j
+@Component
+public class PointBalanceAuditor {
+
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final int SPLIT_THRESHOLD = 64; // ForkJoin 작업 1개가 순차로 처리할 유저 수
+
+    private final PointWalletRepository pointWalletRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final PointBalanceCheckpointRepository checkpointRepository;
+    private final PointWalletShardExecutor shardExecutor;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int parallelism;
+    private final int pageSize;
+    private final int maxReportedDrifts;
+    private final boolean scheduled;
+    private final long intervalMinutes;
+
+    private ScheduledExecutorService scheduler;
+
+    public PointBalanceAuditor(
+            PointWalletRepository pointWalletRepository,
+            PointLedgerRepository pointLedgerRepository,
+            PointBalanceCheckpointRepository checkpointRepository,
+            PointWalletShardExecutor shardExecutor,
+            BalanceCache balanceCache,
+            PlatformTransactionManager transactionManager,
+            @Value("${points.audit.parallelism:4}") int parallelism,
+            @Value("${points.audit.page-size:10000}") int pageSize,
+            @Value("${points.audit.max-reported-drifts:1000}") int maxReportedDrifts,
+            @Value("${points.audit.scheduled:false}") boolean scheduled,
+            @Value("${points.audit.interval-minutes:1440}") long intervalMinutes
+    ) {
+        this.pointWalletRepository = pointWalletRepository;
+        this.pointLedgerRepository = pointLedgerRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.shardExecutor = shardExecutor;
+        this.balanceCache = balanceCache;
+        // 지갑을 잠근 뒤의 원장 합계가 직전 커밋까지 보도록
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.parallelism = parallelism;
+        this.pageSize = pageSize;
+        this.maxReportedDrifts = maxReportedDrifts;
+        this.scheduled = scheduled;
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!scheduled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "point-balance-audit");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledAudit, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 유저 1명 감사
+     * @param rebuild true면 불일치 시 지갑 잔액을 원장 기준으로 재구성 (샤딩 지갑 제외)
+     * @return 지갑이 없으면 null
+     */
+    public BalanceAuditResult audit(Long userId, boolean rebuild) {
+        return transactionTemplate.execute(status -> auditLocked(userId, rebuild));
+    }
+
+    /**
+     * 전체 감사 (지갑 보유 유저 전체)
+     */
+    public BalanceAuditReport auditAll(boolean rebuild) {
+        long startedAt = System.nanoTime();
+        Tally tally = new Tally();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            long afterUserId = Long.MIN_VALUE;
+            while (true) {
+                List<Long> userIds = pointWalletRepository.findUserIdsAfter(afterUserId, Limit.of(pageSize));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                pool.invoke(new AuditTask(userIds, 0, userIds.size(), rebuild, tally));
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<BalanceAuditResult> drifts = new ArrayList<>(tally.drifts);
+        drifts.sort(Comparator.comparing(BalanceAuditResult::getUserId));
+        BalanceAuditReport report = BalanceAuditReport.builder()
+                .checkedUsers(tally.checked.sum())
+                .driftUsers(tally.drifted.sum())
+                .rebuiltUsers(tally.rebuilt.sum())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt))
+                .drifts(drifts)
+                .driftsTruncated(tally.drifted.sum() > drifts.size())
+                .build();
+
+        log.info("잔액 감사 완료 : checked={}, drift={}, rebuilt={}, elapsedMs={}",
+                report.getCheckedUsers(), report.getDriftUsers(), report.getRebuiltUsers(), report.getElapsedMillis());
+        return report;
+    }
+
+    private void scheduledAudit() {
+        // 스케줄 작업에서 예외가 나가면 이후 실행이 멈추므로 여기서 처리
+        try {
+            auditAll(false);
+        } catch (RuntimeException e) {
+            log.error("정기 잔액 감사 오류", e);
+        }
+    }
+
+    private BalanceAuditResult auditLocked(Long userId, boolean rebuild) {
+        PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId).orElse(null);
+        if (wallet == null) {
+            return null;
+        }
+
+        // 1) 체크포인트 이후 원장만 재생
+        PointBalanceCheckpoint checkpoint = checkpointRepository.findById(userId).orElse(null);
+        LocalDateTime fromCreatedAt = (checkpoint == null) ? MIN_CREATED_AT : checkpoint.getLedgerCreatedAt();
+        long fromLedgerId = (checkpoint == null) ? Long.MIN_VALUE : checkpoint.getLedgerId();
+        long base = (checkpoint == null) ? 0 : checkpoint.getBalance();
+        long ledgerBalance = base + pointLedgerRepository.sumNetAmountAfter(userId, fromCreatedAt, fromLedgerId);
+
+        // 2) 체크포인트 전진 (최신 원장 1건)
+        List<LedgerResponse> latest = pointLedgerRepository.findLedgerPage(userId, Limit.of(1));
+        if (!latest.isEmpty()) {
+            LedgerResponse last = latest.get(0);
+            if (checkpoint == null) {
+                checkpointRepository.save(PointBalanceCheckpoint.of(userId, last.getLedgerId(), last.getCreatedAt(), ledgerBalance));
+            } else if (!last.getLedgerId().equals(checkpoint.getLedgerId())) {
+                checkpoint.advance(last.getLedgerId(), last.getCreatedAt(), ledgerBalance);
+            }
+        }
+
+        // 3) 지갑 잔액 비교
+        long walletBalance = wallet.isSharded() ? shardExecutor.balanceOf(userId) : wallet.getBalance();
+        BalanceAuditStatus status = BalanceAuditStatus.OK;
+        if (walletBalance != ledgerBalance) {
+            status = BalanceAuditStatus.DRIFT;
+            if (rebuild && !wallet.isSharded()) {
+                wallet.rebuildBalance(ledgerBalance);
+                balanceCache.putAfterCommit(userId, ledgerBalance);
+                status = BalanceAuditStatus.REBUILT;
+            }
+            log.warn("잔액 불일치 : userId={}, wallet={}, ledger={}, status={}", userId, walletBalance, ledgerBalance, status);
+        }
+
+        return BalanceAuditResult.builder()
+                .userId(userId)
+                .status(status)
+                .walletBalance(walletBalance)
+                .ledgerBalance(ledgerBalance)
+                .drift(walletBalance - ledgerBalance)
+                .build();
+    }
+
+    // user_id 목록을 반씩 나눠서 병렬 감사
+    private class AuditTask extends RecursiveAction {
+        private final List<Long> userIds;
+        private final int from;
+        private final int to;
+        private final boolean rebuild;
+        private final Tally tally;
+
+        private AuditTask(List<Long> userIds, int from, int to, boolean rebuild, Tally tally) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.rebuild = rebuild;
+            this.tally = tally;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    tally.add(audit(userIds.get(i), rebuild));
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new AuditTask(userIds, from, mid, rebuild, tally),
+                    new AuditTask(userIds, mid, to, rebuild, tally));
+        }
+    }
+
+    // 병렬 집계 (불일치 목록은 maxReportedDrifts건까지만)
+    private class Tally {
+        private final LongAdder checked = new LongAdder();
+        private final LongAdder drifted = new LongAdder();
+        private final LongAdder rebuilt = new LongAdder();
+        private final LongAdder reported = new LongAdder();
+        private final ConcurrentLinkedQueue<BalanceAuditResult> drifts = new ConcurrentLinkedQueue<>();
+
+        private void add(BalanceAuditResult result) {
+            if (result == null) {
+                return;
+            }
+            checked.increment();
+            if (result.getStatus() == BalanceAuditStatus.OK) {
+                return;
+            }
+            drifted.increment();
+            if (result.getStatus() == BalanceAuditStatus.REBUILT) {
+                rebuilt.increment();
+            }
+            reported.increment();
+            if (reported.sum() <= maxReportedDrifts) {
+                drifts.add(result);
+            }
+        }
+    }
+}
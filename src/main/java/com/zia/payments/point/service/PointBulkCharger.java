@@ -0,0 +1,360 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.service.IdempotencyService;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.dto.response.BulkChargeFailure;
+import com.zia.payments.point.dto.response.BulkChargeResponse;
+import com.zia.payments.point.util.BalanceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 대량 충전 (캠페인 지급)
+ * CSV 스트림 (userId,amount,memo)을 한 줄씩 읽어서 chunk-size 행마다 트랜잭션 1개로 처리한다.
+ * - chunk 안에서 user_id 오름차순 정렬 -> 지갑 FOR UPDATE 1회 (일반 충전과 같은 락 순서, 데드락 방지)
+ * - 지갑 UPDATE / 원장 INSERT 모두 JDBC batch (엔티티 로드/영속성 컨텍스트 없음)
+ * - 행마다 request_id = "bulk:{jobId}:{rowNo}"로 원장에 기록 -> 같은 jobId로 다시 보내면 이미 반영된 행은 건너뜀
+ *   (중간에 실패해도 같은 파일/같은 키로 재요청하면 이어서 처리)
+ *   "bulk:"는 일반 Idempotency-Key로 쓸 수 없는 예약 접두사 + 반영 확인은 (user_id, request_id, ref_type) 기준
+ *   -> 같은 문자열을 쓴 일반 충전/차감 원장을 대량 충전 행으로 오인하지 않음
+ * - 없는 유저/지갑, 잘못된 행은 행 단위 실패로 보고하고 나머지는 계속 처리
+ */
+@Slf4j
+@Component
+public class PointBulkCharger {
+
+    private static final int MAX_JOB_ID_LENGTH = 39; // request_id(64) = "bulk:"(5) + jobId + ":" + rowNo(최대 19자리)
+    private static final int MAX_MEMO_LENGTH = 255;
+    private static final String REF_TYPE_BULK_CHARGE = "BULK_CHARGE";
+
+    private static final String INSERT_LEDGER_SQL = """
+            insert into point_ledger (ledger_id, user_id, type, amount, balance_after, ref_type, request_id, memo, created_at)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String UPDATE_WALLET_SQL = """
+            update point_wallets set balance = ?, version = version + 1, updated_at = ? where user_id = ?
+            """;
+    // 샤딩 지갑 : 지갑 배타 락 아래라 슬롯 작업이 없으므로 0번 슬롯에 합산
+    private static final String UPDATE_SLOT_SQL = """
+            update point_wallet_slots set balance = balance + ?, updated_at = ? where user_id = ? and slot_no = 0
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BalanceCache balanceCache;
+    private final int chunkSize;
+    private final int maxReportedFailures;
+
+    public PointBulkCharger(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            BalanceCache balanceCache,
+            @Value("${points.bulk-charge.chunk-size:1000}") int chunkSize,
+            @Value("${points.bulk-charge.max-reported-failures:1000}") int maxReportedFailures
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        // 지갑을 잠근 뒤 request_id 확인이 다른 트랜잭션의 최신 커밋을 보도록
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.balanceCache = balanceCache;
+        this.chunkSize = chunkSize;
+        this.maxReportedFailures = maxReportedFailures;
+    }
+
+    /**
+     * @param jobId 대량 충전 식별자 (Idempotency-Key), 같은 파일을 다시 보낼 때 같은 값
+     * @param in CSV (헤더 행은 선택, memo에는 쉼표 허용)
+     */
+    public BulkChargeResponse charge(String jobId, InputStream in) throws IOException {
+        if (jobId == null || jobId.isBlank()) {
+            throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REQUIRED);
+        }
+        if (jobId.length() > MAX_JOB_ID_LENGTH) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "Idempotency-Key는 " + MAX_JOB_ID_LENGTH + "자 이하여야 합니다.");
+        }
+
+        Report report = new Report(jobId);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long rowNo = 0;
+        boolean first = true;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            // 헤더 (userId,amount,memo)
+            if (first && Character.isLetter(line.strip().charAt(0))) {
+                first = false;
+                continue;
+            }
+            first = false;
+
+            Row row = parse(++rowNo, line, report);
+            if (row == null) {
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                applyChunk(jobId, chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            applyChunk(jobId, chunk, report);
+        }
+
+        report.totalRows = rowNo;
+        log.info("대량 충전 완료 : jobId={}, total={}, applied={}, skipped={}, failed={}, amount={}",
+                jobId, report.totalRows, report.applied, report.skipped, report.failed, report.appliedAmount);
+        return report.toResponse();
+    }
+
+    private Row parse(long rowNo, String line, Report report) {
+        String[] cols = line.split(",", 3);
+        Long userId;
+        long amount;
+        try {
+            userId = Long.parseLong(cols[0].strip());
+            amount = (cols.length > 1) ? Long.parseLong(cols[1].strip()) : 0;
+        } catch (NumberFormatException e) {
+            report.fail(rowNo, null, ErrorCode.BAD_REQUEST, "userId,amount,memo 형식이 아닙니다.");
+            return null;
+        }
+        if (amount <= 0) {
+            report.fail(rowNo, userId, ErrorCode.INVALID_AMOUNT, null);
+            return null;
+        }
+        String memo = (cols.length > 2) ? cols[2].strip() : null;
+        if (memo != null && memo.length() > MAX_MEMO_LENGTH) {
+            report.fail(rowNo, userId, ErrorCode.BAD_REQUEST, "memo는 " + MAX_MEMO_LENGTH + "자 이하여야 합니다.");
+            return null;
+        }
+        return new Row(rowNo, userId, amount, memo);
+    }
+
+    // chunk 1개 = 트랜잭션 1개, 커밋된 뒤에만 집계에 반영 (실패하면 예외 -> 같은 키로 재요청 시 이 chunk부터)
+    private void applyChunk(String jobId, List<Row> rows, Report report) {
+        rows.sort(Comparator.comparingLong(Row::userId).thenComparingLong(Row::rowNo));
+        ChunkResult result = transactionTemplate.execute(status -> apply(jobId, rows));
+        report.merge(result);
+    }
+
+    private ChunkResult apply(String jobId, List<Row> rows) {
+        ChunkResult result = new ChunkResult();
+        Set<Long> userIds = new TreeSet<>();
+        List<String> requestIds = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            userIds.add(row.userId);
+            requestIds.add(requestId(jobId, row.rowNo));
+        }
+
+        // 1) 지갑 잠금 (user_id 오름차순)
+        Map<Long, Long> balances = new HashMap<>();
+        Set<Long> sharded = new HashSet<>();
+        jdbcTemplate.query(
+                "select user_id, balance, shard_count from point_wallets where user_id in (" + placeholders(userIds.size())
+                        + ") order by user_id for update",
+                rs -> {
+                    long userId = rs.getLong("user_id");
+                    balances.put(userId, rs.getLong("balance"));
+                    if (rs.getInt("shard_count") > 1) {
+                        sharded.add(userId);
+                    }
+                },
+                userIds.toArray());
+
+        // 2) 이미 반영된 행 (이전 실행분) : 같은 유저의 대량 충전 원장만
+        //    접두사 도입 전에 시작된 작업("{jobId}:{rowNo}")도 이어서 처리할 수 있도록 이전 형식도 함께 확인
+        List<Object> lookupArgs = new ArrayList<>(requestIds.size() * 2 + 1);
+        lookupArgs.addAll(requestIds);
+        requestIds.forEach(id -> lookupArgs.add(id.substring(IdempotencyService.RESERVED_KEY_PREFIX.length())));
+        lookupArgs.add(REF_TYPE_BULK_CHARGE);
+        Set<String> applied = new HashSet<>();
+        jdbcTemplate.query(
+                "select user_id, request_id from point_ledger where request_id in (" + placeholders(lookupArgs.size() - 1)
+                        + ") and ref_type = ?",
+                rs -> {
+                    String requestId = rs.getString("request_id");
+                    if (!requestId.startsWith(IdempotencyService.RESERVED_KEY_PREFIX)) {
+                        requestId = IdempotencyService.RESERVED_KEY_PREFIX + requestId;
+                    }
+                    applied.add(rs.getLong("user_id") + "/" + requestId);
+                },
+                lookupArgs.toArray());
+
+        // 3) 지갑이 없는 유저 : 유저 자체가 없는지 구분 (실패 경로에서만 조회)
+        Set<Long> missing = new TreeSet<>(userIds);
+        missing.removeAll(balances.keySet());
+        Set<Long> existingUsers = missing.isEmpty() ? Set.of() : new HashSet<>(jdbcTemplate.queryForList(
+                "select user_id from users where user_id in (" + placeholders(missing.size()) + ")",
+                Long.class, missing.toArray()));
+
+        // 샤딩 지갑은 슬롯 합계가 잔액
+        if (!sharded.isEmpty()) {
+            jdbcTemplate.query(
+                    "select user_id, sum(balance) as balance from point_wallet_slots where user_id in ("
+                            + placeholders(sharded.size()) + ") group by user_id",
+                    rs -> {
+                        balances.put(rs.getLong("user_id"), rs.getLong("balance"));
+                    },
+                    sharded.toArray());
+        }
+
+        // 4) 행 순서대로 잔액 누적 (같은 유저 여러 행이면 원장 balance_after가 이어짐)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Map<Long, Long> credited = new HashMap<>();
+        List<Object[]> ledgerArgs = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String requestId = requestId(jobId, row.rowNo);
+            if (applied.contains(row.userId + "/" + requestId)) {
+                result.skipped++;
+                continue;
+            }
+            Long balance = balances.get(row.userId);
+            if (balance == null) {
+                ErrorCode code = existingUsers.contains(row.userId) ? ErrorCode.WALLET_NOT_FOUND : ErrorCode.USER_NOT_FOUND;
+                result.failures.add(failure(row.rowNo, row.userId, code, null));
+                continue;
+            }
+
+            long balanceAfter = balance + row.amount;
+            balances.put(row.userId, balanceAfter);
+            credited.merge(row.userId, row.amount, Long::sum);
+            ledgerArgs.add(new Object[]{
+                    TimeOrderedIds.next(), row.userId, PointLedgerType.CHARGE.name(), row.amount, balanceAfter,
+                    REF_TYPE_BULK_CHARGE, requestId, row.memo, now
+            });
+            result.applied++;
+            result.appliedAmount += row.amount;
+        }
+
+        // 5) 지갑 UPDATE / 원장 INSERT 일괄
+        List<Object[]> walletArgs = new ArrayList<>(credited.size());
+        List<Object[]> slotArgs = new ArrayList<>();
+        credited.forEach((userId, amount) -> {
+            if (sharded.contains(userId)) {
+                slotArgs.add(new Object[]{amount, now, userId});
+                balanceCache.evictAfterCommit(userId);
+            } else {
+                walletArgs.add(new Object[]{balances.get(userId), now, userId});
+                balanceCache.putAfterCommit(userId, balances.get(userId));
+            }
+        });
+        batchUpdate(UPDATE_WALLET_SQL, walletArgs);
+        batchUpdate(UPDATE_SLOT_SQL, slotArgs);
+        batchUpdate(INSERT_LEDGER_SQL, ledgerArgs);
+        return result;
+    }
+
+    private void batchUpdate(String sql, List<Object[]> args) {
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, args);
+        }
+    }
+
+    private static String requestId(String jobId, long rowNo) {
+        return IdempotencyService.RESERVED_KEY_PREFIX + jobId + ":" + rowNo;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private static BulkChargeFailure failure(long rowNo, Long userId, ErrorCode code, String message) {
+        return BulkChargeFailure.builder()
+                .rowNo(rowNo)
+                .userId(userId)
+                .code(code.getCode())
+                .message(message != null ? message : code.getMessage())
+                .build();
+    }
+
+    private record Row(long rowNo, long userId, long amount, String memo) {
+    }
+
+    // chunk 1개 결과 (트랜잭션 안에서 채움)
+    private static class ChunkResult {
+        private long applied;
+        private long skipped;
+        private long appliedAmount;
+        private final List<BulkChargeFailure> failures = new ArrayList<>();
+    }
+
+    // 호출 전체 집계 (실패 목록은 maxReportedFailures건까지만 보관)
+    private class Report {
+        private final String jobId;
+        private long totalRows;
+        private long applied;
+        private long skipped;
+        private long failed;
+        private long appliedAmount;
+        private final List<BulkChargeFailure> failures = new ArrayList<>();
+
+        private Report(String jobId) {
+            this.jobId = jobId;
+        }
+
+        private void fail(long rowNo, Long userId, ErrorCode code, String message) {
+            addFailures(List.of(failure(rowNo, userId, code, message)));
+        }
+
+        private void merge(ChunkResult result) {
+            applied += result.applied;
+            skipped += result.skipped;
+            appliedAmount += result.appliedAmount;
+            addFailures(result.failures);
+        }
+
+        private void addFailures(Collection<BulkChargeFailure> rows) {
+            failed += rows.size();
+            for (BulkChargeFailure row : rows) {
+                if (failures.size() >= maxReportedFailures) {
+                    break;
+                }
+                failures.add(row);
+            }
+        }
+
+        private BulkChargeResponse toResponse() {
+            failures.sort(Comparator.comparingLong(BulkChargeFailure::getRowNo));
+            return BulkChargeResponse.builder()
+                    .jobId(jobId)
+                    .totalRows(totalRows)
+                    .appliedRows(applied)
+                    .skippedRows(skipped)
+                    .failedRows(failed)
+                    .appliedAmount(appliedAmount)
+                    .failures(failures)
+                    .failuresTruncated(failed > failures.size())
+                    .build();
+        }
+    }
+}
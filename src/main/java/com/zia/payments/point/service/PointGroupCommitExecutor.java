@@ -0,0 +1,305 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 핫 지갑 그룹 커밋
+ * 같은 userId로 동시에 들어온 충전/차감 요청을 짧은 윈도우(또는 최대 N건) 동안 모아서
+ * 지갑 락(SELECT FOR UPDATE)을 한 번만 잡고 순서대로 적용한다.
+ * - 요청별 결과(잔액 부족 등)는 각 요청에 개별로 돌려준다
+ * - 요청마다 JDBC savepoint 안에서 지갑 변경 + 원장 + 확정(onApplied)을 적용
+ *   -> 한 요청의 확정 실패(lease 인계 후 0건 UPDATE, 응답 인코딩 실패 등)는 그 요청만 롤백, 나머지는 커밋
+ *   (HibernateJpaDialect는 NESTED 전파를 지원하지 않아 세션 커넥션에 직접 savepoint)
+ * - 배치를 처음 연 요청(리더)이 윈도우를 기다린 뒤 트랜잭션을 실행, 나머지는 결과만 대기
+ */
+@Slf4j
+@Component
+public class PointGroupCommitExecutor {
+
+    private final PointWalletRepository pointWalletRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BalanceCache balanceCache;
+    private final PointWalletShardExecutor shardExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxBatchSize;
+
+    // userId -> 현재 모으는 중인 배치
+    private final ConcurrentHashMap<Long, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public PointGroupCommitExecutor(
+            PointWalletRepository pointWalletRepository,
+            PointLedgerRepository pointLedgerRepository,
+            UserRepository userRepository,
+            UserExistenceCache userExistenceCache,
+            BalanceCache balanceCache,
+            PointWalletShardExecutor shardExecutor,
+            TransactionTemplate transactionTemplate,
+            @Value("${points.group-commit.enabled:false}") boolean enabled,
+            @Value("${points.group-commit.window-ms:5}") long windowMillis,
+            @Value("${points.group-commit.max-batch-size:64}") int maxBatchSize
+    ) {
+        this.pointWalletRepository = pointWalletRepository;
+        this.pointLedgerRepository = pointLedgerRepository;
+        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.balanceCache = balanceCache;
+        this.shardExecutor = shardExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 충전 (그룹 커밋)
+     * @param requestId 원장에 남길 멱등키 (null 가능)
+     * @param onApplied 충전 성공 시 이 요청의 savepoint 안에서 호출 (멱등성 확정용, null 가능)
+     * @return 충전 후 잔액
+     */
+    public long charge(Long userId, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        return submit(new Operation(userId, PointLedgerType.CHARGE, amount, memo, requestId, onApplied));
+    }
+
+    /**
+     * 차감 (그룹 커밋)
+     * @param requestId 원장에 남길 멱등키
+     * @param onApplied 차감 성공 시 이 요청의 savepoint 안에서 호출 (차감 후 잔액 전달, 멱등성 확정용, 실패하면 이 요청만 롤백)
+     * @return 차감 후 잔액
+     */
+    public long redeem(Long userId, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        return submit(new Operation(userId, PointLedgerType.REDEEM, amount, memo, requestId, onApplied));
+    }
+
+    private long submit(Operation op) {
+        Batch batch;
+        boolean leader;
+
+        // 닫힌 배치를 만나면 맵에서 치우고 새 배치로 재시도
+        while (true) {
+            batch = openBatches.computeIfAbsent(op.userId, id -> new Batch());
+            int position = batch.tryAdd(op, maxBatchSize);
+            if (position >= 0) {
+                leader = (position == 0);
+                break;
+            }
+            openBatches.remove(op.userId, batch);
+        }
+
+        if (leader) {
+            batch.awaitFullOrTimeout(windowMillis);
+            openBatches.remove(op.userId, batch);
+            flush(op.userId, batch.operations);
+        }
+
+        try {
+            return op.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    // 배치 실행 : 락 1회 + 요청별 savepoint 적용, 커밋 후 요청별 결과 전달
+    private void flush(Long userId, List<Operation> operations) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(userId, operations));
+        } catch (Throwable e) {
+            // 트랜잭션 자체 실패 -> 배치 전체 실패 (Error도 전달해야 결과를 기다리는 요청이 영원히 멈추지 않음)
+            log.error("그룹 커밋 실패 : userId={}, size={}", userId, operations.size(), e);
+            operations.forEach(op -> op.result.completeExceptionally(e));
+            return;
+        }
+
+        for (Operation op : operations) {
+            if (op.failure != null) {
+                op.result.completeExceptionally(op.failure);
+            } else {
+                op.result.complete(op.balanceAfter);
+            }
+        }
+        log.info("그룹 커밋 완료 : userId={}, size={}", userId, operations.size());
+    }
+
+    private void apply(Long userId, List<Operation> operations) {
+        PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId).orElse(null);
+        if (wallet == null) {
+            failAll(operations, userExistenceCache.missingWalletError(userId).getErrorCode());
+            return;
+        }
+
+        for (Operation op : operations) {
+            if (op.amount == null || op.amount <= 0) {
+                op.failure = new ApiException(ErrorCode.INVALID_AMOUNT);
+                continue;
+            }
+
+            Session session = entityManager.unwrap(Session.class);
+            Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+            try {
+                op.balanceAfter = applyOne(userId, wallet, op);
+                session.doWork(connection -> connection.releaseSavepoint(savepoint));
+            } catch (RuntimeException e) {
+                // 요청 단위 실패 (잔액 부족, 확정 실패 등) -> 이 요청의 변경만 savepoint로 되돌리고 배치는 계속 진행
+                session.doWork(connection -> connection.rollback(savepoint));
+                op.failure = e;
+                if (op.written || wallet.isSharded()) {
+                    // 영속성 컨텍스트의 지갑/슬롯/원장은 롤백되지 않으므로 DB 기준으로 다시 읽음 (이전 요청분은 이미 flush됨)
+                    entityManager.clear();
+                    wallet = pointWalletRepository.findByUserIdWithLock(userId).orElseThrow();
+                }
+            }
+        }
+
+        if (wallet.isSharded()) {
+            balanceCache.evictAfterCommit(userId);
+        } else {
+            balanceCache.putAfterCommit(userId, wallet.getBalance());
+        }
+    }
+
+    // 요청 1건 적용 (savepoint 안) : savepoint 해제 전에 flush해야 롤백 범위에 이 요청의 변경이 들어감
+    private long applyOne(Long userId, PointWallet wallet, Operation op) {
+        long balanceAfter;
+        if (wallet.isSharded()) {
+            // 샤딩 지갑 : 지갑 배타 락 아래에서 슬롯에 적용
+            balanceAfter = shardExecutor.applyLocked(userId, op.type, op.amount);
+        } else if (op.type == PointLedgerType.CHARGE) {
+            wallet.increase(op.amount);
+            balanceAfter = wallet.getBalance();
+        } else {
+            wallet.decrease(op.amount);
+            balanceAfter = wallet.getBalance();
+        }
+        op.written = true;
+
+        // 지갑이 있으면 유저도 존재 -> 원장에는 프록시만 연결
+        User user = userRepository.getReferenceById(userId);
+        pointLedgerRepository.save(op.type == PointLedgerType.CHARGE
+                ? PointLedger.charge(user, op.amount, balanceAfter, op.memo, op.requestId)
+                : PointLedger.redeem(user, op.amount, balanceAfter, op.memo, op.requestId));
+        entityManager.flush();
+
+        // 확정은 JDBC UPDATE -> 지갑/원장 flush 이후
+        if (op.onApplied != null) {
+            op.onApplied.accept(balanceAfter);
+        }
+        return balanceAfter;
+    }
+
+    private void failAll(List<Operation> operations, ErrorCode errorCode) {
+        operations.forEach(op -> op.failure = new ApiException(errorCode));
+    }
+
+    // 요청 1건
+    private static class Operation {
+        private final Long userId;
+        private final PointLedgerType type;
+        private final Long amount;
+        private final String memo;
+        private final String requestId;
+        private final Consumer<Long> onApplied;
+        private final CompletableFuture<Long> result = new CompletableFuture<>();
+
+        // 배치 트랜잭션 안에서 채워지고, 커밋 후 result로 전달
+        private Long balanceAfter;
+        private RuntimeException failure;
+        private boolean written; // 지갑/슬롯을 변경했는지 (실패 시 영속성 컨텍스트 재로딩 여부)
+
+        private Operation(Long userId, PointLedgerType type, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+            this.memo = memo;
+            this.requestId = requestId;
+            this.onApplied = onApplied;
+        }
+    }
+
+    // userId 단위로 모이는 요청 묶음
+    // synchronized + wait 대신 ReentrantLock/Condition : 가상 스레드가 대기 중 캐리어 스레드를 붙잡지(pinning) 않도록
+    private static class Batch {
+        private final List<Operation> operations = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition full = lock.newCondition();
+        private boolean closed;
+
+        /**
+         * @return 배치 내 순번 (0이면 리더), 이미 닫혔으면 -1
+         */
+        private int tryAdd(Operation op, int maxBatchSize) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return -1;
+                }
+                operations.add(op);
+                if (operations.size() >= maxBatchSize) {
+                    closed = true;
+                    full.signalAll();
+                }
+                return operations.size() - 1;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 리더 : 배치가 가득 차거나 윈도우가 끝날 때까지 대기 후 닫음
+        private void awaitFullOrTimeout(long windowMillis) {
+            long remaining = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+            lock.lock();
+            try {
+                while (!closed && remaining > 0) {
+                    remaining = full.awaitNanos(remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                closed = true;
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.zia.payments.point.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.dto.response.LedgerResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * 원장 스트리밍 내보내기 (NDJSON / CSV)
+ * 엔티티/리스트 없이 JDBC 행을 바로 응답 스트림에 쓴다.
+ * - (created_at, ledger_id) 키셋으로 chunk-size 건씩 끊어서 조회 -> 힙 사용량 일정
+ * - 조회마다 트랜잭션 없이 autocommit 단건 SELECT -> 긴 트랜잭션/스냅샷을 잡지 않음
+ * - to 미지정 시 내보내기 시작 시각까지만 (계속 쌓이는 원장 때문에 끝나지 않는 것 방지)
+ */
+@Slf4j
+@Component
+public class PointLedgerExporter {
+
+    // idx_ledger_user_created_id 순방향 스캔
+    private static final String CHUNK_SQL = """
+            select ledger_id, type, amount, balance_after, ref_type, ref_id, memo, created_at
+            from point_ledger
+            where user_id = ?
+              and (created_at > ? or (created_at = ? and ledger_id > ?))
+              and created_at < ?
+            order by created_at, ledger_id
+            limit ?
+            """;
+
+    private static final byte[] CSV_HEADER =
+            "ledger_id,type,amount,balance_after,ref_type,ref_id,memo,created_at\n".getBytes(StandardCharsets.UTF_8);
+    private static final LocalDateTime MIN_CREATED_AT = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public PointLedgerExporter(
+            JdbcTemplate jdbcTemplate,
+            ObjectMapper objectMapper,
+            @Value("${points.ledger-export.chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param from 포함 (null이면 처음부터)
+     * @param to 미포함 (null이면 호출 시각)
+     * @return 내보낸 건수
+     */
+    public long export(Long userId, LocalDateTime from, LocalDateTime to, LedgerExportFormat format, OutputStream out) throws IOException {
+        LocalDateTime upper = (to == null) ? LocalDateTime.now() : to;
+        LocalDateTime lower = (from == null) ? MIN_CREATED_AT : from;
+        validateRange(lower, upper);
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        if (format == LedgerExportFormat.CSV) {
+            buffered.write(CSV_HEADER);
+        }
+
+        // 키셋 시작점 : (from, 최소 ID) -> created_at >= from
+        Timestamp cursorCreatedAt = Timestamp.valueOf(lower);
+        long cursorLedgerId = Long.MIN_VALUE;
+        Timestamp upperTs = Timestamp.valueOf(upper);
+        long total = 0;
+
+        while (true) {
+            ChunkWriter writer = new ChunkWriter(format, buffered);
+            Timestamp afterCreatedAt = cursorCreatedAt;
+            long afterLedgerId = cursorLedgerId;
+            try {
+                jdbcTemplate.query(con -> {
+                    var ps = con.prepareStatement(CHUNK_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(chunkSize);
+                    ps.setLong(1, userId);
+                    ps.setTimestamp(2, afterCreatedAt);
+                    ps.setTimestamp(3, afterCreatedAt);
+                    ps.setLong(4, afterLedgerId);
+                    ps.setTimestamp(5, upperTs);
+                    ps.setInt(6, chunkSize);
+                    return ps;
+                }, writer::write);
+            } catch (UncheckedIOException e) {
+                // 클라이언트 연결 끊김 등
+                throw e.getCause();
+            }
+
+            total += writer.rows;
+            buffered.flush();
+            if (writer.rows < chunkSize) {
+                break;
+            }
+            cursorCreatedAt = writer.lastCreatedAt;
+            cursorLedgerId = writer.lastLedgerId;
+        }
+
+        log.info("원장 내보내기 완료 : userId={}, format={}, rows={}", userId, format, total);
+        return total;
+    }
+
+    // 스트리밍 시작 전에 호출부에서도 검증 (응답이 시작되면 에러 응답으로 바꿀 수 없음)
+    public void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "from은 to보다 이전이어야 합니다.");
+        }
+    }
+
+    // chunk 1개 분량의 행을 바로 스트림에 기록 (마지막 키셋 위치만 보관)
+    private class ChunkWriter {
+        private final LedgerExportFormat format;
+        private final OutputStream out;
+        private int rows;
+        private Timestamp lastCreatedAt;
+        private long lastLedgerId;
+
+        private ChunkWriter(LedgerExportFormat format, OutputStream out) {
+            this.format = format;
+            this.out = out;
+        }
+
+        private void write(ResultSet rs) throws SQLException {
+            lastLedgerId = rs.getLong("ledger_id");
+            lastCreatedAt = rs.getTimestamp("created_at");
+            Long refId = rs.getObject("ref_id", Long.class);
+
+            LedgerResponse row = LedgerResponse.builder()
+                    .ledgerId(lastLedgerId)
+                    .type(PointLedgerType.valueOf(rs.getString("type")))
+                    .amount(rs.getLong("amount"))
+                    .balanceAfter(rs.getLong("balance_after"))
+                    .refType(rs.getString("ref_type"))
+                    .refId(refId)
+                    .memo(rs.getString("memo"))
+                    .createdAt(lastCreatedAt.toLocalDateTime())
+                    .build();
+
+            try {
+                if (format == LedgerExportFormat.NDJSON) {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                } else {
+                    out.write(toCsvLine(row).getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows++;
+        }
+    }
+
+    private static String toCsvLine(LedgerResponse row) {
+        return row.getLedgerId() + ","
+                + row.getType() + ","
+                + row.getAmount() + ","
+                + row.getBalanceAfter() + ","
+                + csv(row.getRefType()) + ","
+                + (row.getRefId() == null ? "" : row.getRefId()) + ","
+                + csv(row.getMemo()) + ","
+                + row.getCreatedAt() + "\n";
+    }
+
+    // RFC 4180 : 쉼표/따옴표/개행이 있으면 따옴표로 감싸고 내부 따옴표는 두 번
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,203 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 낙관적 락(@Version) 충전/차감 (points.lock-mode=ADAPTIVE)
+ * 락 없이 지갑을 읽고, UPDATE 시 version 충돌이면 트랜잭션을 롤백하고 지터 백오프 후 재시도한다.
+ * - 재시도를 다 쓰면 null 반환 -> 호출부에서 비관적 락 경로로 처리 (요청 실패 X)
+ * - 지갑별 충돌률(EWMA)이 임계치를 넘으면 일정 시간 비관적 락으로 전환
+ * - 항상 낙관적 락인 모드는 두지 않음 : 지갑당 동시 5명 이상에서 비관적 락보다 처리량이 40%가량 낮음 (PointLockModeBenchmarkTest)
+ */
+@Slf4j
+@Component
+public class PointOptimisticExecutor {
+
+    private static final double EWMA_WEIGHT = 0.1;
+    private static final int MAX_TRACKED_WALLETS = 100_000;
+
+    private final PointWalletRepository pointWalletRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final WalletLockMode lockMode;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final double conflictThreshold;
+    private final long pessimisticCooldownNanos;
+
+    // userId -> 충돌 통계
+    private final ConcurrentHashMap<Long, ConflictStats> conflictStats = new ConcurrentHashMap<>();
+
+    public PointOptimisticExecutor(
+            PointWalletRepository pointWalletRepository,
+            PointLedgerRepository pointLedgerRepository,
+            UserRepository userRepository,
+            UserExistenceCache userExistenceCache,
+            BalanceCache balanceCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${points.lock-mode:PESSIMISTIC}") WalletLockMode lockMode,
+            @Value("${points.optimistic.max-attempts:3}") int maxAttempts,
+            @Value("${points.optimistic.backoff-ms:5}") long backoffMillis,
+            @Value("${points.optimistic.adaptive.conflict-threshold:0.2}") double conflictThreshold,
+            @Value("${points.optimistic.adaptive.cooldown-ms:5000}") long pessimisticCooldownMillis
+    ) {
+        this.pointWalletRepository = pointWalletRepository;
+        this.pointLedgerRepository = pointLedgerRepository;
+        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.balanceCache = balanceCache;
+        this.transactionTemplate = transactionTemplate;
+        this.lockMode = lockMode;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+        this.conflictThreshold = conflictThreshold;
+        this.pessimisticCooldownNanos = TimeUnit.MILLISECONDS.toNanos(pessimisticCooldownMillis);
+    }
+
+    // 이 지갑을 낙관적 락으로 처리할지
+    public boolean shouldUse(Long userId) {
+        if (lockMode != WalletLockMode.ADAPTIVE) {
+            return false;
+        }
+
+        ConflictStats stats = conflictStats.get(userId);
+        return stats == null || !stats.isPessimistic(System.nanoTime());
+    }
+
+    /**
+     * 낙관적 락 충전/차감
+     * @param requestId 원장에 남길 멱등키 (null 가능)
+     * @param onApplied 성공 시 같은 트랜잭션 안에서 호출 (멱등성 확정용, null 가능)
+     * @return 적용 후 잔액, 재시도 소진 또는 샤딩 지갑이면 null (호출부에서 비관적 락으로 처리)
+     */
+    public Long apply(Long userId, PointLedgerType type, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                Long balanceAfter = transactionTemplate.execute(status -> applyOnce(userId, type, amount, memo, requestId, onApplied));
+                recordOutcome(userId, false);
+                return balanceAfter;
+            } catch (OptimisticLockingFailureException e) {
+                recordOutcome(userId, true);
+                log.debug("낙관적 락 충돌 : userId={}, attempt={}/{}", userId, attempt, maxAttempts);
+                if (attempt < maxAttempts) {
+                    backoff(attempt);
+                }
+            }
+        }
+
+        log.info("낙관적 락 재시도 소진 -> 비관적 락으로 처리 : userId={}", userId);
+        return null;
+    }
+
+    private Long applyOnce(Long userId, PointLedgerType type, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        // 락 없이 조회
+        PointWallet wallet = pointWalletRepository.findByUserId(userId)
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+        if (wallet.isSharded()) {
+            return null;
+        }
+
+        if (type == PointLedgerType.CHARGE) {
+            wallet.increase(amount);
+        } else {
+            wallet.decrease(amount);
+        }
+
+        // version 충돌을 원장 INSERT 전에 확인
+        pointWalletRepository.saveAndFlush(wallet);
+        balanceCache.putAfterCommit(userId, wallet.getBalance());
+
+        User user = userRepository.getReferenceById(userId);
+        PointLedger ledger = (type == PointLedgerType.CHARGE)
+                ? PointLedger.charge(user, amount, wallet.getBalance(), memo, requestId)
+                : PointLedger.redeem(user, amount, wallet.getBalance(), memo, requestId);
+        pointLedgerRepository.save(ledger);
+
+        if (onApplied != null) {
+            onApplied.accept(wallet.getBalance());
+        }
+        return wallet.getBalance();
+    }
+
+    // 지터 백오프 : [0, backoff * 2^(attempt-1)) 랜덤 대기
+    private void backoff(int attempt) {
+        long bound = backoffMillis << (attempt - 1);
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void recordOutcome(Long userId, boolean conflict) {
+        if (lockMode != WalletLockMode.ADAPTIVE) {
+            return;
+        }
+        if (!conflict && !conflictStats.containsKey(userId)) {
+            // 충돌 이력 없는 지갑은 추적하지 않음
+            return;
+        }
+        if (conflictStats.size() > MAX_TRACKED_WALLETS) {
+            conflictStats.clear();
+        }
+
+        ConflictStats stats = conflictStats.computeIfAbsent(userId, id -> new ConflictStats());
+        if (stats.record(conflict, conflictThreshold, System.nanoTime() + pessimisticCooldownNanos)) {
+            log.info("충돌률 임계치 초과 -> 비관적 락 전환 : userId={}", userId);
+        }
+    }
+
+    // 지갑별 충돌률 (지수 이동 평균)
+    private static class ConflictStats {
+        private double conflictRate;
+        private long pessimisticUntil;
+        private boolean pessimistic;
+
+        private synchronized boolean isPessimistic(long now) {
+            if (pessimistic && now - pessimisticUntil >= 0) {
+                // 쿨다운 종료 -> 다시 낙관적 락 시도
+                pessimistic = false;
+                conflictRate = 0;
+            }
+            return pessimistic;
+        }
+
+        /**
+         * @return 이번 기록으로 비관적 락으로 전환됐으면 true
+         */
+        private synchronized boolean record(boolean conflict, double threshold, long cooldownUntil) {
+            conflictRate = conflictRate * (1 - EWMA_WEIGHT) + (conflict ? EWMA_WEIGHT : 0);
+            if (!pessimistic && conflictRate > threshold) {
+                pessimistic = true;
+                pessimisticUntil = cooldownUntil;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package com.zia.payments.point.service;
 
 import com.zia.payments.point.dto.response.ChargeResponse;
+import com.zia.payments.point.dto.response.CheckoutResponse;
+import com.zia.payments.point.dto.response.LedgerPageResponse;
 import com.zia.payments.point.dto.response.RedeemResponse;
 
 public interface PointService {
 
     ChargeResponse charge(Long userId, Long amount, String memo); // DTO 반환
     Long getBalance(Long userId);
+    LedgerPageResponse getLedger(Long userId, String cursor, Integer size); // 키셋 페이지네이션
     RedeemResponse redeem(Long userId, Long amount, String memo, String requestId);
+    CheckoutResponse checkout(Long userId, Long amount, Long userCouponId, String memo, String requestId); // 쿠폰 할인 + 차감
     RedeemResponse redeemNoLock(Long userId, Long amount, String memo);
+    void enableSharding(Long userId, int shardCount); // 핫 계정 샤딩 전환
+    void disableSharding(Long userId);
 }
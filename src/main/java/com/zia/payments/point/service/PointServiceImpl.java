@@ -1,44 +1,75 @@
 package com.zia.payments.point.service;
 
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.domain.UserCouponStatus;
+import com.zia.payments.coupon.repository.UserCouponRepository;
 import com.zia.payments.global.exception.ApiException;
 import com.zia.payments.global.exception.ErrorCode;
 import com.zia.payments.idempotency.domain.IdempotencyRequest;
 import com.zia.payments.idempotency.domain.IdempotencyStatus;
 import com.zia.payments.idempotency.service.IdempotencyService;
+import com.zia.payments.idempotency.util.IdempotencyScope;
+import com.zia.payments.idempotency.util.RequestFingerprint;
 import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointLedgerType;
 import com.zia.payments.point.domain.PointWallet;
 import com.zia.payments.point.dto.response.ChargeResponse;
+import com.zia.payments.point.dto.response.CheckoutResponse;
+import com.zia.payments.point.dto.response.LedgerPageResponse;
+import com.zia.payments.point.dto.response.LedgerResponse;
 import com.zia.payments.point.dto.response.RedeemResponse;
 import com.zia.payments.point.repository.PointLedgerRepository;
 import com.zia.payments.point.repository.PointWalletRepository;
-import com.zia.payments.user.domain.User;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.point.util.LedgerCursor;
 import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class PointServiceImpl implements PointService {
 
+    private static final int DEFAULT_LEDGER_PAGE_SIZE = 20;
+    private static final int MAX_LEDGER_PAGE_SIZE = 100;
+    private static final String REF_TYPE_USER_COUPON = "USER_COUPON";
+    private static final String REDEEM_ENDPOINT = "/api/users/{userId}/points/redeem";
+    private static final String CHECKOUT_ENDPOINT = "/api/users/{userId}/points/checkout";
+
     private final PointWalletRepository pointWalletRepository;
     private final PointLedgerRepository pointLedgerRepository;
     private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
     private final IdempotencyService idempotencyService;
-    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final PointGroupCommitExecutor groupCommitExecutor;
+    private final PointWalletShardExecutor shardExecutor;
+    private final PointOptimisticExecutor optimisticExecutor;
+    private final PointAtomicExecutor atomicExecutor;
+    private final UserCouponRepository userCouponRepository;
+    private final BalanceCache balanceCache;
 
     /**
      * 포인트 충전
+     * {@code @Idempotent(confirmInTransaction)} 컨트롤러에서 멱등키와 함께 들어오면 원장에 request_id 기록
+     * + SUCCESS 확정을 충전과 같은 트랜잭션에서 커밋 (redeem과 같은 방식, 소유권을 잃었으면 충전도 롤백)
+     * 인계받은 멱등키(이전 소유 노드가 커밋 전에 죽음)면 원장으로 반영 여부 확인 후 중복 충전하지 않음
      * @param userId 유저 ID
      * @param amount 충전 금액 (양수만 가능)
      * @param memo 메모
      * @return 충전 후 지갑 정보 DTO
      */
     @Override
-    @Transactional
     public ChargeResponse charge(Long userId, Long amount, String memo) {
 
         // 충전 금액 검증
@@ -46,48 +77,127 @@ public class PointServiceImpl implements PointService {
             throw new ApiException(ErrorCode.INVALID_AMOUNT);
         }
 
-        // 유저 존재 여부 확인
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
+        IdempotencyRequest acquired = IdempotencyScope.current();
+        String requestId = (acquired == null) ? null : acquired.getRequestId();
+        if (acquired != null && acquired.isTakenOver()) {
+            PointLedger committed = pointLedgerRepository.findFirstByUser_IdAndRequestId(userId, requestId).orElse(null);
+            if (committed != null) {
+                ChargeResponse response = toChargeResponse(userId, committed.getAmount(), committed.getBalanceAfter(), committed.getMemo());
+                idempotencyService.markSuccess(acquired, response);
+                log.info("인계받은 멱등키 : 이미 반영된 충전 -> SUCCESS로 확정 : requestId={}", requestId);
+                return response;
+            }
+        }
 
-        // 지갑 조회 또는 생성 (비관적 락 적용)
-        PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+        // 멱등키가 있으면 각 경로의 트랜잭션 안에서 SUCCESS 확정
+        Consumer<Long> onApplied = (acquired == null) ? null
+                : applied -> idempotencyService.markSuccess(acquired, toChargeResponse(userId, amount, applied, memo));
 
-        // 포인트 증가
-        wallet.increase(amount);
+        // 샤딩 지갑 : 슬롯 1개에만 락
+        if (shardExecutor.isEnabled() && shardExecutor.isSharded(userId)) {
+            Long balanceAfter = shardExecutor.charge(userId, amount, memo, requestId, onApplied);
+            if (balanceAfter != null) {
+                return toChargeResponse(userId, amount, balanceAfter, memo);
+            }
+        }
 
-        // 지갑 저장
-        pointWalletRepository.save(wallet);
+        // 그룹 커밋 모드 : 같은 유저의 동시 요청을 모아서 락 1회로 처리
+        if (groupCommitExecutor.isEnabled()) {
+            long balanceAfter = groupCommitExecutor.charge(userId, amount, memo, requestId, onApplied);
+            return toChargeResponse(userId, amount, balanceAfter, memo);
+        }
 
-        // 원장 기록
-        PointLedger ledger = PointLedger.charge(user, amount, wallet.getBalance(), memo);
-        pointLedgerRepository.save(ledger);
+        // 원자적 UPDATE 모드 : 지갑 엔티티 로드 없이 UPDATE 1문장
+        if (atomicExecutor.isEnabled()) {
+            Long balanceAfter = atomicExecutor.apply(userId, PointLedgerType.CHARGE, amount, memo, requestId, onApplied);
+            if (balanceAfter != null) {
+                return toChargeResponse(userId, amount, balanceAfter, memo);
+            }
+        }
 
-        log.info("포인트 충전 성공 : userId={}, amount={}, balanceAfter={}", userId, amount, wallet.getBalance());
+        // 낙관적 락 모드 : 충돌 시 재시도, 소진되면 비관적 락으로
+        if (optimisticExecutor.shouldUse(userId)) {
+            Long balanceAfter = optimisticExecutor.apply(userId, PointLedgerType.CHARGE, amount, memo, requestId, onApplied);
+            if (balanceAfter != null) {
+                return toChargeResponse(userId, amount, balanceAfter, memo);
+            }
+        }
 
-        // DTO 변환해서 반환
-        return ChargeResponse.builder()
-                .userId(userId)
-                .chargedAmount(amount)
-                .balanceAfter(wallet.getBalance())
-                .memo(memo)
-                .build();
+        return transactionTemplate.execute(status -> {
+            ChargeResponse response = doCharge(userId, amount, memo, requestId);
+            if (onApplied != null) {
+                onApplied.accept(response.getBalanceAfter());
+            }
+            return response;
+        });
     }
 
     /**
      * 포인트 잔액 조회
+     * 캐시 히트면 트랜잭션/커넥션 없이 반환, 미스면 잔액 컬럼만 조회 후 캐시
      * @param userId
      * @return 현재 잔액 (없으면 0)
      */
     @Override
-    @Transactional(readOnly = true)
     public Long getBalance(Long userId) {
-        return pointWalletRepository.findByUserId(userId)
-                .map(PointWallet::getBalance)
+        Long cached = balanceCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        return pointWalletRepository.findCurrentBalanceByUserId(userId)
+                .map(balance -> {
+                    balanceCache.load(userId, balance);
+                    return balance;
+                })
                 .orElse(0L);
     }
 
+    /**
+     * 원장 조회 (키셋 페이지네이션, 최신순)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size 페이지 크기 (기본 20, 최대 100)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public LedgerPageResponse getLedger(Long userId, String cursor, Integer size) {
+        int pageSize = (size == null) ? DEFAULT_LEDGER_PAGE_SIZE : size;
+        if (pageSize <= 0 || pageSize > MAX_LEDGER_PAGE_SIZE) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "size는 1 이상 " + MAX_LEDGER_PAGE_SIZE + " 이하여야 합니다.");
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        LedgerCursor after = LedgerCursor.decode(cursor);
+        Limit limit = Limit.of(pageSize + 1);
+        List<LedgerResponse> rows = (after == null)
+                ? pointLedgerRepository.findLedgerPage(userId, limit)
+                : pointLedgerRepository.findLedgerPageAfter(userId, after.createdAt(), after.ledgerId(), limit);
+
+        boolean hasNext = rows.size() > pageSize;
+        List<LedgerResponse> items = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return LedgerPageResponse.builder()
+                .items(items)
+                .nextCursor(hasNext ? LedgerCursor.of(items.get(items.size() - 1)).encode() : null)
+                .hasNext(hasNext)
+                .build();
+    }
+
+    /**
+     * 샤딩 지갑 전환 (핫 계정용)
+     * @param shardCount 슬롯 수 (2 ~ 64)
+     */
+    @Override
+    public void enableSharding(Long userId, int shardCount) {
+        shardExecutor.enable(userId, shardCount);
+    }
+
+    // 샤딩 해제 (단일 지갑 복귀)
+    @Override
+    public void disableSharding(Long userId) {
+        shardExecutor.disable(userId);
+    }
+
     /**
      * 포인트 차감 (동시성 제어, 멱등성 포함)
      * @param userId
@@ -97,7 +207,6 @@ public class PointServiceImpl implements PointService {
      * @return 차감 결과 DTO
      */
     @Override
-    @Transactional
     public RedeemResponse redeem(Long userId, Long amount, String memo, String requestId) {
 
         // requestId 검증
@@ -105,44 +214,109 @@ public class PointServiceImpl implements PointService {
             throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REQUIRED);
         }
 
-        // 멱등키 조회 (SUCCESS면 캐시 반환)
-        IdempotencyRequest idempotencyRequest = idempotencyService.findByRequestId(requestId);
-        if (idempotencyRequest != null) {
-            // userId 매칭 검증
-            if (idempotencyRequest.getUserId() != null && !idempotencyRequest.getUserId().equals(userId)) {
-                throw new ApiException(ErrorCode.BAD_REQUEST, "Idempotency-Key가 다른 사용자에 의해 사용되었습니다.");
+        // IN_PROGRESS로 선점 (SUCCESS 캐시 히트면 DB 접근 없이 반환)
+        // 같은 키로 금액/메모가 다른 요청이면 IDEMPOTENCY_KEY_REUSED
+        long fingerprint = RequestFingerprint.of(REDEEM_ENDPOINT, userId, amount, memo);
+        IdempotencyRequest acquired = idempotencyService.createInProgress(userId, requestId, REDEEM_ENDPOINT, fingerprint, false);
+
+        // 이미 완료된 요청 -> 저장된 응답 반환
+        if (acquired.getIdempotencyStatus() == IdempotencyStatus.SUCCESS) {
+            log.info("멱등성 캐시 히트(SUCCESS) : requestId={}, userId={}", requestId, userId);
+            return idempotencyService.readResponse(acquired, RedeemResponse.class);
+        }
+
+        // lease 만료로 인계받은 키 : 이전 소유자의 차감이 이미 커밋됐으면 다시 차감하지 않고 원장으로 응답 복원
+        if (acquired.isTakenOver()) {
+            PointLedger committed = pointLedgerRepository.findFirstByUser_IdAndRequestId(userId, requestId).orElse(null);
+            if (committed != null) {
+                RedeemResponse response = toRedeemResponse(userId, committed.getAmount(), committed.getBalanceAfter(), committed.getMemo());
+                idempotencyService.markSuccess(acquired, response);
+                log.info("인계받은 멱등키 : 이미 반영된 차감 -> SUCCESS로 확정 : requestId={}", requestId);
+                return response;
             }
+        }
 
-            if (idempotencyRequest.getIdempotencyStatus() == IdempotencyStatus.SUCCESS) {
-                log.info("멱등성 캐시 히트(SUCCESS) : requestId={}, userId={}", requestId, userId);
-                return parseRedeemResponse(idempotencyRequest.getResponseBody());
+        try {
+            // 실제 차감 로직 + SUCCESS 확정을 같은 트랜잭션에서 커밋
+            if (shardExecutor.isEnabled() && shardExecutor.isSharded(userId)) {
+                RedeemResponse response = doRedeemSharded(userId, amount, memo, acquired);
+                if (response != null) {
+                    return response;
+                }
+            }
+            if (groupCommitExecutor.isEnabled()) {
+                return doRedeemGroupCommit(userId, amount, memo, acquired);
+            }
+            if (atomicExecutor.isEnabled()) {
+                RedeemResponse response = doRedeemAtomic(userId, amount, memo, acquired);
+                if (response != null) {
+                    return response;
+                }
             }
+            if (optimisticExecutor.shouldUse(userId)) {
+                RedeemResponse response = doRedeemOptimistic(userId, amount, memo, acquired);
+                if (response != null) {
+                    return response;
+                }
+            }
+            return transactionTemplate.execute(status -> {
+                RedeemResponse response = doRedeem(userId, amount, memo, requestId);
+                idempotencyService.markSuccess(acquired, response);
+                return response;
+            });
+        } catch (Exception e) {
+            // 실패 저장
+            idempotencyService.markFailed(acquired);
+            throw e;
         }
+    }
 
-        // IN_PROGRESS로 선점 (반환값 확인)
-        IdempotencyRequest acquired = idempotencyService.createInProgress(userId, requestId, "/api/users/{userId}/points/redeem");
+    /**
+     * 쿠폰 결제 (쿠폰 사용 + 할인 금액 차감을 멱등키 1개, 트랜잭션 1개로)
+     * 락 순서 : user_coupons row -> 지갑 row (쿠폰이 유효하지 않으면 핫 지갑 락을 잡기 전에 실패)
+     * 잔액 부족 등으로 실패하면 쿠폰 사용도 함께 롤백
+     * @param userCouponId 없으면 쿠폰 없이 차감
+     */
+    @Override
+    public CheckoutResponse checkout(Long userId, Long amount, Long userCouponId, String memo, String requestId) {
+        if(requestId == null || requestId.isBlank()) {
+            throw new ApiException(ErrorCode.IDEMPOTENCY_KEY_REQUIRED);
+        }
 
-        // 반환 값 확인 (레이스 컨디션 방어)
+        long fingerprint = RequestFingerprint.of(CHECKOUT_ENDPOINT, userId, amount, userCouponId, memo);
+        IdempotencyRequest acquired = idempotencyService.createInProgress(userId, requestId, CHECKOUT_ENDPOINT, fingerprint, false);
         if (acquired.getIdempotencyStatus() == IdempotencyStatus.SUCCESS) {
-            log.info("다른 스레드가 이미 완료함 : requestId={}", requestId);
-            if (acquired.getUserId() != null && !acquired.getUserId().equals(userId)) {
-                throw new ApiException(ErrorCode.BAD_REQUEST, "Idempotency-Key가 다른 사용자에 의해 사용되었습니다.");
+            log.info("멱등성 캐시 히트(SUCCESS) : requestId={}, userId={}", requestId, userId);
+            return idempotencyService.readResponse(acquired, CheckoutResponse.class);
+        }
+
+        // lease 만료로 인계받은 키 : 이미 반영된 결제면 원장으로 응답 복원 (전액 할인도 0원 원장이 있음)
+        if (acquired.isTakenOver()) {
+            PointLedger committed = pointLedgerRepository.findFirstByUser_IdAndRequestId(userId, requestId).orElse(null);
+            if (committed != null) {
+                CheckoutResponse response = CheckoutResponse.builder()
+                        .userId(userId)
+                        .orderAmount(amount)
+                        .discountAmount(amount - committed.getAmount())
+                        .redeemedAmount(committed.getAmount())
+                        .balanceAfter(committed.getBalanceAfter())
+                        .userCouponId(committed.getRefId())
+                        .memo(committed.getMemo())
+                        .build();
+                idempotencyService.markSuccess(acquired, response);
+                log.info("인계받은 멱등키 : 이미 반영된 결제 -> SUCCESS로 확정 : requestId={}", requestId);
+                return response;
             }
-            return parseRedeemResponse(acquired.getResponseBody());
         }
 
         try {
-            // 실제 차감 로직
-            RedeemResponse response = doRedeem(userId, amount, memo);
-
-            // 성공 저장
-            String responseJson = serializeRedeemResponse(response);
-            idempotencyService.markSuccess(requestId, responseJson);
-
-            return response;
+            return transactionTemplate.execute(status -> {
+                CheckoutResponse response = doCheckout(userId, amount, userCouponId, memo, requestId);
+                idempotencyService.markSuccess(acquired, response);
+                return response;
+            });
         } catch (Exception e) {
-            // 실패 저장
-            idempotencyService.markFailed(requestId);
+            idempotencyService.markFailed(acquired);
             throw e;
         }
     }
@@ -157,18 +331,16 @@ public class PointServiceImpl implements PointService {
             throw new ApiException(ErrorCode.INVALID_AMOUNT);
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
-
         // 락 없이 조회
         PointWallet wallet = pointWalletRepository.findByUserId(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
 
         wallet.decrease(amount);
 
         pointWalletRepository.save(wallet);
+        balanceCache.evictAfterCommit(userId);
 
-        PointLedger ledger = PointLedger.redeem(user, amount, wallet.getBalance(), memo);
+        PointLedger ledger = PointLedger.redeem(userRepository.getReferenceById(userId), amount, wallet.getBalance(), memo);
         pointLedgerRepository.save(ledger);
 
         return RedeemResponse.builder()
@@ -179,58 +351,196 @@ public class PointServiceImpl implements PointService {
                 .build();
     }
 
+    // 실제 포인트 충전 (헬퍼 메서드)
+    private ChargeResponse doCharge(Long userId, Long amount, String memo, String requestId) {
+        // 지갑 조회 (비관적 락 적용, 지갑이 있으면 유저도 존재)
+        PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+
+        // 포인트 증가
+        long balanceAfter = applyLocked(wallet, userId, PointLedgerType.CHARGE, amount);
+
+        // 지갑 저장
+        pointWalletRepository.save(wallet);
+
+        // 원장 기록 (User는 프록시만 연결, SELECT 없음)
+        PointLedger ledger = PointLedger.charge(userRepository.getReferenceById(userId), amount, balanceAfter, memo, requestId);
+        pointLedgerRepository.save(ledger);
+
+        log.info("포인트 충전 성공 : userId={}, amount={}, balanceAfter={}", userId, amount, balanceAfter);
+
+        // DTO 변환해서 반환
+        return toChargeResponse(userId, amount, balanceAfter, memo);
+    }
+
     // 실제 포인트 차감 (헬퍼 메서드)
-    private RedeemResponse doRedeem(Long userId, Long amount, String memo) {
+    private RedeemResponse doRedeem(Long userId, Long amount, String memo, String requestId) {
         // amount 검증
         if(amount == null || amount <= 0) {
             throw new ApiException(ErrorCode.INVALID_AMOUNT);
         }
 
-        // 유저 존재 확인
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.USER_NOT_FOUND));
-
-        // 지갑 조회 (비관적 락 적용)
+        // 지갑 조회 (비관적 락 적용, 지갑이 있으면 유저도 존재)
         PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
-                .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
 
         // 포인트 차감 (잔액 부족 체크)
-        wallet.decrease(amount);
+        long balanceAfter = applyLocked(wallet, userId, PointLedgerType.REDEEM, amount);
 
         // 지갑 저장
         pointWalletRepository.save(wallet);
 
-        // 원장 기록 (redeem)
-        PointLedger ledger = PointLedger.redeem(user, amount, wallet.getBalance(), memo);
+        // 원장 기록 (redeem, User는 프록시만 연결)
+        PointLedger ledger = PointLedger.redeem(userRepository.getReferenceById(userId), amount, balanceAfter, memo, requestId);
         pointLedgerRepository.save(ledger);
 
-        log.info("포인트 차감 성공: userId={}, amount={}, balanceAfter={}", userId, amount, wallet.getBalance());
+        log.info("포인트 차감 성공: userId={}, amount={}, balanceAfter={}", userId, amount, balanceAfter);
 
-        return RedeemResponse.builder()
+        return toRedeemResponse(userId, amount, balanceAfter, memo);
+    }
+
+    // 실제 쿠폰 결제 (헬퍼 메서드)
+    private CheckoutResponse doCheckout(Long userId, Long amount, Long userCouponId, String memo, String requestId) {
+        if(amount == null || amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
+        }
+
+        // 1) 쿠폰 : 소유 확인 후 ISSUED -> USED 조건부 UPDATE (row lock)
+        long discount = (userCouponId == null) ? 0 : useCoupon(userId, userCouponId, amount, requestId);
+        long payable = amount - discount;
+
+        // 2) 지갑 (비관적 락)
+        PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+
+        long balanceAfter;
+        if (payable > 0) {
+            balanceAfter = applyLocked(wallet, userId, PointLedgerType.REDEEM, payable);
+            pointWalletRepository.save(wallet);
+        } else {
+            // 전액 할인 -> 차감 없음, 원장은 0원으로 남김 (인계받은 재시도가 request_id로 반영 여부 확인)
+            balanceAfter = wallet.isSharded() ? shardExecutor.balanceOf(userId) : wallet.getBalance();
+        }
+        pointLedgerRepository.save(PointLedger.redeem(userRepository.getReferenceById(userId), payable, balanceAfter, memo,
+                userCouponId == null ? null : REF_TYPE_USER_COUPON, userCouponId, requestId));
+
+        log.info("쿠폰 결제 성공 : userId={}, amount={}, discount={}, balanceAfter={}", userId, amount, discount, balanceAfter);
+
+        return CheckoutResponse.builder()
                 .userId(userId)
-                .redeemedAmount(amount)
-                .balanceAfter(wallet.getBalance())
+                .orderAmount(amount)
+                .discountAmount(discount)
+                .redeemedAmount(payable)
+                .balanceAfter(balanceAfter)
+                .userCouponId(userCouponId)
                 .memo(memo)
                 .build();
     }
 
-    // JSON 직렬화 (멱등성용)
-    private String serializeRedeemResponse(RedeemResponse response) {
-        try {
-            return objectMapper.writeValueAsString(response);
-        } catch (Exception e) {
-            log.error("RedeemResponse 직렬화 실패 : {}", response, e);
-            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+    // 쿠폰 사용 처리 후 할인 금액 반환 (결제 금액을 넘지 않음)
+    private long useCoupon(Long userId, Long userCouponId, long amount, String requestId) {
+        UserCoupon userCoupon = userCouponRepository.findByIdAndUserId(userCouponId, userId)
+                .orElseThrow(() -> userCouponRepository.existsById(userCouponId)
+                        ? new ApiException(ErrorCode.COUPON_NOT_OWNED)
+                        : new ApiException(ErrorCode.COUPON_NOT_FOUND));
+
+        if (userCoupon.getCouponStatus() == UserCouponStatus.USED) {
+            throw new ApiException(ErrorCode.COUPON_ALREADY_USED);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (userCoupon.getCouponStatus() == UserCouponStatus.EXPIRED || userCoupon.getCoupon().isExpired(now)) {
+            throw new ApiException(ErrorCode.COUPON_EXPIRED);
         }
+        long discountValue = userCoupon.getCoupon().getDiscountValue();
+
+        if (userCouponRepository.tryMarkUsed(userCouponId, now, requestId, UserCouponStatus.USED, UserCouponStatus.ISSUED) == 0) {
+            throw new ApiException(ErrorCode.COUPON_ALREADY_USED);
+        }
+        return Math.min(discountValue, amount);
     }
 
-    // JSON 역직렬화 (멱등성용)
-    private RedeemResponse parseRedeemResponse(String json) {
-        try {
-            return objectMapper.readValue(json, RedeemResponse.class);
-        } catch (Exception e) {
-            log.error("RedeemResponse 파싱 실패 : {}", json, e);
-            throw new ApiException(ErrorCode.INTERNAL_ERROR);
+    // 지갑 FOR UPDATE 상태에서 증감 적용 (샤딩 지갑이면 슬롯에 적용)
+    private long applyLocked(PointWallet wallet, Long userId, PointLedgerType type, long amount) {
+        long balanceAfter;
+        if (wallet.isSharded()) {
+            balanceAfter = shardExecutor.applyLocked(userId, type, amount);
+        } else {
+            if (type == PointLedgerType.CHARGE) {
+                wallet.increase(amount);
+            } else {
+                wallet.decrease(amount);
+            }
+            balanceAfter = wallet.getBalance();
+        }
+
+        // 지갑 배타 락 보유 중 -> 커밋 후 잔액 캐시 갱신
+        balanceCache.putAfterCommit(userId, balanceAfter);
+        return balanceAfter;
+    }
+
+    // 샤딩 지갑 차감 (헬퍼 메서드) : 샤딩 해제된 직후면 null -> 일반 경로로 처리
+    private RedeemResponse doRedeemSharded(Long userId, Long amount, String memo, IdempotencyRequest acquired) {
+        if(amount == null || amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
+        }
+
+        Long balanceAfter = shardExecutor.redeem(userId, amount, memo, acquired.getRequestId(),
+                applied -> idempotencyService.markSuccess(acquired, toRedeemResponse(userId, amount, applied, memo)));
+
+        return balanceAfter == null ? null : toRedeemResponse(userId, amount, balanceAfter, memo);
+    }
+
+    // 그룹 커밋 차감 (헬퍼 메서드) : SUCCESS 확정은 배치 트랜잭션 안에서 수행
+    private RedeemResponse doRedeemGroupCommit(Long userId, Long amount, String memo, IdempotencyRequest acquired) {
+        if(amount == null || amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
+        }
+
+        long balanceAfter = groupCommitExecutor.redeem(userId, amount, memo, acquired.getRequestId(),
+                applied -> idempotencyService.markSuccess(acquired, toRedeemResponse(userId, amount, applied, memo)));
+
+        return toRedeemResponse(userId, amount, balanceAfter, memo);
+    }
+
+    // 원자적 UPDATE 차감 (헬퍼 메서드) : 샤딩 지갑이면 null -> 비관적 락 경로로 처리
+    private RedeemResponse doRedeemAtomic(Long userId, Long amount, String memo, IdempotencyRequest acquired) {
+        if(amount == null || amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
         }
+
+        Long balanceAfter = atomicExecutor.apply(userId, PointLedgerType.REDEEM, amount, memo, acquired.getRequestId(),
+                applied -> idempotencyService.markSuccess(acquired, toRedeemResponse(userId, amount, applied, memo)));
+
+        return balanceAfter == null ? null : toRedeemResponse(userId, amount, balanceAfter, memo);
+    }
+
+    // 낙관적 락 차감 (헬퍼 메서드) : 재시도 소진 시 null -> 비관적 락 경로로 처리
+    private RedeemResponse doRedeemOptimistic(Long userId, Long amount, String memo, IdempotencyRequest acquired) {
+        if(amount == null || amount <= 0) {
+            throw new ApiException(ErrorCode.INVALID_AMOUNT);
+        }
+
+        Long balanceAfter = optimisticExecutor.apply(userId, PointLedgerType.REDEEM, amount, memo, acquired.getRequestId(),
+                applied -> idempotencyService.markSuccess(acquired, toRedeemResponse(userId, amount, applied, memo)));
+
+        return balanceAfter == null ? null : toRedeemResponse(userId, amount, balanceAfter, memo);
+    }
+
+    private ChargeResponse toChargeResponse(Long userId, Long amount, Long balanceAfter, String memo) {
+        return ChargeResponse.builder()
+                .userId(userId)
+                .chargedAmount(amount)
+                .balanceAfter(balanceAfter)
+                .memo(memo)
+                .build();
+    }
+
+    private RedeemResponse toRedeemResponse(Long userId, Long amount, Long balanceAfter, String memo) {
+        return RedeemResponse.builder()
+                .userId(userId)
+                .redeemedAmount(amount)
+                .balanceAfter(balanceAfter)
+                .memo(memo)
+                .build();
     }
 }
@@ -0,0 +1,261 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointLedgerType;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.domain.PointWalletSlot;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.point.repository.PointWalletSlotRepository;
+import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 샤딩 지갑 (핫 계정용)
+ * 지갑 잔액을 K개 슬롯으로 나눠서 row lock 경합을 분산한다.
+ *
+ * 락 규칙 (데드락 방지)
+ * - 슬롯 작업 : 지갑 row FOR SHARE -> 슬롯 1개 (또는 slot_no 오름차순으로 전체)
+ * - 샤딩 전환/해제 : 지갑 row FOR UPDATE -> 슬롯 전체 slot_no 오름차순
+ * - 단일 슬롯 차감이 경합으로 실패하면 트랜잭션을 롤백하고 통합 차감으로 재시도
+ *   (슬롯 1개를 쥔 채 나머지 슬롯을 잡으면 순서가 깨지므로)
+ *
+ * 샤딩 지갑의 원장 balanceAfter는 커밋 시점 기준 슬롯 합계 (동시 요청끼리는 순서 보장 X)
+ */
+@Slf4j
+@Component
+public class PointWalletShardExecutor {
+
+    private static final int MAX_SHARD_COUNT = 64;
+
+    private final PointWalletRepository pointWalletRepository;
+    private final PointWalletSlotRepository pointWalletSlotRepository;
+    private final PointLedgerRepository pointLedgerRepository;
+    private final UserRepository userRepository;
+    private final UserExistenceCache userExistenceCache;
+    private final BalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // true면 충전/차감 시 샤딩 여부를 먼저 조회해서 슬롯 경로(FOR SHARE)로 보냄
+    private final boolean enabled;
+
+    public PointWalletShardExecutor(
+            PointWalletRepository pointWalletRepository,
+            PointWalletSlotRepository pointWalletSlotRepository,
+            PointLedgerRepository pointLedgerRepository,
+            UserRepository userRepository,
+            UserExistenceCache userExistenceCache,
+            BalanceCache balanceCache,
+            TransactionTemplate transactionTemplate,
+            @Value("${points.sharding.enabled:false}") boolean enabled
+    ) {
+        this.pointWalletRepository = pointWalletRepository;
+        this.pointWalletSlotRepository = pointWalletSlotRepository;
+        this.pointLedgerRepository = pointLedgerRepository;
+        this.userRepository = userRepository;
+        this.userExistenceCache = userExistenceCache;
+        this.balanceCache = balanceCache;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 락 없이 샤딩 여부 조회 (전환 직후 값이 바뀌어도 각 경로에서 락을 잡고 다시 확인)
+    public boolean isSharded(Long userId) {
+        return pointWalletRepository.findShardCountByUserId(userId)
+                .map(count -> count > 1)
+                .orElse(false);
+    }
+
+    /**
+     * 샤딩 지갑 충전 (랜덤 슬롯 1개 UPDATE)
+     * @param requestId 원장에 남길 멱등키 (null 가능)
+     * @param onApplied 충전 성공 시 같은 트랜잭션 안에서 호출 (멱등성 확정용, null 가능)
+     * @return 충전 후 잔액, 지갑이 샤딩 상태가 아니면 null (호출부에서 일반 경로로 처리)
+     */
+    public Long charge(Long userId, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        return transactionTemplate.execute(status -> {
+            PointWallet wallet = pointWalletRepository.findByUserIdWithSharedLock(userId)
+                    .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+            if (!wallet.isSharded()) {
+                return null;
+            }
+
+            int slotNo = ThreadLocalRandom.current().nextInt(wallet.getShardCount());
+            pointWalletSlotRepository.increase(userId, slotNo, amount);
+            long balanceAfter = pointWalletSlotRepository.sumBalanceByUserId(userId);
+
+            pointLedgerRepository.save(PointLedger.charge(userRepository.getReferenceById(userId), amount, balanceAfter, memo, requestId));
+            // 슬롯 합계는 동시 슬롯 작업끼리 순서가 없으므로 갱신 대신 제거
+            balanceCache.evictAfterCommit(userId);
+            if (onApplied != null) {
+                onApplied.accept(balanceAfter);
+            }
+            return balanceAfter;
+        });
+    }
+
+    /**
+     * 샤딩 지갑 차감
+     * 1) 잔액이 충분한 슬롯 중 하나를 골라 조건부 UPDATE
+     * 2) 후보가 없거나 경합으로 실패하면 전체 슬롯을 잠그고 통합 차감
+     * @param requestId 원장에 남길 멱등키
+     * @param onApplied 차감 성공 시 같은 트랜잭션 안에서 호출 (멱등성 확정용)
+     * @return 차감 후 잔액, 지갑이 샤딩 상태가 아니면 null (호출부에서 일반 경로로 처리)
+     */
+    public Long redeem(Long userId, Long amount, String memo, String requestId, Consumer<Long> onApplied) {
+        try {
+            return transactionTemplate.execute(status -> redeemOnce(userId, amount, memo, requestId, onApplied, false));
+        } catch (SlotContentionException e) {
+            log.debug("슬롯 차감 경합 -> 통합 차감 재시도 : userId={}, amount={}", userId, amount);
+            return transactionTemplate.execute(status -> redeemOnce(userId, amount, memo, requestId, onApplied, true));
+        }
+    }
+
+    /**
+     * 지갑 FOR UPDATE를 이미 잡은 트랜잭션에서 샤딩 지갑 적용 (일반/그룹 커밋 경로)
+     * 지갑 배타 락 아래라 다른 슬롯 작업이 없으므로 통합 차감으로 처리
+     * @return 적용 후 잔액
+     */
+    public long applyLocked(Long userId, PointLedgerType type, long amount) {
+        if (type == PointLedgerType.CHARGE) {
+            // 같은 트랜잭션에서 슬롯 엔티티를 다시 쓸 수 있으므로 벌크 UPDATE 대신 엔티티로 변경
+            List<PointWalletSlot> slots = pointWalletSlotRepository.findAllByUserIdWithLock(userId);
+            slots.get(0).increase(amount);
+            return slots.stream().mapToLong(PointWalletSlot::getBalance).sum();
+        }
+        return debitConsolidated(userId, amount);
+    }
+
+    // 샤딩 지갑 잔액 (슬롯 합계)
+    public long balanceOf(Long userId) {
+        return pointWalletSlotRepository.sumBalanceByUserId(userId);
+    }
+
+    /**
+     * 샤딩 전환 : 현재 잔액을 K개 슬롯에 나눠 담음
+     */
+    public void enable(Long userId, int shardCount) {
+        if (shardCount < 2 || shardCount > MAX_SHARD_COUNT) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "shardCount는 2 이상 " + MAX_SHARD_COUNT + " 이하여야 합니다.");
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
+                    .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+            if (wallet.isSharded()) {
+                throw new ApiException(ErrorCode.BAD_REQUEST, "이미 샤딩된 지갑입니다.");
+            }
+
+            long balance = wallet.getBalance();
+            long share = balance / shardCount;
+            List<PointWalletSlot> slots = new ArrayList<>(shardCount);
+            for (int slotNo = 0; slotNo < shardCount; slotNo++) {
+                // 나머지는 0번 슬롯에
+                long slotBalance = (slotNo == 0) ? share + balance % shardCount : share;
+                slots.add(PointWalletSlot.of(userId, slotNo, slotBalance));
+            }
+            pointWalletSlotRepository.saveAll(slots);
+            wallet.enableSharding(shardCount);
+
+            log.info("지갑 샤딩 전환 : userId={}, shardCount={}, balance={}", userId, shardCount, balance);
+        });
+    }
+
+    /**
+     * 샤딩 해제 : 슬롯 합계를 지갑 잔액으로 되돌리고 슬롯 삭제
+     */
+    public void disable(Long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            PointWallet wallet = pointWalletRepository.findByUserIdWithLock(userId)
+                    .orElseThrow(() -> new ApiException(ErrorCode.WALLET_NOT_FOUND));
+            if (!wallet.isSharded()) {
+                throw new ApiException(ErrorCode.BAD_REQUEST, "샤딩된 지갑이 아닙니다.");
+            }
+
+            List<PointWalletSlot> slots = pointWalletSlotRepository.findAllByUserIdWithLock(userId);
+            long total = slots.stream().mapToLong(PointWalletSlot::getBalance).sum();
+            pointWalletSlotRepository.deleteAllInBatch(slots);
+            wallet.disableSharding(total);
+
+            log.info("지갑 샤딩 해제 : userId={}, balance={}", userId, total);
+        });
+    }
+
+    private Long redeemOnce(Long userId, Long amount, String memo, String requestId, Consumer<Long> onApplied, boolean consolidate) {
+        PointWallet wallet = pointWalletRepository.findByUserIdWithSharedLock(userId)
+                .orElseThrow(() -> userExistenceCache.missingWalletError(userId));
+        if (!wallet.isSharded()) {
+            return null;
+        }
+
+        long balanceAfter = consolidate
+                ? debitConsolidated(userId, amount)
+                : debitSingleSlot(userId, amount);
+
+        pointLedgerRepository.save(PointLedger.redeem(userRepository.getReferenceById(userId), amount, balanceAfter, memo, requestId));
+        balanceCache.evictAfterCommit(userId);
+        if (onApplied != null) {
+            onApplied.accept(balanceAfter);
+        }
+
+        log.info("샤딩 지갑 차감 성공 : userId={}, amount={}, balanceAfter={}", userId, amount, balanceAfter);
+        return balanceAfter;
+    }
+
+    private long debitSingleSlot(Long userId, long amount) {
+        List<Integer> candidates = pointWalletSlotRepository.findSlotNosWithBalance(userId, amount);
+        if (candidates.isEmpty()) {
+            // 아직 슬롯 락을 하나도 잡지 않았으므로 바로 통합 차감 가능
+            return debitConsolidated(userId, amount);
+        }
+
+        int slotNo = candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+        if (pointWalletSlotRepository.tryDecrease(userId, slotNo, amount) == 0) {
+            throw new SlotContentionException();
+        }
+        return pointWalletSlotRepository.sumBalanceByUserId(userId);
+    }
+
+    // 전체 슬롯을 slot_no 오름차순으로 잠그고 앞 슬롯부터 차감
+    private long debitConsolidated(Long userId, long amount) {
+        List<PointWalletSlot> slots = pointWalletSlotRepository.findAllByUserIdWithLock(userId);
+        long total = slots.stream().mapToLong(PointWalletSlot::getBalance).sum();
+        if (total < amount) {
+            throw new ApiException(ErrorCode.INSUFFICIENT_BALANCE);
+        }
+
+        long remaining = amount;
+        for (PointWalletSlot slot : slots) {
+            if (remaining == 0) {
+                break;
+            }
+            long take = Math.min(slot.getBalance(), remaining);
+            slot.decrease(take);
+            remaining -= take;
+        }
+        return total - amount;
+    }
+
+    // 단일 슬롯 차감 경합 (롤백 후 통합 차감으로 재시도하기 위한 신호)
+    private static class SlotContentionException extends RuntimeException {
+        private SlotContentionException() {
+            super(null, null, false, false);
+        }
+    }
+}
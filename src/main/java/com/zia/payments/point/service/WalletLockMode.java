@@ -0,0 +1,10 @@
+package com.zia.payments.point.service;
+
+/**
+ * 지갑 충전/차감 동시성 제어 방식 (points.lock-mode)
+ */
+public enum WalletLockMode {
+    PESSIMISTIC, // SELECT FOR UPDATE (기본값)
+    ADAPTIVE,    // @Version 기반 + 제한된 재시도, 지갑별 충돌률이 높으면 비관적 락으로 전환
+    ATOMIC       // 조건부 UPDATE 1문장 (지갑 엔티티 로드 없음)
+}
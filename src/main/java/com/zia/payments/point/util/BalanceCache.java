@@ -0,0 +1,209 @@
+package com.zia.payments.point.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 유저별 잔액 인메모리 캐시 (getBalance 전용)
+ * - 조회 미스 시 잔액 컬럼만 읽는 projection 결과로 채움 (이미 있으면 덮어쓰지 않음)
+ * - 충전/차감은 커밋 후(TransactionSynchronization.afterCommit) 새 잔액으로 갱신 (write-through)
+ *   순서 번호는 지갑 row lock을 쥔 상태에서 발급 -> 같은 유저의 늦게 도착한 이전 커밋이 최신 값을 덮지 않음
+ * - 샤딩 지갑처럼 커밋 시점 잔액을 확정할 수 없는 경로는 커밋 후 제거만
+ * - 최대 크기 초과 시 CLOCK(second-chance) 제거 : 맵을 한 방향으로 돌면서 그 사이 조회된 항목은 한 바퀴 유예
+ * - ttl = 최대 staleness (다른 노드의 변경, 캐시를 거치지 않는 직접 UPDATE 대비)
+ */
+@Component
+public class BalanceCache {
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong writeSeq = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // CLOCK 바늘 (evictionLock 보유 중에만 사용)
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<Long, Entry>> hand;
+
+    public BalanceCache(
+            @Value("${points.balance-cache.max-size:100000}") int maxSize,
+            @Value("${points.balance-cache.ttl-ms:2000}") long ttlMillis
+    ) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    // 캐시 조회 (없거나 만료면 null)
+    public Long get(Long userId) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            if (entry != null && entries.remove(userId, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        entry.referenced = true;
+        hits.increment();
+        return entry.balance;
+    }
+
+    // 조회 미스 후 DB 값으로 채움 (그 사이 커밋된 쓰기 결과가 있으면 유지)
+    public void load(Long userId, long balance) {
+        if (!isEnabled()) {
+            return;
+        }
+        Entry entry = new Entry(balance, 0, System.nanoTime() + ttlNanos);
+        if (entries.putIfAbsent(userId, entry) == null) {
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * 충전/차감 트랜잭션 안(지갑 row lock 보유 중)에서 호출
+     * 커밋되면 새 잔액으로 갱신, 롤백되면 아무것도 하지 않음
+     */
+    public void putAfterCommit(Long userId, long balanceAfter) {
+        if (!isEnabled()) {
+            return;
+        }
+        long seq = writeSeq.incrementAndGet();
+        afterCommit(() -> put(userId, balanceAfter, seq));
+    }
+
+    // 커밋 후 제거 (잔액을 확정할 수 없는 경로)
+    public void evictAfterCommit(Long userId) {
+        if (!isEnabled()) {
+            return;
+        }
+        afterCommit(() -> entries.remove(userId));
+    }
+
+    // 즉시 제거 (대량 변경 후 등)
+    public void evict(Collection<Long> userIds) {
+        if (!isEnabled() || entries.isEmpty()) {
+            return;
+        }
+        userIds.forEach(entries::remove);
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(Long userId, long balance, long seq) {
+        Entry entry = new Entry(balance, seq, System.nanoTime() + ttlNanos);
+        Entry previous = entries.get(userId);
+        while (true) {
+            if (previous == null) {
+                if ((previous = entries.putIfAbsent(userId, entry)) == null) {
+                    evictIfNeeded();
+                    return;
+                }
+            } else if (previous.seq > seq) {
+                return; // 더 최신 커밋이 이미 반영됨
+            } else if (entries.replace(userId, previous, entry)) {
+                return;
+            } else {
+                previous = entries.get(userId);
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // 크기 초과분 제거 : 바늘이 가리키는 항목부터 조회 표시가 있으면 지우고 넘어가고, 없으면 제거 (최대 두 바퀴)
+    private void evictIfNeeded() {
+        // 다른 스레드가 정리 중이면 기다리지 않음
+        if (entries.size() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            int budget = 2 * (entries.size() + 1);
+            while (entries.size() > maxSize && budget-- > 0) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = entries.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<Long, Entry> next = hand.next();
+                Entry entry = next.getValue();
+                if (entry.referenced && !entry.isExpired(now)) {
+                    entry.referenced = false;
+                    continue;
+                }
+                if (entries.remove(next.getKey(), entry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static class Entry {
+        private final long balance;
+        private final long seq; // 0이면 조회로 채운 항목
+        private final long expiresAtNanos;
+        private volatile boolean referenced;
+
+        private Entry(long balance, long seq, long expiresAtNanos) {
+            this.balance = balance;
+            this.seq = seq;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.zia.payments.point.util;
+
+import com.zia.payments.point.dto.response.ChargeResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * ChargeResponse 고정 레이아웃 (tag 17, amount = chargedAmount)
+ * 배치는 PointAmountResponseCodec 참고
+ */
+@Component
+public class ChargeResponseCodec extends PointAmountResponseCodec<ChargeResponse> {
+
+    private static final byte TAG = 17;
+
+    @Override
+    public byte tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<ChargeResponse> type() {
+        return ChargeResponse.class;
+    }
+
+    @Override
+    protected Long userId(ChargeResponse response) {
+        return response.getUserId();
+    }
+
+    @Override
+    protected Long amount(ChargeResponse response) {
+        return response.getChargedAmount();
+    }
+
+    @Override
+    protected Long balanceAfter(ChargeResponse response) {
+        return response.getBalanceAfter();
+    }
+
+    @Override
+    protected String memo(ChargeResponse response) {
+        return response.getMemo();
+    }
+
+    @Override
+    protected ChargeResponse create(Long userId, Long amount, Long balanceAfter, String memo) {
+        return ChargeResponse.builder()
+                .userId(userId)
+                .chargedAmount(amount)
+                .balanceAfter(balanceAfter)
+                .memo(memo)
+                .build();
+    }
+}
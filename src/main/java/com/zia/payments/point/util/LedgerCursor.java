@@ -0,0 +1,44 @@
+package com.zia.payments.point.util;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.dto.response.LedgerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 원장 키셋 커서 (created_at, ledger_id)
+ * 클라이언트에는 불투명 문자열(base64url)로만 노출
+ */
+public record LedgerCursor(LocalDateTime createdAt, Long ledgerId) {
+
+    private static final String SEPARATOR = "|";
+
+    public static LedgerCursor of(LedgerResponse last) {
+        return new LedgerCursor(last.getCreatedAt(), last.getLedgerId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + ledgerId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // null/빈 문자열이면 null (첫 페이지)
+    public static LedgerCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            return new LedgerCursor(
+                    LocalDateTime.parse(raw.substring(0, idx)),
+                    Long.parseLong(raw.substring(idx + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new ApiException(ErrorCode.BAD_REQUEST, "잘못된 cursor 입니다.");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.zia.payments.point.util;
+
+import com.zia.payments.idempotency.util.BinaryFields;
+import com.zia.payments.idempotency.util.IdempotencyResponseCodec;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 충전/차감 응답 공통 고정 레이아웃 (멱등성 응답 저장용)
+ * [null 비트맵 1 | userId 8 | amount 8 | balanceAfter 8 | memo 2+n] (null인 필드는 생략)
+ * JSON 대비 필드명/숫자 문자열이 없어 메모 제외 최대 26바이트
+ * 하위 코덱은 tag, 응답 타입, 필드 꺼내기/생성만 정의 (배치를 바꾸려면 새 tag로)
+ */
+abstract class PointAmountResponseCodec<T> implements IdempotencyResponseCodec<T> {
+
+    private static final int USER_ID = 1;
+    private static final int AMOUNT = 1 << 1;
+    private static final int BALANCE_AFTER = 1 << 2;
+    private static final int MEMO = 1 << 3;
+
+    protected abstract Long userId(T response);
+
+    protected abstract Long amount(T response);
+
+    protected abstract Long balanceAfter(T response);
+
+    protected abstract String memo(T response);
+
+    protected abstract T create(Long userId, Long amount, Long balanceAfter, String memo);
+
+    @Override
+    public int encodedSize(T response) {
+        String memo = memo(response);
+        int size = 1;
+        size += (userId(response) != null) ? 8 : 0;
+        size += (amount(response) != null) ? 8 : 0;
+        size += (balanceAfter(response) != null) ? 8 : 0;
+        size += (memo != null) ? BinaryFields.stringSize(memo) : 0;
+        return size;
+    }
+
+    @Override
+    public void encode(T response, ByteBuffer out) {
+        Long userId = userId(response);
+        Long amount = amount(response);
+        Long balanceAfter = balanceAfter(response);
+        String memo = memo(response);
+
+        int present = 0;
+        present |= (userId != null) ? USER_ID : 0;
+        present |= (amount != null) ? AMOUNT : 0;
+        present |= (balanceAfter != null) ? BALANCE_AFTER : 0;
+        present |= (memo != null) ? MEMO : 0;
+
+        out.put((byte) present);
+        if (userId != null) {
+            out.putLong(userId);
+        }
+        if (amount != null) {
+            out.putLong(amount);
+        }
+        if (balanceAfter != null) {
+            out.putLong(balanceAfter);
+        }
+        if (memo != null) {
+            BinaryFields.putString(out, memo);
+        }
+    }
+
+    @Override
+    public T decode(ByteBuffer in) {
+        int present = in.get();
+        Long userId = (present & USER_ID) != 0 ? in.getLong() : null;
+        Long amount = (present & AMOUNT) != 0 ? in.getLong() : null;
+        Long balanceAfter = (present & BALANCE_AFTER) != 0 ? in.getLong() : null;
+        String memo = (present & MEMO) != 0 ? BinaryFields.getString(in) : null;
+        return create(userId, amount, balanceAfter, memo);
+    }
+}
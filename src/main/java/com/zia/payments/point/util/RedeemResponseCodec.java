@@ -0,0 +1,54 @@
+package com.zia.payments.point.util;
+
+import com.zia.payments.point.dto.response.RedeemResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * RedeemResponse 고정 레이아웃 (tag 16, amount = redeemedAmount)
+ * 배치는 PointAmountResponseCodec 참고
+ */
+@Component
+public class RedeemResponseCodec extends PointAmountResponseCodec<RedeemResponse> {
+
+    private static final byte TAG = 16;
+
+    @Override
+    public byte tag() {
+        return TAG;
+    }
+
+    @Override
+    public Class<RedeemResponse> type() {
+        return RedeemResponse.class;
+    }
+
+    @Override
+    protected Long userId(RedeemResponse response) {
+        return response.getUserId();
+    }
+
+    @Override
+    protected Long amount(RedeemResponse response) {
+        return response.getRedeemedAmount();
+    }
+
+    @Override
+    protected Long balanceAfter(RedeemResponse response) {
+        return response.getBalanceAfter();
+    }
+
+    @Override
+    protected String memo(RedeemResponse response) {
+        return response.getMemo();
+    }
+
+    @Override
+    protected RedeemResponse create(Long userId, Long amount, Long balanceAfter, String memo) {
+        return RedeemResponse.builder()
+                .userId(userId)
+                .redeemedAmount(amount)
+                .balanceAfter(balanceAfter)
+                .memo(memo)
+                .build();
+    }
+}
@@ -4,8 +4,15 @@ import com.zia.payments.global.response.ApiResponse;
 import com.zia.payments.user.domain.User;
 import com.zia.payments.user.dto.request.UserCreateRequest;
 import com.zia.payments.user.service.UserService;
+import com.zia.payments.user.service.UserBulkImporter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/users")
@@ -13,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final UserBulkImporter userBulkImporter;
 
     // 사용자 생성 : POST /api/users
     @PostMapping
@@ -20,4 +28,15 @@ public class UserController {
         User user = userService.createUser(request.getName());
         return ApiResponse.success(user);
     }
+
+    // 사용자 대량 등록 (마이그레이션) : POST /api/users/bulk
+    // Body : 한 줄에 이름 1개, 응답 : chunk 커밋마다 "row_no,user_id,error" CSV 스트리밍
+    @PostMapping(value = "/bulk", consumes = {MediaType.TEXT_PLAIN_VALUE, "text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> importUsers(InputStream body) {
+        StreamingResponseBody response = out -> userBulkImporter.importUsers(body, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("text/csv; charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.csv\"")
+                .body(response);
+    }
 }
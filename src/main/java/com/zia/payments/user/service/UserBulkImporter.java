@@ -0,0 +1,164 @@
+package com.zia.payments.user.service;
+
+import com.zia.payments.user.util.UserExistenceCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 유저 대량 등록 (마이그레이션용)
+ * 입력 스트림(한 줄에 이름 1개)을 chunk-size 행씩 읽어서 트랜잭션 1개로
+ * users INSERT 일괄 -> 생성된 user_id로 point_wallets(잔액 0) INSERT 일괄 처리한다.
+ * - user_id는 IDENTITY라 JPA 배치가 안 되므로 JDBC batch + getGeneratedKeys로 받음
+ * - 커밋된 chunk마다 "row_no,user_id,error"를 바로 출력 -> 입력/출력 모두 스트리밍
+ * - 잘못된 행(빈 이름, 50자 초과)은 user_id 없이 error만 출력하고 계속 진행
+ */
+@Slf4j
+@Component
+public class UserBulkImporter {
+
+    private static final int MAX_NAME_LENGTH = 50;
+    private static final byte[] CSV_HEADER = "row_no,user_id,error\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final String INSERT_USER_SQL = "insert into users (name, created_at, updated_at) values (?, ?, ?)";
+    private static final String INSERT_WALLET_SQL =
+            "insert into point_wallets (user_id, balance, version, created_at, updated_at) values (?, 0, 0, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserExistenceCache userExistenceCache;
+    private final int chunkSize;
+
+    public UserBulkImporter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            UserExistenceCache userExistenceCache,
+            @Value("${users.bulk-import.chunk-size:1000}") int chunkSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.userExistenceCache = userExistenceCache;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @param in 한 줄에 이름 1개 (UTF-8)
+     * @param out 입력 행 순서대로 "row_no,user_id,error"
+     * @return 생성된 유저 수
+     */
+    public long importUsers(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        buffered.write(CSV_HEADER);
+
+        List<String> names = new ArrayList<>(chunkSize);
+        long rowNo = 0;
+        long firstRowNo = 1;
+        long created = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNo++;
+            names.add(line.strip());
+            if (names.size() == chunkSize) {
+                created += importChunk(firstRowNo, names, buffered);
+                names.clear();
+                firstRowNo = rowNo + 1;
+            }
+        }
+        if (!names.isEmpty()) {
+            created += importChunk(firstRowNo, names, buffered);
+        }
+        buffered.flush();
+
+        log.info("유저 대량 등록 완료 : rows={}, created={}", rowNo, created);
+        return created;
+    }
+
+    // chunk 1개 = 트랜잭션 1개, 커밋 후에 결과 출력
+    private int importChunk(long firstRowNo, List<String> names, OutputStream out) throws IOException {
+        List<String> valid = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (isValid(name)) {
+                valid.add(name);
+            }
+        }
+
+        List<Long> userIds = valid.isEmpty() ? List.of() : transactionTemplate.execute(status -> insert(valid));
+        // 음수 캐시에 남아 있을 수 있는 ID만 제거 (대량 등록으로 캐시를 채우지 않음)
+        userExistenceCache.evict(userIds);
+
+        StringBuilder sb = new StringBuilder(names.size() * 16);
+        int next = 0;
+        for (int i = 0; i < names.size(); i++) {
+            sb.append(firstRowNo + i).append(',');
+            if (isValid(names.get(i))) {
+                sb.append(userIds.get(next++)).append(",\n");
+            } else {
+                sb.append(",BAD_REQUEST\n");
+            }
+        }
+        out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        return userIds.size();
+    }
+
+    private List<Long> insert(List<String> names) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Long> userIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(INSERT_USER_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (String name : names) {
+                    ps.setString(1, name);
+                    ps.setTimestamp(2, now);
+                    ps.setTimestamp(3, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                List<Long> ids = new ArrayList<>(names.size());
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.add(keys.getLong(1));
+                    }
+                }
+                return ids;
+            }
+        });
+        if (userIds == null || userIds.size() != names.size()) {
+            // 드라이버가 배치 생성 키를 돌려주지 않음 -> 롤백
+            throw new IllegalStateException("생성된 user_id 수가 입력 행 수와 다릅니다.");
+        }
+
+        List<Object[]> walletArgs = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            walletArgs.add(new Object[]{userId, now, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_WALLET_SQL, walletArgs);
+        return userIds;
+    }
+
+    private static boolean isValid(String name) {
+        return !name.isEmpty() && name.length() <= MAX_NAME_LENGTH;
+    }
+}
@@ -4,9 +4,11 @@ import com.zia.payments.point.domain.PointWallet;
 import com.zia.payments.point.repository.PointWalletRepository;
 import com.zia.payments.user.domain.User;
 import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -14,13 +16,15 @@ import org.springframework.stereotype.Service;
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PointWalletRepository pointWalletRepository;
+    private final UserExistenceCache userExistenceCache;
 
     /**
-     * 유저 생성 (PointWallet 함께 생성)
+     * 유저 생성 (PointWallet 함께 생성, 한 트랜잭션)
      * @param name
      * @return 생성된 유저
      */
     @Override
+    @Transactional
     public User createUser(String name) {
 
         // 유저 생성
@@ -35,6 +39,7 @@ public class UserServiceImpl implements UserService {
                 .balance(0L)
                 .build();
         pointWalletRepository.save(wallet);
+        userExistenceCache.markExistsAfterCommit(user.getId());
 
         log.info("사용자 생성 + 지갑 초기화 : userId={}, name={}", user.getId(), name);
 
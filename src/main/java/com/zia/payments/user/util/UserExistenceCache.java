@@ -0,0 +1,91 @@
+package com.zia.payments.user.util;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.user.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 존재 여부 캐시 (에러 경로 전용)
+ * 결제 경로는 지갑 조회로 존재를 확인하고 원장에는 User 프록시만 붙인다.
+ * 지갑이 없을 때만 USER_NOT_FOUND / WALLET_NOT_FOUND 를 구분하기 위해 users를 조회하는데,
+ * 없는 userId로 반복 호출되는 경우를 위해 결과를 짧게 캐시한다.
+ */
+@Component
+public class UserExistenceCache {
+
+    private final UserRepository userRepository;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    // userId -> (존재 여부, 만료 시각)
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserExistenceCache(
+            UserRepository userRepository,
+            @Value("${users.existence-cache.max-size:100000}") int maxSize,
+            @Value("${users.existence-cache.ttl-seconds:30}") long ttlSeconds
+    ) {
+        this.userRepository = userRepository;
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public boolean exists(Long userId) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(userId);
+        if (entry != null && now - entry.expiresAtNanos < 0) {
+            return entry.exists;
+        }
+
+        boolean exists = userRepository.existsById(userId);
+        put(userId, exists, now);
+        return exists;
+    }
+
+    // 유저 생성 시 음수 캐시 무효화 (커밋 후에만 : 롤백된 유저를 존재로 기록하지 않도록)
+    public void markExistsAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(userId, true, System.nanoTime());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(userId, true, System.nanoTime());
+            }
+        });
+    }
+
+    // 대량 생성 시 : 캐시를 채우지 않고 기존 항목(음수 포함)만 제거
+    public void evict(Collection<Long> userIds) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        userIds.forEach(entries::remove);
+    }
+
+    // 지갑이 없을 때의 에러 (유저도 없으면 USER_NOT_FOUND)
+    public ApiException missingWalletError(Long userId) {
+        return exists(userId)
+                ? new ApiException(ErrorCode.WALLET_NOT_FOUND)
+                : new ApiException(ErrorCode.USER_NOT_FOUND);
+    }
+
+    private void put(Long userId, boolean exists, long now) {
+        if (entries.size() >= maxSize) {
+            entries.clear();
+        }
+        entries.put(userId, new Entry(exists, now + ttlNanos));
+    }
+
+    private record Entry(boolean exists, long expiresAtNanos) {
+    }
+}
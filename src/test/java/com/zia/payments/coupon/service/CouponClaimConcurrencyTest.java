@@ -0,0 +1,168 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.dto.request.ClaimCouponRequest;
+import com.zia.payments.coupon.dto.response.ClaimCouponResponse;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+public class CouponClaimConcurrencyTest {
+
+    @Autowired private CouponService couponService;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private UserCouponRepository userCouponRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    private String createCoupon(Integer totalQuantity) {
+        String code = "FCFS-" + UUID.randomUUID().toString().substring(0, 8);
+        couponRepository.save(Coupon.builder()
+                .code(code)
+                .title("선착순 쿠폰")
+                .discountValue(1_000L)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .totalQuantity(totalQuantity)
+                .build());
+        return code;
+    }
+
+    private ClaimCouponRequest claimRequest(String code) {
+        ClaimCouponRequest request = new ClaimCouponRequest();
+        ReflectionTestUtils.setField(request, "couponCode", code);
+        return request;
+    }
+
+    @Test
+    @DisplayName("[FCFS] 1만 명이 재고 100개 쿠폰 동시 발급 -> 정확히 100건 발급, 품절 요청은 DB 미접근")
+    void testConcurrentClaim_exactly100() throws Exception {
+        String code = createCoupon(100);
+        ClaimCouponRequest request = claimRequest(code);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        int claimers = 10_000;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger soldOutCount = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= claimers; userId++) {
+            long claimer = userId;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    couponService.claim(claimer, request, UUID.randomUUID().toString());
+                    successCount.incrementAndGet();
+                } catch (ApiException e) {
+                    if (e.getErrorCode() == ErrorCode.COUPON_SOLD_OUT) {
+                        soldOutCount.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+
+        long statements = statistics.getPrepareStatementCount();
+        log.info("[FCFS] success={}, soldOut={}, statements={}", successCount.get(), soldOutCount.get(), statements);
+
+        assertEquals(100, successCount.get());
+        assertEquals(claimers - 100, soldOutCount.get());
+        assertEquals(100, userCouponRepository.count());
+        assertEquals(100, couponRepository.findByCode(code).orElseThrow().getIssuedCount());
+        // 당첨자만 DB 접근 (재고 로딩 1 + 보유자 목록 로딩 1 + 당첨자당 중복 확인/UPDATE/INSERT 3) -> 1만 건보다 훨씬 적음
+        assertTrue(statements <= 2 + 100 * 3, "statements=" + statements);
+    }
+
+    @Test
+    @DisplayName("[FCFS] 같은 Idempotency-Key 재요청 -> 같은 발급 결과, 재고는 1개만 소모")
+    void testClaim_replaySameRequestId() {
+        String code = createCoupon(10);
+        ClaimCouponRequest request = claimRequest(code);
+        String requestId = UUID.randomUUID().toString();
+
+        ClaimCouponResponse first = couponService.claim(1L, request, requestId);
+        ClaimCouponResponse replay = couponService.claim(1L, request, requestId);
+
+        assertEquals(first.getUserCouponId(), replay.getUserCouponId());
+        assertEquals(1, couponRepository.findByCode(code).orElseThrow().getIssuedCount());
+
+        ApiException e = assertThrows(ApiException.class,
+                () -> couponService.claim(1L, request, UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_ALREADY_ISSUED, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("[FCFS] 품절 후 당첨자의 같은 Idempotency-Key 재요청 -> COUPON_SOLD_OUT 대신 같은 발급 결과")
+    void testClaim_replayAfterSoldOut() {
+        String code = createCoupon(1);
+        ClaimCouponRequest request = claimRequest(code);
+        String requestId = UUID.randomUUID().toString();
+
+        ClaimCouponResponse first = couponService.claim(1L, request, requestId);
+        ApiException soldOut = assertThrows(ApiException.class,
+                () -> couponService.claim(2L, request, UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_SOLD_OUT, soldOut.getErrorCode());
+
+        ClaimCouponResponse replay = couponService.claim(1L, request, requestId);
+        assertEquals(first.getUserCouponId(), replay.getUserCouponId());
+        assertEquals(first.getCouponId(), replay.getCouponId());
+
+        // 당첨자라도 다른 키면 품절로 거절
+        ApiException otherKey = assertThrows(ApiException.class,
+                () -> couponService.claim(1L, request, UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_SOLD_OUT, otherKey.getErrorCode());
+        assertEquals(1, couponRepository.findByCode(code).orElseThrow().getIssuedCount());
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 -> USED, 재사용 시 COUPON_ALREADY_USED")
+    void testUse() {
+        String code = createCoupon(null);
+        ClaimCouponResponse claimed = couponService.claim(1L, claimRequest(code), UUID.randomUUID().toString());
+
+        assertEquals("USED", couponService.use(1L, claimed.getUserCouponId()).getStatus());
+
+        ApiException used = assertThrows(ApiException.class, () -> couponService.use(1L, claimed.getUserCouponId()));
+        assertEquals(ErrorCode.COUPON_ALREADY_USED, used.getErrorCode());
+
+        ApiException notOwned = assertThrows(ApiException.class, () -> couponService.use(2L, claimed.getUserCouponId()));
+        assertEquals(ErrorCode.COUPON_NOT_OWNED, notOwned.getErrorCode());
+    }
+}
@@ -0,0 +1,114 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.dto.request.ClaimCouponRequest;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class CouponNegativeCacheTest {
+
+    @Autowired private CouponService couponService;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private UserCouponRepository userCouponRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    private String createCoupon(Integer totalQuantity, LocalDateTime expiresAt) {
+        String code = "NEG-" + UUID.randomUUID().toString().substring(0, 8);
+        couponRepository.save(Coupon.builder()
+                .code(code)
+                .title("음수 캐시 쿠폰")
+                .discountValue(1_000L)
+                .expiresAt(expiresAt)
+                .totalQuantity(totalQuantity)
+                .build());
+        return code;
+    }
+
+    private ErrorCode claimError(long userId, String code) {
+        ClaimCouponRequest request = new ClaimCouponRequest();
+        ReflectionTestUtils.setField(request, "couponCode", code);
+        return assertThrows(ApiException.class,
+                () -> couponService.claim(userId, request, UUID.randomUUID().toString())).getErrorCode();
+    }
+
+    @Test
+    @DisplayName("품절 쿠폰 -> 첫 로딩 이후 반복 요청은 DB 접근 없이 COUPON_SOLD_OUT")
+    void soldOut_answeredFromMemory() {
+        String code = createCoupon(0, LocalDateTime.now().plusDays(1));
+        assertEquals(ErrorCode.COUPON_SOLD_OUT, claimError(1L, code));
+
+        statistics.clear();
+        for (long userId = 2; userId <= 100; userId++) {
+            assertEquals(ErrorCode.COUPON_SOLD_OUT, claimError(userId, code));
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("만료 쿠폰 / 없는 코드 -> 반복 요청은 DB 접근 없이 거절")
+    void expiredAndUnknown_answeredFromMemory() {
+        String expired = createCoupon(10, LocalDateTime.now().minusMinutes(1));
+        assertEquals(ErrorCode.COUPON_EXPIRED, claimError(1L, expired));
+        assertEquals(ErrorCode.COUPON_NOT_FOUND, claimError(1L, "NO-SUCH-CODE"));
+
+        statistics.clear();
+        for (long userId = 2; userId <= 50; userId++) {
+            assertEquals(ErrorCode.COUPON_EXPIRED, claimError(userId, expired));
+            assertEquals(ErrorCode.COUPON_NOT_FOUND, claimError(userId, "NO-SUCH-CODE"));
+        }
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("캐시된 쿠폰이 expiresAt에 도달하면 스스로 무효화 -> COUPON_EXPIRED, 기존 발급자의 같은 키 재요청은 재전송")
+    void cachedCoupon_selfInvalidatesAtExpiry() throws Exception {
+        String code = createCoupon(null, LocalDateTime.now().plusSeconds(1));
+        ClaimCouponRequest request = new ClaimCouponRequest();
+        ReflectionTestUtils.setField(request, "couponCode", code);
+        String requestId = UUID.randomUUID().toString();
+        Long userCouponId = couponService.claim(1L, request, requestId).getUserCouponId();
+
+        Thread.sleep(1_200);
+
+        // 만료 후 첫 거절만 보유자 목록 1회 로딩
+        statistics.clear();
+        assertEquals(ErrorCode.COUPON_EXPIRED, claimError(2L, code));
+        assertTrue(statistics.getPrepareStatementCount() <= 1);
+
+        statistics.clear();
+        assertEquals(ErrorCode.COUPON_EXPIRED, claimError(3L, code));
+        assertEquals(userCouponId, couponService.claim(1L, request, requestId).getUserCouponId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,76 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.util.CouponStockRegistry;
+import com.zia.payments.coupon.util.CouponStockRegistry.CouponStock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 재고 캐시 최대 크기를 2로 줄여서 가득 찬 상태 확인
+@SpringBootTest(properties = "coupons.cache.max-size=2")
+public class CouponStockRegistryTest {
+
+    @Autowired private CouponStockRegistry stockRegistry;
+    @Autowired private CouponRepository couponRepository;
+
+    private final List<String> codes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        codes.forEach(stockRegistry::evict);
+        codes.clear();
+        couponRepository.deleteAll();
+    }
+
+    private String createCoupon(Integer totalQuantity) {
+        String code = "STOCK-" + UUID.randomUUID().toString().substring(0, 8);
+        couponRepository.save(Coupon.builder()
+                .code(code)
+                .title("재고 캐시 쿠폰")
+                .discountValue(1_000L)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .totalQuantity(totalQuantity)
+                .build());
+        codes.add(code);
+        return code;
+    }
+
+    @Test
+    @DisplayName("가득 참 : 품절 항목만 정리, 살아 있는 선착순 카운터는 유지, 더 못 넣으면 새 쿠폰은 캐시 없이 처리")
+    void fullCache_keepsLiveCounters() {
+        String live = createCoupon(5);
+        CouponStock liveStock = stockRegistry.get(live);
+        assertTrue(liveStock.tryReserve());
+        assertTrue(liveStock.tryReserve());
+
+        String soldOut = createCoupon(0);
+        assertFalse(stockRegistry.get(soldOut).tryReserve());
+
+        // 가득 참 -> 품절 항목 자리에 캐시
+        String second = createCoupon(5);
+        CouponStock secondStock = stockRegistry.get(second);
+        assertSame(secondStock, stockRegistry.get(second));
+
+        // 정리할 항목이 없음 -> 캐시하지 않고 DB 기준 항목
+        String overflow = createCoupon(5);
+        CouponStock overflowStock = stockRegistry.get(overflow);
+        assertNotSame(overflowStock, stockRegistry.get(overflow));
+        assertEquals(5, overflowStock.getRemaining());
+
+        // 진행 중인 확보분이 그대로 남아 있음
+        assertSame(liveStock, stockRegistry.get(live));
+        assertEquals(3, liveStock.getRemaining());
+        assertSame(secondStock, stockRegistry.get(second));
+    }
+}
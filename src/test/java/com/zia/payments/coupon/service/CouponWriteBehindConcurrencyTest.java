@@ -0,0 +1,199 @@
+package com.zia.payments.coupon.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.dto.request.ClaimCouponRequest;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.coupon.util.CouponStockRegistry;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "coupons.write-behind.enabled=true",
+        "coupons.write-behind.flush-interval-ms=5"
+})
+@Slf4j
+public class CouponWriteBehindConcurrencyTest {
+
+    @Autowired private CouponService couponService;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private UserCouponRepository userCouponRepository;
+    @Autowired private CouponIssuedCountRecovery recovery;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private CouponWriteBehindExecutor writeBehindExecutor;
+    @Autowired private CouponStockRegistry stockRegistry;
+
+    @AfterEach
+    void tearDown() {
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+    }
+
+    private Coupon createCoupon(int totalQuantity) {
+        return couponRepository.save(Coupon.builder()
+                .code("DROP-" + UUID.randomUUID().toString().substring(0, 8))
+                .title("쓰기 지연 쿠폰")
+                .discountValue(1_000L)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .totalQuantity(totalQuantity)
+                .build());
+    }
+
+    private ClaimCouponRequest claimRequest(String code) {
+        ClaimCouponRequest request = new ClaimCouponRequest();
+        ReflectionTestUtils.setField(request, "couponCode", code);
+        return request;
+    }
+
+    @Test
+    @DisplayName("[WRITE-BEHIND] 1만 명이 재고 100개 쿠폰 동시 발급 -> 정확히 100건, issued_count 일치")
+    void testConcurrentClaim_exactly100() throws Exception {
+        Coupon coupon = createCoupon(100);
+        ClaimCouponRequest request = claimRequest(coupon.getCode());
+
+        int claimers = 10_000;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger soldOutCount = new AtomicInteger();
+        Set<Long> userCouponIds = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(64);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long userId = 1; userId <= claimers; userId++) {
+            long claimer = userId;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                try {
+                    userCouponIds.add(couponService.claim(claimer, request, UUID.randomUUID().toString()).getUserCouponId());
+                    successCount.incrementAndGet();
+                } catch (ApiException e) {
+                    if (e.getErrorCode() == ErrorCode.COUPON_SOLD_OUT) {
+                        soldOutCount.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+
+        assertEquals(100, successCount.get());
+        assertEquals(claimers - 100, soldOutCount.get());
+        assertEquals(100, userCouponIds.size());
+        assertEquals(100, userCouponRepository.count());
+        assertEquals(100, couponRepository.findById(coupon.getId()).orElseThrow().getIssuedCount());
+    }
+
+    @Test
+    @DisplayName("[WRITE-BEHIND] 같은 유저가 같은 키/다른 키로 동시에 요청 -> 1장만 발급")
+    void testDuplicateClaimsInBatch() throws Exception {
+        Coupon coupon = createCoupon(10);
+        ClaimCouponRequest request = claimRequest(coupon.getCode());
+        String requestId = UUID.randomUUID().toString();
+
+        // 절반은 같은 키(재시도), 절반은 요청마다 다른 키(중복 발급 시도)
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String key = (i % 2 == 0) ? requestId : UUID.randomUUID().toString();
+            futures.add(executor.submit(() -> couponService.claim(1L, request, key).getUserCouponId()));
+        }
+        Set<Long> ids = new HashSet<>();
+        int alreadyIssued = 0;
+        for (Future<Long> f : futures) {
+            try {
+                ids.add(f.get());
+            } catch (ExecutionException e) {
+                ApiException apiException = assertInstanceOf(ApiException.class, e.getCause());
+                assertEquals(ErrorCode.COUPON_ALREADY_ISSUED, apiException.getErrorCode());
+                alreadyIssued++;
+            }
+        }
+        executor.shutdown();
+
+        // 발급된 1장의 키와 같은 요청만 성공(재전송), 나머지 키는 COUPON_ALREADY_ISSUED
+        // 공유 키가 이기면 4건 성공 / 4건 거절, 개별 키가 이기면 1건 성공 / 7건 거절
+        assertEquals(1, ids.size());
+        assertTrue(alreadyIssued == 4 || alreadyIssued == 7, "alreadyIssued=" + alreadyIssued);
+        assertEquals(1, userCouponRepository.count());
+        assertEquals(1, couponRepository.findById(coupon.getId()).orElseThrow().getIssuedCount());
+    }
+
+    @Test
+    @DisplayName("[RECOVERY] issued_count가 user_coupons와 어긋나면 실제 발급 건수로 보정")
+    void testRecovery() {
+        Coupon coupon = createCoupon(100);
+        for (long userId = 1; userId <= 3; userId++) {
+            userCouponRepository.save(UserCoupon.issue(userId, coupon, UUID.randomUUID().toString()));
+        }
+        transactionTemplate.executeWithoutResult(status -> couponRepository.updateIssuedCount(coupon.getId(), 7));
+
+        assertEquals(1, recovery.recover());
+        assertEquals(3, couponRepository.findById(coupon.getId()).orElseThrow().getIssuedCount());
+        assertEquals(0, recovery.recover());
+    }
+
+    @Test
+    @DisplayName("[WRITE-BEHIND] 대기 시간 초과 -> 결과 미정 응답, 확보한 재고는 반환하지 않고 배치 발급에 사용")
+    void testClaimTimeout_keepsReservation() throws Exception {
+        Coupon coupon = createCoupon(2);
+        ClaimCouponRequest request = claimRequest(coupon.getCode());
+        String requestId = UUID.randomUUID().toString();
+
+        // 배치가 돌기 전에 대기 포기
+        Object maxWaitMillis = ReflectionTestUtils.getField(writeBehindExecutor, "maxWaitMillis");
+        ReflectionTestUtils.setField(writeBehindExecutor, "maxWaitMillis", 0L);
+        try {
+            ApiException unknown = assertThrows(ApiException.class, () -> couponService.claim(1L, request, requestId));
+            assertEquals(ErrorCode.IDEMPOTENCY_OUTCOME_UNKNOWN, unknown.getErrorCode());
+        } finally {
+            ReflectionTestUtils.setField(writeBehindExecutor, "maxWaitMillis", maxWaitMillis);
+        }
+
+        // 배치 커밋 대기
+        long deadline = System.currentTimeMillis() + 3_000;
+        while (userCouponRepository.countByCoupon_Id(coupon.getId()) == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, userCouponRepository.countByCoupon_Id(coupon.getId()));
+        assertEquals(1, stockRegistry.get(coupon.getCode()).getRemaining());
+
+        // 같은 키 재시도 -> 배치가 발급한 쿠폰 재전송
+        Long issuedId = userCouponRepository.findByUserIdAndCoupon_Id(1L, coupon.getId()).orElseThrow().getId();
+        assertEquals(issuedId, couponService.claim(1L, request, requestId).getUserCouponId());
+
+        couponService.claim(2L, request, UUID.randomUUID().toString());
+        ApiException soldOut = assertThrows(ApiException.class,
+                () -> couponService.claim(3L, request, UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_SOLD_OUT, soldOut.getErrorCode());
+        assertEquals(2, couponRepository.findById(coupon.getId()).orElseThrow().getIssuedCount());
+    }
+}
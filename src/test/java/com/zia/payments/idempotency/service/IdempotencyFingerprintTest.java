@@ -0,0 +1,131 @@
+package com.zia.payments.idempotency.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.idempotency.util.IdempotencyResponseCache;
+import com.zia.payments.idempotency.util.RequestFingerprint;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.RedeemResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.service.PointService;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.management.ManagementFactory;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "idempotency.purge.scheduled=false")
+@Slf4j
+public class IdempotencyFingerprintTest {
+
+    private static final String REDEEM = "/api/users/{userId}/points/redeem";
+    private static final int BENCH_ITERATIONS = 1_000_000;
+
+    @Autowired private PointService pointService;
+    @Autowired private IdempotencyResponseCache responseCache;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Fingerprint User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("같은 키 + 다른 금액/메모 -> IDEMPOTENCY_KEY_REUSED (캐시 히트, DB 조회 모두)")
+    void keyReusedWithDifferentRequest() {
+        Long userId = createTestUserWithBalance(10_000L);
+        String requestId = UUID.randomUUID().toString();
+        RedeemResponse first = pointService.redeem(userId, 1_000L, "주문", requestId);
+
+        // 캐시 히트 경로
+        ApiException amount = assertThrows(ApiException.class, () -> pointService.redeem(userId, 2_000L, "주문", requestId));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, amount.getErrorCode());
+
+        // DB 경로
+        responseCache.invalidate(requestId);
+        ApiException memo = assertThrows(ApiException.class, () -> pointService.redeem(userId, 1_000L, "다른 주문", requestId));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, memo.getErrorCode());
+
+        // 같은 요청 재시도는 기존 응답
+        RedeemResponse replay = pointService.redeem(userId, 1_000L, "주문", requestId);
+        assertEquals(first.getBalanceAfter(), replay.getBalanceAfter());
+        assertEquals(9_000L, pointService.getBalance(userId));
+    }
+
+    @Test
+    @DisplayName("지문 : 필드 경계/null/빈 문자열 구분")
+    void fingerprintBoundaries() {
+        assertEquals(RequestFingerprint.of(REDEEM, 1L, 100L, "memo"), RequestFingerprint.of(REDEEM, 1L, 100L, "memo"));
+        assertNotEquals(RequestFingerprint.of(REDEEM, 1L, 100L, null), RequestFingerprint.of(REDEEM, 1L, 100L, ""));
+        assertNotEquals(RequestFingerprint.of(REDEEM, 1L, 100L, "a"), RequestFingerprint.of(REDEEM, 1L, 100L, "b"));
+        assertNotEquals(RequestFingerprint.of(REDEEM, 1L, 100L, "memo"), RequestFingerprint.of(REDEEM, 100L, 1L, "memo"));
+        assertNotEquals(RequestFingerprint.of(REDEEM, 1L, null, 100L, "memo"), RequestFingerprint.of(REDEEM, 1L, 100L, null, "memo"));
+        assertNotEquals(RequestFingerprint.of("/a", 1L, 100L, "memo"), RequestFingerprint.of("/b", 1L, 100L, "memo"));
+    }
+
+    @Test
+    @DisplayName("[BENCH] 지문 계산 ns/op, 할당 bytes/op (JSON + SHA-256 대비)")
+    void bench() throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        Long userId = 123_456L;
+        Long amount = 1_000L;
+        String memo = "k6-perf 주문 결제";
+
+        long sink = 0;
+        for (int round = 0; round < 2; round++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            for (int i = 0; i < BENCH_ITERATIONS; i++) {
+                sink += RequestFingerprint.of(REDEEM, userId, amount, memo);
+            }
+            long fingerprintNanos = System.nanoTime() - start;
+            long fingerprintAllocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            int baselineIterations = BENCH_ITERATIONS / 10;
+            allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+            start = System.nanoTime();
+            for (int i = 0; i < baselineIterations; i++) {
+                String json = objectMapper.writeValueAsString(Map.of("endpoint", REDEEM, "userId", userId, "amount", amount, "memo", memo));
+                sink += MessageDigest.getInstance("SHA-256").digest(json.getBytes())[0];
+            }
+            long baselineNanos = System.nanoTime() - start;
+            long baselineAllocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+            if (round == 1) {
+                double allocatedPerOp = (double) fingerprintAllocated / BENCH_ITERATIONS;
+                log.info("[BENCH] fingerprint : {} ns/op, {} B/op | json+sha256 : {} ns/op, {} B/op (sink={})",
+                        fingerprintNanos / BENCH_ITERATIONS, String.format("%.2f", allocatedPerOp),
+                        baselineNanos / baselineIterations, baselineAllocated / baselineIterations, sink);
+                // 반복마다 객체를 만들지 않음 (측정 오차 감안)
+                assertTrue(allocatedPerOp < 8, "fingerprint allocates " + allocatedPerOp + " B/op");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.idempotency.util.IdempotencyInFlightRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 레지스트리 자체 동작만 확인 (스프링 컨텍스트 없이 직접 생성)
+public class IdempotencyInFlightRegistryTest {
+
+    private static final long MAX_WAIT_MILLIS = 5_000;
+
+    // 다른 스레드에서 재시도 요청처럼 대기 시작
+    private CompletableFuture<Object> awaitAsync(IdempotencyInFlightRegistry registry, String requestId,
+                                                 ExecutorService executor) {
+        IdempotencyInFlightRegistry.InFlight entry = registry.find(requestId);
+        assertNotNull(entry);
+        return CompletableFuture.supplyAsync(() -> registry.await(requestId, entry), executor);
+    }
+
+    private ErrorCode errorCodeOf(CompletableFuture<Object> waiter) {
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> waiter.orTimeout(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS).join());
+        return assertInstanceOf(ApiException.class, e.getCause()).getErrorCode();
+    }
+
+    @Test
+    @DisplayName("complete : 대기 중인 재시도가 원 요청과 같은 응답 객체를 받음 + 등록 해제")
+    void waiterReceivesResult() {
+        IdempotencyInFlightRegistry registry = new IdempotencyInFlightRegistry(MAX_WAIT_MILLIS);
+        registry.register("req-1", 1L, 100L);
+
+        IdempotencyInFlightRegistry.InFlight entry = registry.find("req-1");
+        assertEquals(1L, entry.getUserId());
+        assertEquals(100L, entry.getFingerprint());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Object> waiter = awaitAsync(registry, "req-1", executor);
+            Object response = new Object();
+            registry.complete("req-1", response);
+
+            assertSame(response, waiter.orTimeout(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS).join());
+        }
+        assertNull(registry.find("req-1"));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("fail : 대기 중인 재시도는 IDEMPOTENCY_FAILED")
+    void waiterReceivesFailure() {
+        IdempotencyInFlightRegistry registry = new IdempotencyInFlightRegistry(MAX_WAIT_MILLIS);
+        registry.register("req-1", 1L, 100L);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Object> waiter = awaitAsync(registry, "req-1", executor);
+            registry.fail("req-1");
+
+            assertEquals(ErrorCode.IDEMPOTENCY_FAILED, errorCodeOf(waiter));
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("abandon : 결과 미확정으로 손을 떼면 대기 중인 재시도는 IDEMPOTENCY_IN_PROGRESS")
+    void waiterReleasedOnAbandon() {
+        IdempotencyInFlightRegistry registry = new IdempotencyInFlightRegistry(MAX_WAIT_MILLIS);
+        registry.register("req-1", 1L, 100L);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Object> waiter = awaitAsync(registry, "req-1", executor);
+            registry.abandon("req-1");
+
+            assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, errorCodeOf(waiter));
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("timeout : max-wait 안에 결과가 없으면 IDEMPOTENCY_IN_PROGRESS, 원 요청은 계속 등록됨")
+    void waiterTimesOut() {
+        IdempotencyInFlightRegistry registry = new IdempotencyInFlightRegistry(50);
+        registry.register("req-1", 1L, 100L);
+        IdempotencyInFlightRegistry.InFlight entry = registry.find("req-1");
+
+        ApiException e = assertThrows(ApiException.class, () -> registry.await("req-1", entry));
+
+        assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, e.getErrorCode());
+        assertSame(entry, registry.find("req-1"));
+
+        // 늦게 끝난 원 요청의 결과는 이후 재시도가 받음
+        registry.complete("req-1", "late");
+        assertEquals("late", entry.getFuture().join());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    @DisplayName("max-wait-ms=0 : 레지스트리 꺼짐, 등록/조회 안 함")
+    void disabledWhenMaxWaitZero() {
+        IdempotencyInFlightRegistry registry = new IdempotencyInFlightRegistry(0);
+        registry.register("req-1", 1L, 100L);
+
+        assertFalse(registry.isEnabled());
+        assertNull(registry.find("req-1"));
+        assertEquals(0, registry.size());
+    }
+}
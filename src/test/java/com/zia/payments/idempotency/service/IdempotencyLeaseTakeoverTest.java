@@ -0,0 +1,140 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.RedeemResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.service.PointService;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "idempotency.purge.scheduled=false",
+        "idempotency.in-progress.lease-seconds=30"
+})
+public class IdempotencyLeaseTakeoverTest {
+
+    private static final String REDEEM = "/api/users/{userId}/points/redeem";
+    private static final int DEAD_NODE = 999;
+
+    @Autowired private PointService pointService;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Lease User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    // 다른 노드가 선점한 뒤 죽은 상황 (lease 만료 시각 지정)
+    private void insertOrphan(String requestId, Long userId, LocalDateTime leaseExpiresAt) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        insert into idempotency_requests
+                            (idempotency_id, request_id, user_id, endpoint, idempotency_status, owner_node, lease_expires_at, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                TimeOrderedIds.next(), requestId, userId, REDEEM, IdempotencyStatus.IN_PROGRESS.name(),
+                DEAD_NODE, Timestamp.valueOf(leaseExpiresAt), now, now);
+    }
+
+    private IdempotencyStatus statusOf(String requestId) {
+        return idempotencyRequestRepository.findByRequestId(requestId).orElseThrow().getIdempotencyStatus();
+    }
+
+    @Test
+    @DisplayName("lease 만료 + 원장 없음 -> 인계 후 차감 1회, 원장에 request_id 기록")
+    void takeOver_notCommitted() {
+        Long userId = createTestUserWithBalance(1_000L);
+        String requestId = UUID.randomUUID().toString();
+        insertOrphan(requestId, userId, LocalDateTime.now().minusSeconds(1));
+
+        RedeemResponse response = pointService.redeem(userId, 300L, "인계", requestId);
+
+        assertEquals(700L, response.getBalanceAfter());
+        assertEquals(700L, pointService.getBalance(userId));
+        assertEquals(IdempotencyStatus.SUCCESS, statusOf(requestId));
+        assertTrue(pointLedgerRepository.findFirstByUser_IdAndRequestId(userId, requestId).isPresent());
+    }
+
+    @Test
+    @DisplayName("lease 만료 + 원장 있음(이전 소유자가 반영) -> 다시 차감하지 않고 원장으로 응답")
+    void takeOver_alreadyCommitted() {
+        Long userId = createTestUserWithBalance(700L);
+        String requestId = UUID.randomUUID().toString();
+        insertOrphan(requestId, userId, LocalDateTime.now().minusSeconds(1));
+        pointLedgerRepository.save(PointLedger.redeem(userRepository.getReferenceById(userId), 300L, 700L, "이전 요청", requestId));
+
+        RedeemResponse response = pointService.redeem(userId, 300L, "이전 요청", requestId);
+
+        assertEquals(700L, response.getBalanceAfter());
+        assertEquals(300L, response.getRedeemedAmount());
+        assertEquals(700L, pointService.getBalance(userId));
+        assertEquals(1, pointLedgerRepository.count());
+        assertEquals(IdempotencyStatus.SUCCESS, statusOf(requestId));
+    }
+
+    @Test
+    @DisplayName("lease 유효 -> 인계하지 않고 IDEMPOTENCY_IN_PROGRESS")
+    void leaseValid() {
+        Long userId = createTestUserWithBalance(1_000L);
+        String requestId = UUID.randomUUID().toString();
+        insertOrphan(requestId, userId, LocalDateTime.now().plusSeconds(30));
+
+        ApiException e = assertThrows(ApiException.class, () -> pointService.redeem(userId, 300L, "대기", requestId));
+        assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, e.getErrorCode());
+        assertEquals(1_000L, pointService.getBalance(userId));
+    }
+
+    @Test
+    @DisplayName("인계된 뒤 이전 소유자의 SUCCESS 확정은 실패 (이중 반영 방지)")
+    void fencing() {
+        Long userId = createTestUserWithBalance(1_000L);
+        String requestId = UUID.randomUUID().toString();
+        IdempotencyRequest acquired = idempotencyService.createInProgress(userId, requestId, REDEEM, 1L, false);
+
+        // 다른 노드가 인계
+        jdbcTemplate.update("update idempotency_requests set owner_node = ?, lease_expires_at = ? where request_id = ?",
+                DEAD_NODE, Timestamp.valueOf(LocalDateTime.now().plusSeconds(30)), requestId);
+
+        ApiException e = assertThrows(ApiException.class, () -> idempotencyService.markSuccess(acquired, "late"));
+        assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, e.getErrorCode());
+        assertEquals(IdempotencyStatus.IN_PROGRESS, statusOf(requestId));
+
+        // FAILED 확정도 새 소유자 결과를 덮지 않음
+        idempotencyService.markFailed(acquired);
+        assertEquals(IdempotencyStatus.IN_PROGRESS, statusOf(requestId));
+    }
+}
@@ -0,0 +1,154 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.dto.response.IdempotencyPurgeResponse;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.idempotency.util.IdempotencyInFlightRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// batch-size를 작게 줘서 여러 배치에 걸친 삭제 확인
+@SpringBootTest(properties = {
+        "idempotency.purge.scheduled=false",
+        "idempotency.purge.batch-size=2",
+        "idempotency.retention.default-hours=24",
+        "idempotency.retention.endpoint-hours=/api/users/{userId}/points/redeem=72",
+        "idempotency.in-progress.lease-seconds=300"
+})
+public class IdempotencyPurgerTest {
+
+    private static final String REDEEM = "/api/users/{userId}/points/redeem";
+    private static final String CHECKOUT = "/api/users/{userId}/points/checkout";
+    private static final String CHARGE = "/api/users/{userId}/points/charge";
+
+    @Autowired private IdempotencyPurger purger;
+    @Autowired private IdempotencyInFlightRegistry inFlightRegistry;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong seq = new AtomicLong();
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRequestRepository.deleteAll();
+        // IN_PROGRESS 스캔 위치는 빈에 남으므로 테스트마다 처음부터
+        ReflectionTestUtils.setField(purger, "inProgressScannedId", Long.MIN_VALUE);
+    }
+
+    // ago 전에 생성된 멱등키 row (ID도 그 시각 기준)
+    private void insert(String requestId, String endpoint, IdempotencyStatus status, Duration ago) {
+        long createdAt = System.currentTimeMillis() - ago.toMillis();
+        insert(TimeOrderedIds.lowerBound(createdAt) + seq.incrementAndGet(), requestId, endpoint, status, createdAt);
+    }
+
+    private void insert(long id, String requestId, String endpoint, IdempotencyStatus status, long createdAt) {
+        Timestamp ts = new Timestamp(createdAt);
+        jdbcTemplate.update("""
+                        insert into idempotency_requests
+                            (idempotency_id, request_id, user_id, endpoint, idempotency_status, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?)
+                        """,
+                id, requestId, 1L, endpoint, status.name(), ts, ts);
+    }
+
+    private boolean exists(String requestId) {
+        return idempotencyRequestRepository.findByRequestId(requestId).isPresent();
+    }
+
+    @Test
+    @DisplayName("엔드포인트별 보관 기간 지난 행만 삭제, lease 지난 IN_PROGRESS는 회수")
+    void purge() {
+        insert("checkout-old-1", CHECKOUT, IdempotencyStatus.SUCCESS, Duration.ofHours(30));
+        insert("checkout-old-2", CHECKOUT, IdempotencyStatus.FAILED, Duration.ofHours(30));
+        insert("checkout-old-3", CHECKOUT, IdempotencyStatus.SUCCESS, Duration.ofHours(25));
+        insert("checkout-new", CHECKOUT, IdempotencyStatus.SUCCESS, Duration.ofHours(1));
+        insert("redeem-kept", REDEEM, IdempotencyStatus.SUCCESS, Duration.ofHours(30));
+        insert("redeem-old", REDEEM, IdempotencyStatus.SUCCESS, Duration.ofHours(100));
+        insert("stuck", REDEEM, IdempotencyStatus.IN_PROGRESS, Duration.ofMinutes(10));
+        insert("running", REDEEM, IdempotencyStatus.IN_PROGRESS, Duration.ofSeconds(10));
+
+        IdempotencyPurgeResponse response = purger.purge();
+
+        assertEquals(4, response.getPurgedRows());
+        assertEquals(1, response.getRecoveredRows());
+        assertFalse(exists("checkout-old-1"));
+        assertFalse(exists("checkout-old-2"));
+        assertFalse(exists("checkout-old-3"));
+        assertFalse(exists("redeem-old"));
+        assertFalse(exists("stuck"));
+        assertTrue(exists("checkout-new"));
+        assertTrue(exists("redeem-kept"));
+        assertTrue(exists("running"));
+
+        // 다시 실행해도 변화 없음
+        IdempotencyPurgeResponse again = purger.purge();
+        assertEquals(0, again.getPurgedRows());
+        assertEquals(0, again.getRecoveredRows());
+        assertEquals(3, idempotencyRequestRepository.count());
+    }
+
+    @Test
+    @DisplayName("도입 전 IDENTITY ID(작은 값) row는 ID가 아니라 created_at으로 보관 기간 판단")
+    void purgeLegacyIdentityIds() {
+        long now = System.currentTimeMillis();
+        insert(1L, "legacy-old", CHECKOUT, IdempotencyStatus.SUCCESS, now - Duration.ofHours(30).toMillis());
+        insert(2L, "legacy-new", CHECKOUT, IdempotencyStatus.SUCCESS, now - Duration.ofHours(1).toMillis());
+        insert(3L, "legacy-redeem", REDEEM, IdempotencyStatus.SUCCESS, now - Duration.ofHours(30).toMillis());
+        insert("checkout-old", CHECKOUT, IdempotencyStatus.SUCCESS, Duration.ofHours(30));
+
+        IdempotencyPurgeResponse response = purger.purge();
+
+        assertEquals(2, response.getPurgedRows());
+        assertFalse(exists("legacy-old"));
+        assertFalse(exists("checkout-old"));
+        assertTrue(exists("legacy-new"));
+        assertTrue(exists("legacy-redeem"));
+    }
+
+    @Test
+    @DisplayName("이 노드에서 처리 중이라 건너뛴 IN_PROGRESS는 스캔 위치가 넘어가지 않아 다음 실행에서 회수")
+    void recoverSkippedInFlightLater() {
+        insert("skipped", REDEEM, IdempotencyStatus.IN_PROGRESS, Duration.ofMinutes(10));
+        insert("stuck", REDEEM, IdempotencyStatus.IN_PROGRESS, Duration.ofMinutes(9));
+        inFlightRegistry.register("skipped", 1L, 0L);
+        try {
+            assertEquals(1, purger.purge().getRecoveredRows());
+            assertTrue(exists("skipped"));
+            assertFalse(exists("stuck"));
+        } finally {
+            inFlightRegistry.abandon("skipped");
+        }
+
+        // 처리하던 요청이 확정 없이 사라짐 -> 다음 실행에서 회수
+        assertEquals(1, purger.purge().getRecoveredRows());
+        assertFalse(exists("skipped"));
+    }
+
+    @Test
+    @DisplayName("확정이 업무와 별도 커밋인 @Idempotent 키는 lease가 지나도 회수하지 않고 보관 기간 만료 때 삭제")
+    void keepDetachedInProgressUntilRetention() {
+        insert("detached-stuck", CHARGE, IdempotencyStatus.IN_PROGRESS, Duration.ofMinutes(10));
+        insert("detached-expired", CHARGE, IdempotencyStatus.IN_PROGRESS, Duration.ofHours(30));
+        jdbcTemplate.update("update idempotency_requests set detached_confirm = true where request_id in (?, ?)",
+                "detached-stuck", "detached-expired");
+
+        IdempotencyPurgeResponse response = purger.purge();
+
+        assertEquals(0, response.getRecoveredRows());
+        assertEquals(1, response.getPurgedRows());
+        assertTrue(exists("detached-stuck"));
+        assertFalse(exists("detached-expired"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.idempotency.util.IdempotencyResponseCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 캐시 자체 동작만 확인 (스프링 컨텍스트 없이 직접 생성)
+public class IdempotencyResponseCacheTest {
+
+    private static final long TTL_SECONDS = 600;
+
+    @Test
+    @DisplayName("put/get : 저장한 userId, 지문, 응답 그대로 조회 + hit/miss 집계")
+    void putThenGet() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(10, TTL_SECONDS);
+        cache.put("req-1", 1L, 100L, "response-1");
+
+        IdempotencyResponseCache.Entry entry = cache.get("req-1");
+
+        assertNotNull(entry);
+        assertEquals(1L, entry.getUserId());
+        assertEquals(100L, entry.getFingerprint());
+        assertEquals("response-1", entry.getResponse());
+        assertNull(cache.get("req-unknown"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("eviction : 최대 크기 초과 시 먼저 들어온 항목부터 제거")
+    void evictOldestWhenFull() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(3, TTL_SECONDS);
+        for (int i = 1; i <= 5; i++) {
+            cache.put("req-" + i, 1L, (long) i, "response-" + i);
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals(2, cache.getEvictionCount());
+        assertNull(cache.get("req-1"));
+        assertNull(cache.get("req-2"));
+        assertNotNull(cache.get("req-3"));
+        assertNotNull(cache.get("req-5"));
+    }
+
+    @Test
+    @DisplayName("invalidate : 무효화 후 다시 넣은 키가 옛 큐 항목 때문에 먼저 밀려나지 않음")
+    void invalidateThenPutKeepsLiveEntry() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(2, TTL_SECONDS);
+        cache.put("req-a", 1L, 1L, "a");
+        cache.invalidate("req-a");
+        assertNull(cache.get("req-a"));
+
+        cache.put("req-b", 1L, 2L, "b");
+        cache.put("req-a", 1L, 3L, "a-again"); // 가장 최근 항목
+        cache.put("req-c", 1L, 4L, "c");       // 크기 초과 -> req-b가 제거 대상
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("req-b"));
+        assertEquals("a-again", cache.get("req-a").getResponse());
+        assertNotNull(cache.get("req-c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("덮어쓰기 : 같은 키를 다시 넣으면 새 값 기준 순서로 제거")
+    void overwriteMovesToNewest() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(2, TTL_SECONDS);
+        cache.put("req-a", 1L, 1L, "a");
+        cache.put("req-b", 1L, 2L, "b");
+        cache.put("req-a", 1L, 1L, "a-again");
+        cache.put("req-c", 1L, 3L, "c");
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("req-b"));
+        assertEquals("a-again", cache.get("req-a").getResponse());
+        assertNotNull(cache.get("req-c"));
+    }
+
+    @Test
+    @DisplayName("TTL : 만료된 항목은 조회 시 miss + 제거")
+    void expiredEntryIsMiss() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(10, 0);
+        cache.put("req-1", 1L, 1L, "response");
+
+        assertNull(cache.get("req-1"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("max-size=0 : 캐시 꺼짐, 저장하지 않음")
+    void disabledWhenMaxSizeZero() {
+        IdempotencyResponseCache cache = new IdempotencyResponseCache(0, TTL_SECONDS);
+        cache.put("req-1", 1L, 1L, "response");
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get("req-1"));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,216 @@
+package com.zia.payments.idempotency.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.idempotency.util.IdempotencyResponseCodecs;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.ChargeResponse;
+import com.zia.payments.point.dto.response.CheckoutResponse;
+import com.zia.payments.point.dto.response.RedeemResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.service.PointService;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 응답 캐시를 꺼서 재시도가 항상 DB row를 읽도록
+@SpringBootTest(properties = {
+        "idempotency.cache.max-size=0",
+        "idempotency.purge.scheduled=false"
+})
+@Slf4j
+public class IdempotencyResponseCodecTest {
+
+    private static final int BENCH_ITERATIONS = 200_000;
+
+    @Autowired private IdempotencyResponseCodecs codecs;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private PointService pointService;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Codec User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    private static RedeemResponse sample(String memo) {
+        return RedeemResponse.builder().userId(123_456L).redeemedAmount(1_000L).balanceAfter(98_000L).memo(memo).build();
+    }
+
+    @Test
+    @DisplayName("RedeemResponse 고정 레이아웃 : null/한글/이모지 메모 왕복")
+    void redeemRoundTrip() {
+        for (String memo : new String[]{null, "", "결제 차감", "emoji 😀 끝", "broken \uD800 surrogate"}) {
+            RedeemResponse original = sample(memo);
+            RedeemResponse decoded = codecs.decode(codecs.encode(original), RedeemResponse.class);
+
+            assertEquals(original.getUserId(), decoded.getUserId());
+            assertEquals(original.getRedeemedAmount(), decoded.getRedeemedAmount());
+            assertEquals(original.getBalanceAfter(), decoded.getBalanceAfter());
+            String expectedMemo = (memo == null) ? null : new String(memo.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+            assertEquals(expectedMemo, decoded.getMemo());
+        }
+
+        RedeemResponse nulls = codecs.decode(codecs.encode(RedeemResponse.builder().build()), RedeemResponse.class);
+        assertNull(nulls.getUserId());
+        assertNull(nulls.getBalanceAfter());
+    }
+
+    @Test
+    @DisplayName("ChargeResponse : RedeemResponse와 같은 배치, tag만 다름")
+    void chargeRoundTrip() {
+        ChargeResponse original = ChargeResponse.builder().userId(123_456L).chargedAmount(1_000L).balanceAfter(98_000L).memo("충전").build();
+        byte[] charge = codecs.encode(original);
+        ChargeResponse decoded = codecs.decode(charge, ChargeResponse.class);
+
+        assertEquals(original.getUserId(), decoded.getUserId());
+        assertEquals(original.getChargedAmount(), decoded.getChargedAmount());
+        assertEquals(original.getBalanceAfter(), decoded.getBalanceAfter());
+        assertEquals("충전", decoded.getMemo());
+
+        byte[] redeem = codecs.encode(sample("충전"));
+        assertNotEquals(charge[0], redeem[0]);
+        assertArrayEquals(Arrays.copyOfRange(redeem, 1, redeem.length), Arrays.copyOfRange(charge, 1, charge.length));
+    }
+
+    @Test
+    @DisplayName("코덱 없는 타입은 JSON 폴백 (임계값 이상이면 압축)")
+    void fallbackRoundTrip() {
+        CheckoutResponse original = CheckoutResponse.builder()
+                .userId(1L).orderAmount(10_000L).discountAmount(1_000L).redeemedAmount(9_000L)
+                .balanceAfter(5_000L).userCouponId(7L).memo("결제 ".repeat(100))
+                .build();
+
+        byte[] encoded = codecs.encode(original);
+        CheckoutResponse decoded = codecs.decode(encoded, CheckoutResponse.class);
+
+        assertEquals(original.getMemo(), decoded.getMemo());
+        assertEquals(original.getRedeemedAmount(), decoded.getRedeemedAmount());
+        assertTrue(encoded.length < original.getMemo().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("JSON : 2^53 넘는 userCouponId는 문자열로 직렬화, 문자열/이전 숫자 형식 모두 복원")
+    void largeIdSerializedAsString() throws Exception {
+        long userCouponId = TimeOrderedIds.next();
+        assertTrue(userCouponId > (1L << 53));
+        CheckoutResponse original = CheckoutResponse.builder()
+                .userId(1L).orderAmount(10_000L).discountAmount(1_000L).redeemedAmount(9_000L)
+                .balanceAfter(5_000L).userCouponId(userCouponId).memo("결제")
+                .build();
+
+        String json = objectMapper.writeValueAsString(original);
+        assertEquals(String.valueOf(userCouponId), objectMapper.readTree(json).get("userCouponId").textValue());
+        assertEquals(userCouponId, objectMapper.readValue(json, CheckoutResponse.class).getUserCouponId());
+
+        String legacy = json.replace("\"" + userCouponId + "\"", String.valueOf(userCouponId));
+        assertEquals(userCouponId, objectMapper.readValue(legacy, CheckoutResponse.class).getUserCouponId());
+        assertEquals(userCouponId, codecs.decode(codecs.encode(original), CheckoutResponse.class).getUserCouponId());
+    }
+
+    @Test
+    @DisplayName("재시도 : response_bin 저장 row와 이전 형식(JSON) row 모두 같은 응답 반환")
+    void replayFromBinaryAndLegacyJson() throws Exception {
+        Long userId = createTestUserWithBalance(10_000L);
+
+        String requestId = UUID.randomUUID().toString();
+        RedeemResponse first = pointService.redeem(userId, 1_000L, "바이너리", requestId);
+        IdempotencyRequest stored = idempotencyRequestRepository.findByRequestId(requestId).orElseThrow();
+        assertNull(stored.getResponseBody());
+        assertNotNull(stored.getResponseBin());
+
+        RedeemResponse replay = pointService.redeem(userId, 1_000L, "바이너리", requestId);
+        assertEquals(first.getBalanceAfter(), replay.getBalanceAfter());
+        assertEquals("바이너리", replay.getMemo());
+
+        // 전환 전에 저장된 JSON row (H2 json 컬럼은 FORMAT JSON 없이 넣으면 JSON 문자열 값 하나로 저장됨)
+        String legacyId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        insert into idempotency_requests
+                            (idempotency_id, request_id, user_id, endpoint, idempotency_status, response_body, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ? format json, ?, ?)
+                        """,
+                TimeOrderedIds.next(), legacyId, userId, "/api/users/{userId}/points/redeem", IdempotencyStatus.SUCCESS.name(),
+                objectMapper.writeValueAsString(sample("이전 형식")), now, now);
+
+        RedeemResponse legacy = pointService.redeem(userId, 1_000L, "이전 형식", legacyId);
+        assertEquals(98_000L, legacy.getBalanceAfter());
+        assertEquals(9_000L, pointService.getBalance(userId));
+    }
+
+    @Test
+    @DisplayName("[BENCH] row당 바이트 + 인코딩/디코딩 ns/op (JSON vs 고정 레이아웃)")
+    void bench() throws Exception {
+        RedeemResponse response = sample("k6-perf");
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] binary = codecs.encode(response);
+        log.info("[BENCH] bytes/row : json={}, binary={}", json.length, binary.length);
+        assertTrue(binary.length < json.length);
+
+        // 워밍업 후 측정 (JIT 전후 차이 제거), 절대값보다 상대 비교용
+        long sink = 0;
+        for (int round = 0; round < 2; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < BENCH_ITERATIONS; i++) {
+                sink += objectMapper.writeValueAsBytes(response).length;
+            }
+            long jsonEncode = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < BENCH_ITERATIONS; i++) {
+                sink += objectMapper.readValue(json, RedeemResponse.class).getBalanceAfter();
+            }
+            long jsonDecode = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < BENCH_ITERATIONS; i++) {
+                sink += codecs.encode(response).length;
+            }
+            long binaryEncode = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < BENCH_ITERATIONS; i++) {
+                sink += codecs.decode(binary, RedeemResponse.class).getBalanceAfter();
+            }
+            long binaryDecode = System.nanoTime() - start;
+
+            if (round == 1) {
+                log.info("[BENCH] ns/op : jsonEncode={}, jsonDecode={}, binaryEncode={}, binaryDecode={} (sink={})",
+                        jsonEncode / BENCH_ITERATIONS, jsonDecode / BENCH_ITERATIONS,
+                        binaryEncode / BENCH_ITERATIONS, binaryDecode / BENCH_ITERATIONS, sink);
+            }
+        }
+    }
+}
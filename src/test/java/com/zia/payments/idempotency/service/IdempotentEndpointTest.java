@@ -0,0 +1,220 @@
+package com.zia.payments.idempotency.service;
+
+import com.zia.payments.coupon.controller.CouponController;
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.domain.UserCouponStatus;
+import com.zia.payments.coupon.dto.response.IssueCouponResponse;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.controller.PointController;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.request.ChargeRequest;
+import com.zia.payments.point.dto.response.ChargeResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.service.PointService;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "idempotency.purge.scheduled=false")
+public class IdempotentEndpointTest {
+
+    private static final String CHARGE = "/api/users/{userId}/points/charge";
+    private static final String USE_COUPON = "/api/users/{userId}/coupons/{userCouponId}/use";
+    private static final int DEAD_NODE = 999;
+
+    @Autowired private PointController pointController;
+    @Autowired private CouponController couponController;
+    @Autowired private PointService pointService;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private UserCouponRepository userCouponRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        idempotencyRequestRepository.deleteAll();
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private User createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Idempotent User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user;
+    }
+
+    // 컨트롤러 호출 전 요청 헤더 설정 (null이면 헤더 없음)
+    private void withIdempotencyKey(String requestId) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (requestId != null) {
+            request.addHeader("Idempotency-Key", requestId);
+        }
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    // lease가 끝난 다른 노드의 IN_PROGRESS 키 (업무 커밋 후 확정 전에 죽은 상황)
+    private void insertOrphanInProgress(String requestId, Long userId, String endpoint) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        insert into idempotency_requests
+                            (idempotency_id, request_id, user_id, endpoint, idempotency_status, owner_node, lease_expires_at, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                TimeOrderedIds.next(), requestId, userId, endpoint, IdempotencyStatus.IN_PROGRESS.name(),
+                DEAD_NODE, Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), now, now);
+    }
+
+    private Coupon createCoupon() {
+        return couponRepository.save(Coupon.builder()
+                .code("IDEM-" + UUID.randomUUID().toString().substring(0, 8))
+                .title("멱등 쿠폰")
+                .discountValue(1_000L)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+    }
+
+    private ChargeResponse charge(Long userId, Long amount, String memo) {
+        return pointController.chargePoints(userId, new ChargeRequest(amount, memo)).getData();
+    }
+
+    @Test
+    @DisplayName("충전 : 같은 키 재요청은 1회만 충전 + 같은 응답, 다른 금액이면 IDEMPOTENCY_KEY_REUSED")
+    void charge_replayedWithSameKey() {
+        Long userId = createTestUserWithBalance(0L).getId();
+        String requestId = UUID.randomUUID().toString();
+        withIdempotencyKey(requestId);
+
+        ChargeResponse first = charge(userId, 1_000L, "충전");
+        ChargeResponse replay = charge(userId, 1_000L, "충전");
+
+        assertEquals(first.getBalanceAfter(), replay.getBalanceAfter());
+        assertEquals(1_000L, pointService.getBalance(userId));
+        assertEquals(IdempotencyStatus.SUCCESS,
+                idempotencyRequestRepository.findByRequestId(requestId).orElseThrow().getIdempotencyStatus());
+        assertTrue(pointLedgerRepository.findFirstByUser_IdAndRequestId(userId, requestId).isPresent());
+        // 충전은 업무 트랜잭션 안에서 확정 -> 멈추면 회수 대상
+        assertEquals(Boolean.FALSE, idempotencyRequestRepository.findByRequestId(requestId).orElseThrow().getDetachedConfirm());
+
+        ApiException reused = assertThrows(ApiException.class, () -> charge(userId, 2_000L, "충전"));
+        assertEquals(ErrorCode.IDEMPOTENCY_KEY_REUSED, reused.getErrorCode());
+        assertEquals(1_000L, pointService.getBalance(userId));
+    }
+
+    @Test
+    @DisplayName("충전 : 헤더 없으면 멱등성 없이 매번 충전 (기존 클라이언트 호환)")
+    void charge_withoutKey() {
+        Long userId = createTestUserWithBalance(0L).getId();
+        withIdempotencyKey(null);
+
+        charge(userId, 1_000L, "충전");
+        charge(userId, 1_000L, "충전");
+
+        assertEquals(2_000L, pointService.getBalance(userId));
+        assertEquals(0, idempotencyRequestRepository.count());
+    }
+
+    @Test
+    @DisplayName("충전 : lease 만료 인계 + 원장에 이미 반영 -> 다시 충전하지 않고 원장으로 응답")
+    void charge_takeOverAlreadyCommitted() {
+        User user = createTestUserWithBalance(500L);
+        String requestId = UUID.randomUUID().toString();
+
+        // 다른 노드가 충전 커밋 후 SUCCESS 확정 전에 죽은 상황
+        pointLedgerRepository.save(PointLedger.charge(user, 500L, 500L, "충전", requestId));
+        insertOrphanInProgress(requestId, user.getId(), CHARGE);
+
+        withIdempotencyKey(requestId);
+        ChargeResponse response = charge(user.getId(), 500L, "충전");
+
+        assertEquals(500L, response.getBalanceAfter());
+        assertEquals(500L, pointService.getBalance(user.getId()));
+        assertEquals(IdempotencyStatus.SUCCESS,
+                idempotencyRequestRepository.findByRequestId(requestId).orElseThrow().getIdempotencyStatus());
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 : 같은 키 재요청은 COUPON_ALREADY_USED 대신 첫 응답 그대로")
+    void useCoupon_replayedWithSameKey() {
+        Long userId = createTestUserWithBalance(0L).getId();
+        Coupon coupon = createCoupon();
+        Long userCouponId = userCouponRepository.save(UserCoupon.issue(userId, coupon, UUID.randomUUID().toString())).getId();
+
+        withIdempotencyKey(UUID.randomUUID().toString());
+        IssueCouponResponse first = couponController.useCoupon(userId, userCouponId).getData();
+        IssueCouponResponse replay = couponController.useCoupon(userId, userCouponId).getData();
+
+        assertEquals("USED", first.getStatus());
+        assertEquals(first.getUserCouponId(), replay.getUserCouponId());
+        assertEquals(first.getStatus(), replay.getStatus());
+
+        // 새 키는 실제로 다시 사용 시도
+        withIdempotencyKey(UUID.randomUUID().toString());
+        ApiException used = assertThrows(ApiException.class, () -> couponController.useCoupon(userId, userCouponId));
+        assertEquals(ErrorCode.COUPON_ALREADY_USED, used.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("쿠폰 사용 : lease 만료 인계 + 같은 키로 이미 사용됨 -> COUPON_ALREADY_USED 대신 사용 응답")
+    void useCoupon_takeOverAlreadyCommitted() {
+        Long userId = createTestUserWithBalance(0L).getId();
+        Coupon coupon = createCoupon();
+        String requestId = UUID.randomUUID().toString();
+
+        // 다른 노드가 쿠폰 사용 커밋 후 SUCCESS 확정 전에 죽은 상황
+        Long userCouponId = userCouponRepository.save(UserCoupon.builder()
+                .userId(userId)
+                .coupon(coupon)
+                .couponStatus(UserCouponStatus.USED)
+                .issuedAt(LocalDateTime.now())
+                .usedAt(LocalDateTime.now())
+                .requestId(UUID.randomUUID().toString())
+                .usedRequestId(requestId)
+                .build()).getId();
+        insertOrphanInProgress(requestId, userId, USE_COUPON);
+
+        withIdempotencyKey(requestId);
+        IssueCouponResponse response = couponController.useCoupon(userId, userCouponId).getData();
+
+        assertEquals(userCouponId, response.getUserCouponId());
+        assertEquals("USED", response.getStatus());
+        assertEquals(IdempotencyStatus.SUCCESS,
+                idempotencyRequestRepository.findByRequestId(requestId).orElseThrow().getIdempotencyStatus());
+
+        // 다른 키로 인계받은 경우는 실제 중복 사용
+        String otherRequestId = UUID.randomUUID().toString();
+        insertOrphanInProgress(otherRequestId, userId, USE_COUPON);
+        withIdempotencyKey(otherRequestId);
+        ApiException used = assertThrows(ApiException.class, () -> couponController.useCoupon(userId, userCouponId));
+        assertEquals(ErrorCode.COUPON_ALREADY_USED, used.getErrorCode());
+    }
+}
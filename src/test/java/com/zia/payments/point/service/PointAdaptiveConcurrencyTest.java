@@ -0,0 +1,127 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 임계치를 낮추고 쿨다운을 길게 줘서 경합 중 비관적 락 전환을 확인
+@SpringBootTest(properties = {
+        "points.lock-mode=ADAPTIVE",
+        "points.optimistic.adaptive.conflict-threshold=0.05",
+        "points.optimistic.adaptive.cooldown-ms=60000"
+})
+@Slf4j
+public class PointAdaptiveConcurrencyTest {
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private PointOptimisticExecutor optimisticExecutor;
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Test User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("[ADAPTIVE] 100개 스레드가 동시에 1000원씩 차감 -> 최종 잔액 0, 원장 100건, 충돌 많은 지갑은 비관적 락 전환")
+    void testConcurrentRedeem_allSuccess() throws Exception {
+        Long testUserId = createTestUserWithBalance(100_000L);
+
+        int threadCount = 100;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+
+        runConcurrently(threadCount, () -> {
+            try {
+                pointService.redeem(testUserId, 1_000L, "adaptive", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                failureCount.incrementAndGet();
+            }
+        });
+
+        assertEquals(threadCount, successCount.get());
+        assertEquals(0, failureCount.get());
+        assertEquals(0L, pointService.getBalance(testUserId));
+        assertEquals(threadCount, pointLedgerRepository.count());
+
+        // 경합이 심한 지갑 -> 쿨다운 동안 비관적 락
+        assertFalse(optimisticExecutor.shouldUse(testUserId));
+    }
+
+    @Test
+    @DisplayName("[ADAPTIVE] 잔액 10,000원에 5,000원씩 100건 -> 2건 성공, 98건 INSUFFICIENT_BALANCE")
+    void testConcurrentRedeem_insufficientBalance() throws Exception {
+        Long testUserId = createTestUserWithBalance(10_000L);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger insufficientCount = new AtomicInteger();
+
+        runConcurrently(100, () -> {
+            try {
+                pointService.redeem(testUserId, 5_000L, "adaptive-insufficient", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                if (e.getErrorCode() == ErrorCode.INSUFFICIENT_BALANCE) {
+                    insufficientCount.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(2, successCount.get());
+        assertEquals(98, insufficientCount.get());
+        assertEquals(0L, pointService.getBalance(testUserId));
+        assertEquals(2, pointLedgerRepository.count());
+    }
+
+    private void runConcurrently(int threadCount, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,104 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.point.domain.PointBalanceCheckpoint;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.BalanceAuditReport;
+import com.zia.payments.point.dto.response.BalanceAuditResult;
+import com.zia.payments.point.repository.PointBalanceCheckpointRepository;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// page-size를 작게 줘서 여러 페이지 + ForkJoin 분할 확인
+@SpringBootTest(properties = {"points.audit.page-size=30", "points.audit.parallelism=4"})
+public class PointBalanceAuditTest {
+
+    @Autowired private PointBalanceAuditor auditor;
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private PointBalanceCheckpointRepository checkpointRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        checkpointRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Audit User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    // 원장을 거치지 않고 지갑 잔액을 바꿔서 불일치 발생
+    private void corrupt(Long userId, long balance) {
+        jdbcTemplate.update("update point_wallets set balance = ? where user_id = ?", balance, userId);
+    }
+
+    @Test
+    @DisplayName("전체 감사 : 100명 병렬 감사, 불일치 유저만 DRIFT로 보고")
+    void auditAll_flagsDrift() {
+        Long drifted = null;
+        for (int i = 0; i < 100; i++) {
+            Long userId = createTestUserWithBalance(0L);
+            pointService.charge(userId, 1_000L, "audit");
+            pointService.redeem(userId, 300L, "audit", UUID.randomUUID().toString());
+            if (i == 42) {
+                drifted = userId;
+            }
+        }
+        corrupt(drifted, 5_000L);
+
+        BalanceAuditReport report = auditor.auditAll(false);
+
+        assertEquals(100, report.getCheckedUsers());
+        assertEquals(1, report.getDriftUsers());
+        assertEquals(0, report.getRebuiltUsers());
+        BalanceAuditResult drift = report.getDrifts().get(0);
+        assertEquals(drifted, drift.getUserId());
+        assertEquals(5_000L, drift.getWalletBalance());
+        assertEquals(700L, drift.getLedgerBalance());
+        assertEquals(100, checkpointRepository.count());
+    }
+
+    @Test
+    @DisplayName("체크포인트 이후 원장만 재생 + rebuild 시 지갑 잔액 재구성")
+    void incrementalReplayAndRebuild() {
+        Long userId = createTestUserWithBalance(0L);
+        pointService.charge(userId, 1_000L, "audit");
+        assertEquals(BalanceAuditStatus.OK, auditor.audit(userId, false).getStatus());
+        PointBalanceCheckpoint first = checkpointRepository.findById(userId).orElseThrow();
+        assertEquals(1_000L, first.getBalance());
+
+        pointService.charge(userId, 500L, "audit");
+        pointService.redeem(userId, 200L, "audit", UUID.randomUUID().toString());
+        corrupt(userId, 0L);
+
+        BalanceAuditResult result = auditor.audit(userId, true);
+        assertEquals(BalanceAuditStatus.REBUILT, result.getStatus());
+        assertEquals(1_300L, result.getLedgerBalance());
+        assertEquals(-1_300L, result.getDrift());
+        assertEquals(1_300L, pointWalletRepository.findByUserId(userId).orElseThrow().getBalance());
+
+        PointBalanceCheckpoint advanced = checkpointRepository.findById(userId).orElseThrow();
+        assertNotEquals(first.getLedgerId(), advanced.getLedgerId());
+        assertEquals(1_300L, advanced.getBalance());
+        assertEquals(BalanceAuditStatus.OK, auditor.audit(userId, false).getStatus());
+    }
+}
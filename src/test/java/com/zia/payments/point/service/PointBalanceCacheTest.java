@@ -0,0 +1,193 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.util.BalanceCache;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+public class PointBalanceCacheTest {
+
+    private static final int DEFAULT_MAX_SIZE = 100_000;
+    private static final int BENCH_USERS = 100;
+    private static final int BENCH_THREADS = 20;
+    private static final int BENCH_OPS_PER_THREAD = 2_000;
+
+    @Autowired private PointService pointService;
+    @Autowired private BalanceCache balanceCache;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Cache User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("잔액 조회 : 첫 조회만 DB, 이후 100회는 DB 조회 0")
+    void getBalance_readsDbOnce() {
+        Long userId = createTestUserWithBalance(1_000L);
+
+        statistics.clear();
+        long hitsBefore = balanceCache.getHitCount();
+        for (int i = 0; i < 101; i++) {
+            assertEquals(1_000L, pointService.getBalance(userId));
+        }
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(100, balanceCache.getHitCount() - hitsBefore);
+    }
+
+    @Test
+    @DisplayName("충전/차감 커밋 후 캐시 갱신 (write-through), 실패한 차감은 반영 X")
+    void writeThrough() {
+        Long userId = createTestUserWithBalance(1_000L);
+        pointService.getBalance(userId);
+
+        pointService.charge(userId, 500L, "cache");
+        pointService.redeem(userId, 300L, "cache", UUID.randomUUID().toString());
+        assertThrows(ApiException.class,
+                () -> pointService.redeem(userId, 10_000L, "cache", UUID.randomUUID().toString()));
+
+        statistics.clear();
+        assertEquals(1_200L, pointService.getBalance(userId));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @DisplayName("[BENCH] 조회 95% / 충전 5% (유저 100명, 20스레드) -> 캐시 켬/끔 DB 잔액 조회 수, 조회 p95")
+    void bench_readHeavy() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < BENCH_USERS; i++) {
+            userIds.add(createTestUserWithBalance(0L));
+        }
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        try {
+            for (boolean enabled : new boolean[]{false, true, false, true}) {
+                ReflectionTestUtils.setField(balanceCache, "maxSize", enabled ? BENCH_USERS * 10 : 0);
+                long dbReadsBefore = balanceSelectCount();
+                long hitsBefore = balanceCache.getHitCount();
+                long start = System.nanoTime();
+                List<Long> readLatencies = runReadHeavy(userIds);
+                long elapsedNanos = System.nanoTime() - start;
+                long dbReads = balanceSelectCount() - dbReadsBefore;
+                long hits = balanceCache.getHitCount() - hitsBefore;
+
+                List<Long> sorted = readLatencies.stream().sorted().toList();
+                long p95 = sorted.get((int) Math.ceil(0.95 * sorted.size()) - 1);
+                log.info("[BENCH] cache={} : reads={}, dbReads={}, hitRatio={}, readP50={}us, readP95={}us, ops/s={}",
+                        enabled ? "on" : "off", sorted.size(), dbReads,
+                        String.format("%.3f", (double) hits / sorted.size()),
+                        sorted.get(sorted.size() / 2) / 1_000, p95 / 1_000,
+                        BENCH_THREADS * BENCH_OPS_PER_THREAD * 1_000_000_000L / elapsedNanos);
+            }
+        } finally {
+            jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+            ReflectionTestUtils.setField(balanceCache, "maxSize", DEFAULT_MAX_SIZE);
+        }
+    }
+
+    // k6/balance_read_heavy.js와 같은 비율, 조회 지연만 반환
+    private List<Long> runReadHeavy(List<Long> userIds) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(BENCH_THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        for (int t = 0; t < BENCH_THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                List<Long> latencies = new ArrayList<>();
+                for (int i = 0; i < BENCH_OPS_PER_THREAD; i++) {
+                    Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+                    if (ThreadLocalRandom.current().nextInt(100) < 5) {
+                        pointService.charge(userId, 100L, "k6-balance");
+                    } else {
+                        long start = System.nanoTime();
+                        pointService.getBalance(userId);
+                        latencies.add(System.nanoTime() - start);
+                    }
+                }
+                return latencies;
+            }));
+        }
+
+        startLatch.countDown();
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> f : futures) {
+            all.addAll(f.get());
+        }
+        executor.shutdown();
+        return all;
+    }
+
+    // 잔액 projection SELECT 실행 수 (H2 QUERY_STATISTICS)
+    private long balanceSelectCount() {
+        return jdbcTemplate.queryForList("select sql_statement, execution_count from information_schema.query_statistics").stream()
+                .filter(row -> {
+                    String sql = ((String) row.get("SQL_STATEMENT")).toLowerCase();
+                    return sql.startsWith("select case") && sql.contains("from point_wallets");
+                })
+                .mapToLong(row -> ((Number) row.get("EXECUTION_COUNT")).longValue())
+                .sum();
+    }
+
+    @Test
+    @DisplayName("롤백된 트랜잭션의 잔액은 캐시에 반영되지 않음")
+    void rollback_notCached() {
+        Long userId = createTestUserWithBalance(1_000L);
+        pointService.getBalance(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            balanceCache.putAfterCommit(userId, 9_999L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1_000L, pointService.getBalance(userId));
+    }
+}
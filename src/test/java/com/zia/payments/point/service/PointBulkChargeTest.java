@@ -0,0 +1,147 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.BulkChargeFailure;
+import com.zia.payments.point.dto.response.BulkChargeResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk-size를 작게 줘서 여러 chunk에 걸친 처리/재실행 확인
+@SpringBootTest(properties = "points.bulk-charge.chunk-size=3")
+public class PointBulkChargeTest {
+
+    @Autowired private PointBulkCharger bulkCharger;
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Bulk User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    private static InputStream csv(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("대량 충전 : 같은 유저 여러 행 누적, 없는 유저/지갑/잘못된 행은 행 단위 실패")
+    void bulkCharge() throws Exception {
+        Long a = createTestUserWithBalance(100L);
+        Long b = createTestUserWithBalance(0L);
+        Long noWallet = userRepository.save(User.builder().name("No Wallet").build()).getId();
+        long noUser = 999_999L;
+
+        String body = "userId,amount,memo\n"
+                + b + ",500,캠페인, 1차\n"
+                + a + ",1000,캠페인\n"
+                + noWallet + ",1000,캠페인\n"
+                + a + ",200,캠페인\n"
+                + noUser + ",1000,캠페인\n"
+                + a + ",-5,캠페인\n"
+                + "abc,100,캠페인\n";
+
+        BulkChargeResponse response = bulkCharger.charge(UUID.randomUUID().toString(), csv(body));
+
+        assertEquals(7, response.getTotalRows());
+        assertEquals(3, response.getAppliedRows());
+        assertEquals(4, response.getFailedRows());
+        assertEquals(1_700L, response.getAppliedAmount());
+        assertEquals(1_300L, pointService.getBalance(a));
+        assertEquals(500L, pointService.getBalance(b));
+        assertEquals(3, pointLedgerRepository.count());
+
+        assertEquals(ErrorCode.WALLET_NOT_FOUND.getCode(), failureAt(response, 3).getCode());
+        assertEquals(ErrorCode.USER_NOT_FOUND.getCode(), failureAt(response, 5).getCode());
+        assertEquals(ErrorCode.INVALID_AMOUNT.getCode(), failureAt(response, 6).getCode());
+        assertEquals(ErrorCode.BAD_REQUEST.getCode(), failureAt(response, 7).getCode());
+    }
+
+    @Test
+    @DisplayName("같은 jobId로 재실행 -> 이미 반영된 행은 건너뛰고 나머지만 충전 (이어하기)")
+    void bulkCharge_resume() throws Exception {
+        Long a = createTestUserWithBalance(0L);
+        Long b = createTestUserWithBalance(0L);
+        String jobId = UUID.randomUUID().toString();
+
+        StringBuilder full = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            full.append(a).append(",100,캠페인\n").append(b).append(",10,캠페인\n");
+        }
+        String all = full.toString();
+        String firstHalf = all.substring(0, all.indexOf('\n', all.length() / 2) + 1);
+
+        // 중간까지만 처리된 상황
+        BulkChargeResponse partial = bulkCharger.charge(jobId, csv(firstHalf));
+        long partialApplied = partial.getAppliedRows();
+
+        BulkChargeResponse resumed = bulkCharger.charge(jobId, csv(all));
+        assertEquals(partialApplied, resumed.getSkippedRows());
+        assertEquals(10 - partialApplied, resumed.getAppliedRows());
+        assertEquals(500L, pointService.getBalance(a));
+        assertEquals(50L, pointService.getBalance(b));
+
+        // 전체 재실행 -> 변화 없음
+        BulkChargeResponse replay = bulkCharger.charge(jobId, csv(all));
+        assertEquals(0, replay.getAppliedRows());
+        assertEquals(10, replay.getSkippedRows());
+        assertEquals(500L, pointService.getBalance(a));
+        assertEquals(10, pointLedgerRepository.count());
+    }
+
+    @Test
+    @DisplayName("일반 충전 키가 '{jobId}:{rowNo}'와 같아도 대량 충전 행은 반영됨 + 'bulk:' 접두사 키는 일반 요청에서 거절")
+    void bulkCharge_notConfusedWithIdempotencyKey() throws Exception {
+        User user = userRepository.save(User.builder().name("Bulk User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(0L).build());
+        String jobId = "campaign-" + UUID.randomUUID().toString().substring(0, 8);
+
+        // 다른 요청이 같은 문자열을 Idempotency-Key로 쓴 원장
+        pointLedgerRepository.save(PointLedger.charge(user, 1L, 1L, "일반 충전", jobId + ":1"));
+
+        BulkChargeResponse response = bulkCharger.charge(jobId, csv(user.getId() + ",100,캠페인\n"));
+
+        assertEquals(1, response.getAppliedRows());
+        assertEquals(0, response.getSkippedRows());
+        assertEquals(100L, pointService.getBalance(user.getId()));
+        assertTrue(pointLedgerRepository.findFirstByUser_IdAndRequestId(user.getId(), "bulk:" + jobId + ":1").isPresent());
+
+        ApiException reserved = assertThrows(ApiException.class,
+                () -> pointService.redeem(user.getId(), 10L, "예약 키", "BULK:" + jobId + ":1"));
+        assertEquals(ErrorCode.BAD_REQUEST, reserved.getErrorCode());
+        assertEquals(100L, pointService.getBalance(user.getId()));
+    }
+
+    private static BulkChargeFailure failureAt(BulkChargeResponse response, long rowNo) {
+        return response.getFailures().stream()
+                .filter(f -> f.getRowNo() == rowNo)
+                .findFirst()
+                .orElseThrow();
+    }
+}
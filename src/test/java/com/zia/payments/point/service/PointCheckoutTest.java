@@ -0,0 +1,179 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.coupon.domain.Coupon;
+import com.zia.payments.coupon.domain.UserCoupon;
+import com.zia.payments.coupon.domain.UserCouponStatus;
+import com.zia.payments.coupon.repository.CouponRepository;
+import com.zia.payments.coupon.repository.UserCouponRepository;
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.global.util.TimeOrderedIds;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.CheckoutResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class PointCheckoutTest {
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private CouponRepository couponRepository;
+    @Autowired private UserCouponRepository userCouponRepository;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRequestRepository.deleteAll();
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Checkout User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    private Long issueCoupon(Long userId, long discountValue) {
+        Coupon coupon = couponRepository.save(Coupon.builder()
+                .code("CHK-" + UUID.randomUUID().toString().substring(0, 8))
+                .title("결제 쿠폰")
+                .discountValue(discountValue)
+                .expiresAt(LocalDateTime.now().plusDays(1))
+                .build());
+        return userCouponRepository.save(UserCoupon.issue(userId, coupon, UUID.randomUUID().toString())).getId();
+    }
+
+    @Test
+    @DisplayName("쿠폰 결제 -> 할인 금액만 차감, 쿠폰 USED, 원장에 쿠폰 참조 기록")
+    void checkout_withCoupon() {
+        Long userId = createTestUserWithBalance(10_000L);
+        Long userCouponId = issueCoupon(userId, 1_000L);
+
+        CheckoutResponse response = pointService.checkout(userId, 3_000L, userCouponId, "주문", UUID.randomUUID().toString());
+
+        assertEquals(1_000L, response.getDiscountAmount());
+        assertEquals(2_000L, response.getRedeemedAmount());
+        assertEquals(8_000L, response.getBalanceAfter());
+        assertEquals(8_000L, pointService.getBalance(userId));
+        assertEquals(UserCouponStatus.USED, userCouponRepository.findById(userCouponId).orElseThrow().getCouponStatus());
+
+        List<PointLedger> ledgers = pointLedgerRepository.findAll();
+        assertEquals(1, ledgers.size());
+        assertEquals(2_000L, ledgers.get(0).getAmount());
+        assertEquals("USER_COUPON", ledgers.get(0).getRefType());
+        assertEquals(userCouponId, ledgers.get(0).getRefId());
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 재요청 -> 같은 응답, 재차감 X / 다른 키로 같은 쿠폰 -> COUPON_ALREADY_USED")
+    void checkout_replayAndReuse() {
+        Long userId = createTestUserWithBalance(10_000L);
+        Long userCouponId = issueCoupon(userId, 1_000L);
+        String requestId = UUID.randomUUID().toString();
+
+        CheckoutResponse first = pointService.checkout(userId, 3_000L, userCouponId, "주문", requestId);
+        CheckoutResponse replay = pointService.checkout(userId, 3_000L, userCouponId, "주문", requestId);
+
+        assertEquals(first.getBalanceAfter(), replay.getBalanceAfter());
+        assertEquals(8_000L, pointService.getBalance(userId));
+
+        ApiException e = assertThrows(ApiException.class,
+                () -> pointService.checkout(userId, 3_000L, userCouponId, "주문", UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_ALREADY_USED, e.getErrorCode());
+        assertEquals(8_000L, pointService.getBalance(userId));
+    }
+
+    @Test
+    @DisplayName("잔액 부족 -> 쿠폰 사용도 롤백 (ISSUED 유지)")
+    void checkout_insufficientBalance_rollsBackCoupon() {
+        Long userId = createTestUserWithBalance(500L);
+        Long userCouponId = issueCoupon(userId, 1_000L);
+
+        ApiException e = assertThrows(ApiException.class,
+                () -> pointService.checkout(userId, 3_000L, userCouponId, "주문", UUID.randomUUID().toString()));
+
+        assertEquals(ErrorCode.INSUFFICIENT_BALANCE, e.getErrorCode());
+        assertEquals(500L, pointService.getBalance(userId));
+        assertEquals(UserCouponStatus.ISSUED, userCouponRepository.findById(userCouponId).orElseThrow().getCouponStatus());
+        assertEquals(0, pointLedgerRepository.count());
+    }
+
+    @Test
+    @DisplayName("다른 유저의 쿠폰 -> COUPON_NOT_OWNED")
+    void checkout_notOwned() {
+        Long userId = createTestUserWithBalance(10_000L);
+        Long otherUserId = createTestUserWithBalance(0L);
+        Long userCouponId = issueCoupon(otherUserId, 1_000L);
+
+        ApiException e = assertThrows(ApiException.class,
+                () -> pointService.checkout(userId, 3_000L, userCouponId, "주문", UUID.randomUUID().toString()));
+        assertEquals(ErrorCode.COUPON_NOT_OWNED, e.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("전액 할인 -> 차감 없이 0원 원장 기록, 인계받은 재시도는 원장으로 응답 복원 (COUPON_ALREADY_USED X)")
+    void checkout_fullDiscount_takeOver() {
+        Long userId = createTestUserWithBalance(10_000L);
+        Long userCouponId = issueCoupon(userId, 5_000L);
+
+        CheckoutResponse response = pointService.checkout(userId, 3_000L, userCouponId, "전액 할인", UUID.randomUUID().toString());
+        assertEquals(3_000L, response.getDiscountAmount());
+        assertEquals(0L, response.getRedeemedAmount());
+        assertEquals(10_000L, pointService.getBalance(userId));
+        PointLedger ledger = pointLedgerRepository.findAll().get(0);
+        assertEquals(0L, ledger.getAmount());
+        assertEquals(userCouponId, ledger.getRefId());
+
+        // 다른 노드가 전액 할인 결제를 커밋하고 SUCCESS 확정 전에 죽은 상황
+        Long otherCouponId = issueCoupon(userId, 5_000L);
+        String requestId = UUID.randomUUID().toString();
+        pointLedgerRepository.save(PointLedger.redeem(userRepository.getReferenceById(userId), 0L, 10_000L, "전액 할인",
+                "USER_COUPON", otherCouponId, requestId));
+        transactionTemplate.executeWithoutResult(status -> userCouponRepository.tryMarkUsed(
+                otherCouponId, LocalDateTime.now(), requestId, UserCouponStatus.USED, UserCouponStatus.ISSUED));
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                        insert into idempotency_requests
+                            (idempotency_id, request_id, user_id, endpoint, idempotency_status, owner_node, lease_expires_at, created_at, updated_at)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """,
+                TimeOrderedIds.next(), requestId, userId, "/api/users/{userId}/points/checkout", IdempotencyStatus.IN_PROGRESS.name(),
+                999, Timestamp.valueOf(LocalDateTime.now().minusSeconds(1)), now, now);
+
+        CheckoutResponse replay = pointService.checkout(userId, 3_000L, otherCouponId, "전액 할인", requestId);
+
+        assertEquals(3_000L, replay.getDiscountAmount());
+        assertEquals(0L, replay.getRedeemedAmount());
+        assertEquals(10_000L, replay.getBalanceAfter());
+        assertEquals(otherCouponId, replay.getUserCouponId());
+        assertEquals(10_000L, pointService.getBalance(userId));
+    }
+}
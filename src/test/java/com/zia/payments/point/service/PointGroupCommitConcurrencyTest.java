@@ -0,0 +1,237 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.idempotency.domain.IdempotencyRequest;
+import com.zia.payments.idempotency.domain.IdempotencyStatus;
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.idempotency.service.IdempotencyService;
+import com.zia.payments.point.controller.PointController;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.request.ChargeRequest;
+import com.zia.payments.point.dto.response.RedeemResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "points.group-commit.enabled=true",
+        "points.group-commit.window-ms=5",
+        "points.group-commit.max-batch-size=16"
+})
+@Slf4j
+public class PointGroupCommitConcurrencyTest {
+
+    private static final String REDEEM = "/api/users/{userId}/points/redeem";
+
+    @Autowired private PointService pointService;
+    @Autowired private PointController pointController;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private PointGroupCommitExecutor groupCommitExecutor;
+    @Autowired private IdempotencyService idempotencyService;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Test User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(groupCommitExecutor, "windowMillis", 5L);
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("[GROUP COMMIT] 100개 스레드가 동시에 1000원씩 차감 -> 최종 잔액 0, 원장 100건")
+    void testConcurrentRedeem_allSuccess() throws Exception {
+        Long testUserId = createTestUserWithBalance(100_000L);
+
+        int threadCount = 100;
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+
+        runConcurrently(threadCount, () -> {
+            try {
+                pointService.redeem(testUserId, 1_000L, "group-commit", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                failureCount.incrementAndGet();
+            }
+        });
+
+        assertEquals(threadCount, successCount.get());
+        assertEquals(0, failureCount.get());
+        assertEquals(0L, pointService.getBalance(testUserId));
+        assertEquals(threadCount, pointLedgerRepository.count());
+    }
+
+    @Test
+    @DisplayName("[GROUP COMMIT] 잔액 10,000원에 5,000원씩 100건 -> 2건 성공, 98건 INSUFFICIENT_BALANCE")
+    void testConcurrentRedeem_insufficientBalance() throws Exception {
+        Long testUserId = createTestUserWithBalance(10_000L);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger insufficientCount = new AtomicInteger();
+
+        runConcurrently(100, () -> {
+            try {
+                pointService.redeem(testUserId, 5_000L, "group-commit-insufficient", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                if (e.getErrorCode() == ErrorCode.INSUFFICIENT_BALANCE) {
+                    insufficientCount.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(2, successCount.get());
+        assertEquals(98, insufficientCount.get());
+        assertEquals(0L, pointService.getBalance(testUserId));
+        assertEquals(2, pointLedgerRepository.count());
+    }
+
+    @Test
+    @DisplayName("[GROUP COMMIT] 같은 배치에서 1건의 멱등키 확정 실패 -> 그 요청만 롤백, 나머지는 커밋")
+    void testConfirmFailure_onlyThatRequestRolledBack() throws Exception {
+        Long testUserId = createTestUserWithBalance(10_000L);
+        // 4건이 한 배치로 모이도록 윈도우를 넓힘
+        ReflectionTestUtils.setField(groupCommitExecutor, "windowMillis", 500L);
+
+        int requestCount = 4;
+        List<IdempotencyRequest> acquired = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            acquired.add(idempotencyService.createInProgress(testUserId, UUID.randomUUID().toString(), REDEEM, i, false));
+        }
+        // 첫 요청은 처리 중에 다른 노드가 인계한 상황 (lease가 바뀌어 markSuccess UPDATE 0건)
+        String lostRequestId = acquired.get(0).getRequestId();
+        jdbcTemplate.update("update idempotency_requests set lease_expires_at = ? where request_id = ?",
+                Timestamp.valueOf(acquired.get(0).getLeaseExpiresAt().plusSeconds(1)), lostRequestId);
+
+        Map<String, ErrorCode> failures = new ConcurrentHashMap<>();
+        AtomicInteger index = new AtomicInteger();
+        runConcurrently(requestCount, () -> {
+            IdempotencyRequest request = acquired.get(index.getAndIncrement());
+            try {
+                groupCommitExecutor.redeem(testUserId, 1_000L, "group-commit-confirm", request.getRequestId(),
+                        applied -> idempotencyService.markSuccess(request,
+                                new RedeemResponse(testUserId, 1_000L, applied, "group-commit-confirm")));
+            } catch (ApiException e) {
+                failures.put(request.getRequestId(), e.getErrorCode());
+            }
+        });
+
+        assertEquals(Map.of(lostRequestId, ErrorCode.IDEMPOTENCY_IN_PROGRESS), failures);
+        assertEquals(7_000L, pointService.getBalance(testUserId));
+        assertEquals(requestCount - 1, pointLedgerRepository.count());
+        assertTrue(pointLedgerRepository.findFirstByUser_IdAndRequestId(testUserId, lostRequestId).isEmpty());
+        for (IdempotencyRequest request : acquired.subList(1, requestCount)) {
+            assertEquals(IdempotencyStatus.SUCCESS, idempotencyRequestRepository.findByRequestId(request.getRequestId())
+                    .orElseThrow().getIdempotencyStatus());
+        }
+        assertEquals(IdempotencyStatus.IN_PROGRESS,
+                idempotencyRequestRepository.findByRequestId(lostRequestId).orElseThrow().getIdempotencyStatus());
+    }
+
+    @Test
+    @DisplayName("[GROUP COMMIT] 충전(@Idempotent) 처리 중 다른 노드가 인계 -> 원 소유자의 충전은 확정 실패와 함께 롤백 (이중 반영 없음)")
+    void testChargeTakenOverMidFlight_rolledBack() throws Exception {
+        Long testUserId = createTestUserWithBalance(0L);
+        // 선점 후 배치 대기 중에 인계가 끼어들도록 윈도우를 넓힘
+        ReflectionTestUtils.setField(groupCommitExecutor, "windowMillis", 500L);
+        String requestId = UUID.randomUUID().toString();
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> charge = executor.submit(() -> {
+            MockHttpServletRequest request = new MockHttpServletRequest();
+            request.addHeader("Idempotency-Key", requestId);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+            try {
+                return pointController.chargePoints(testUserId, new ChargeRequest(1_000L, "group-commit-charge"));
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        });
+
+        // 다른 노드가 인계한 상황 (lease가 바뀌어 원 소유자의 markSuccess UPDATE 0건)
+        IdempotencyRequest owned = awaitInProgress(requestId);
+        jdbcTemplate.update("update idempotency_requests set lease_expires_at = ? where request_id = ?",
+                Timestamp.valueOf(owned.getLeaseExpiresAt().plusSeconds(1)), requestId);
+
+        ExecutionException e = assertThrows(ExecutionException.class, charge::get);
+        executor.shutdown();
+        assertEquals(ErrorCode.IDEMPOTENCY_IN_PROGRESS, assertInstanceOf(ApiException.class, e.getCause()).getErrorCode());
+
+        // 충전/원장이 확정과 함께 롤백 -> 새 소유자가 원장을 보고 충전하지 않는 일이 없음
+        assertEquals(0L, pointService.getBalance(testUserId));
+        assertTrue(pointLedgerRepository.findFirstByUser_IdAndRequestId(testUserId, requestId).isEmpty());
+        IdempotencyRequest row = idempotencyRequestRepository.findByRequestId(requestId).orElseThrow();
+        assertEquals(IdempotencyStatus.IN_PROGRESS, row.getIdempotencyStatus());
+        assertEquals(Boolean.FALSE, row.getDetachedConfirm());
+    }
+
+    private IdempotencyRequest awaitInProgress(String requestId) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            IdempotencyRequest row = idempotencyRequestRepository.findByRequestId(requestId).orElse(null);
+            if (row != null) {
+                return row;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("멱등키 선점 대기 시간 초과 : " + requestId);
+    }
+
+    private void runConcurrently(int threadCount, Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                task.run();
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,87 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.point.domain.PointLedger;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 원장 INSERT 처리량 (트랜잭션당 1 / 10 / 100건)
+ * 같은 총 건수를 트랜잭션 크기만 바꿔서 넣고 rows/sec, JDBC 배치 수를 기록한다.
+ * H2 인메모리 기준이라 절대값보다 배치 전후 비교용
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "jpa.batch-size=50"
+})
+@Slf4j
+public class PointLedgerBatchInsertBenchmarkTest {
+
+    private static final int TOTAL_ROWS = 2_000;
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void tearDown() {
+        pointLedgerRepository.deleteAllInBatch();
+        userRepository.deleteAll();
+    }
+
+    @ParameterizedTest(name = "트랜잭션당 {0}건")
+    @ValueSource(ints = {1, 10, 100})
+    @DisplayName("[BENCH] 원장 INSERT 처리량 + JDBC 배치 적용 확인")
+    void ledgerInsertThroughput(int rowsPerTx) {
+        User user = userRepository.save(User.builder().name("Bench User").build());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // 워밍업
+        insertRows(user, rowsPerTx, rowsPerTx * 10);
+        pointLedgerRepository.deleteAllInBatch();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        insertRows(user, rowsPerTx, TOTAL_ROWS);
+        long elapsedNanos = System.nanoTime() - start;
+
+        long transactions = TOTAL_ROWS / rowsPerTx;
+        long statements = statistics.getPrepareStatementCount();
+        double rowsPerSec = TOTAL_ROWS / (elapsedNanos / 1_000_000_000.0);
+        log.info("[BENCH] rowsPerTx={}, rows={}, elapsedMs={}, rows/sec={}, statements={}",
+                rowsPerTx, TOTAL_ROWS, elapsedNanos / 1_000_000, String.format("%.0f", rowsPerSec), statements);
+
+        assertEquals(TOTAL_ROWS, pointLedgerRepository.count());
+        // IDENTITY였다면 INSERT가 건당 1문장 -> 배치면 트랜잭션당 1문장 (batch_size마다 executeBatch, PreparedStatement는 재사용)
+        assertEquals(transactions, statements);
+    }
+
+    private void insertRows(User user, int rowsPerTx, int totalRows) {
+        for (int done = 0; done < totalRows; done += rowsPerTx) {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<PointLedger> ledgers = new ArrayList<>(rowsPerTx);
+                for (int i = 0; i < rowsPerTx; i++) {
+                    ledgers.add(PointLedger.charge(user, 100L, 100L, "bench"));
+                }
+                pointLedgerRepository.saveAll(ledgers);
+            });
+        }
+    }
+}
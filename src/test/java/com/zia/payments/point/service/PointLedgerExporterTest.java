@@ -0,0 +1,104 @@
+package com.zia.payments.point.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk-size를 작게 줘서 여러 chunk에 걸친 키셋 이어붙이기 확인
+@SpringBootTest(properties = "points.ledger-export.chunk-size=7")
+public class PointLedgerExporterTest {
+
+    @Autowired private PointLedgerExporter exporter;
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createUserWithLedger(int rows) {
+        User user = userRepository.save(User.builder().name("Export User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(0L).build());
+        for (int i = 0; i < rows; i++) {
+            pointService.charge(user.getId(), 100L, "memo, \"quoted\" " + i);
+        }
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 : 20건이 chunk(7) 경계에서 중복/누락 없이 오래된 순으로 출력")
+    void exportNdjson() throws Exception {
+        Long userId = createUserWithLedger(20);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exporter.export(userId, null, null, LedgerExportFormat.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(20, exported);
+        assertEquals(20, lines.size());
+
+        Set<Long> ids = new HashSet<>();
+        long previousBalance = 0;
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            assertTrue(node.get("ledgerId").isTextual()); // 2^53 넘는 ID -> 문자열
+            ids.add(Long.parseLong(node.get("ledgerId").textValue()));
+            long balance = node.get("balanceAfter").asLong();
+            assertTrue(balance > previousBalance);
+            previousBalance = balance;
+        }
+        assertEquals(20, ids.size());
+        assertEquals(2_000L, previousBalance);
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기 : 헤더 + 행, 쉼표/따옴표 memo 이스케이프")
+    void exportCsv() throws Exception {
+        Long userId = createUserWithLedger(3);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.export(userId, null, null, LedgerExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(4, lines.size());
+        assertEquals("ledger_id,type,amount,balance_after,ref_type,ref_id,memo,created_at", lines.get(0));
+        assertTrue(lines.get(1).contains(",CHARGE,100,100,,,\"memo, \"\"quoted\"\" 0\","));
+    }
+
+    @Test
+    @DisplayName("기간 지정 : to 이전 원장만 포함")
+    void exportRange() throws Exception {
+        Long userId = createUserWithLedger(5);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = exporter.export(userId, LocalDateTime.now().minusDays(1), LocalDateTime.now().minusHours(1),
+                LedgerExportFormat.NDJSON, out);
+
+        assertEquals(0, exported);
+        assertEquals(0, out.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.dto.response.LedgerPageResponse;
+import com.zia.payments.point.dto.response.LedgerResponse;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class PointLedgerPaginationTest {
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("원장 45건을 20건씩 조회 -> 20/20/5, 중복/누락 없이 최신순")
+    void getLedger_keysetPages() {
+        User user = userRepository.save(User.builder().name("Ledger User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(0L).build());
+        for (int i = 0; i < 45; i++) {
+            pointService.charge(user.getId(), 100L, "charge-" + i);
+        }
+
+        List<LedgerResponse> all = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            LedgerPageResponse page = pointService.getLedger(user.getId(), cursor, 20);
+            pageSizes.add(page.getItems().size());
+            all.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            assertEquals(page.isHasNext(), cursor != null);
+        } while (cursor != null);
+
+        assertEquals(List.of(20, 20, 5), pageSizes);
+
+        Set<Long> ids = new HashSet<>();
+        all.forEach(l -> ids.add(l.getLedgerId()));
+        assertEquals(45, ids.size());
+
+        // 최신순 : 잔액이 4500 -> 100 으로 감소
+        assertEquals(4_500L, all.get(0).getBalanceAfter());
+        assertEquals(100L, all.get(44).getBalanceAfter());
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(all.get(i - 1).getBalanceAfter() > all.get(i).getBalanceAfter());
+        }
+    }
+
+    @Test
+    @DisplayName("잘못된 cursor / size -> BAD_REQUEST")
+    void getLedger_invalidParams() {
+        assertThrows(ApiException.class, () -> pointService.getLedger(1L, "not-a-cursor", 20));
+        assertThrows(ApiException.class, () -> pointService.getLedger(1L, null, 0));
+        assertThrows(ApiException.class, () -> pointService.getLedger(1L, null, 101));
+    }
+}
@@ -0,0 +1,132 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 경합 수준별 차감 처리량 (k6/redeem_contention.js와 같은 모양 : 지갑 5개 x 지갑당 N명, 고정 시간)
+ * 같은 컨텍스트에서 lock-mode만 바꿔서 PESSIMISTIC / ADAPTIVE 비교
+ * H2 인메모리라 락 대기/네트워크 비용이 MySQL보다 작음 -> 절대값보다 모드 간 비교용
+ */
+@SpringBootTest(properties = "idempotency.purge.scheduled=false")
+@Slf4j
+public class PointLockModeBenchmarkTest {
+
+    private static final int WALLETS = 5;
+    private static final int[] THREADS_PER_WALLET = {1, 5, 10, 50};
+    private static final WalletLockMode[] MODES = {WalletLockMode.PESSIMISTIC, WalletLockMode.ADAPTIVE};
+    private static final long DURATION_MILLIS = 2_000;
+
+    @Autowired private PointService pointService;
+    @Autowired private PointOptimisticExecutor optimisticExecutor;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(optimisticExecutor, "lockMode", WalletLockMode.PESSIMISTIC);
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Bench User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("[BENCH] 지갑당 1 / 5 / 10 / 50명 동시 차감 -> 모드별 처리량, p95")
+    void redeemThroughputByContention() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < WALLETS; i++) {
+            userIds.add(createTestUserWithBalance(100_000_000L));
+        }
+
+        // 워밍업 (JIT, 커넥션 풀)
+        for (WalletLockMode mode : MODES) {
+            run(mode, userIds, 5, 500);
+        }
+
+        for (int threadsPerWallet : THREADS_PER_WALLET) {
+            for (WalletLockMode mode : MODES) {
+                Result result = run(mode, userIds, threadsPerWallet, DURATION_MILLIS);
+                log.info("[BENCH] perWallet={} mode={} : throughput={}/s, p95={}ms, failures={}",
+                        threadsPerWallet, mode, result.completed * 1_000 / DURATION_MILLIS,
+                        String.format("%.2f", result.p95Nanos / 1_000_000.0), result.failures);
+                assertEquals(0, result.failures);
+            }
+        }
+    }
+
+    private Result run(WalletLockMode mode, List<Long> userIds, int threadsPerWallet, long durationMillis) throws Exception {
+        ReflectionTestUtils.setField(optimisticExecutor, "lockMode", mode);
+        ((Map<?, ?>) ReflectionTestUtils.getField(optimisticExecutor, "conflictStats")).clear();
+
+        int threadCount = userIds.size() * threadsPerWallet;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        for (int t = 0; t < threadCount; t++) {
+            Long userId = userIds.get(t % userIds.size());
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                List<Long> latencies = new ArrayList<>();
+                while (System.nanoTime() - deadline < 0) {
+                    long start = System.nanoTime();
+                    pointService.redeem(userId, 1L, "k6-contention", UUID.randomUUID().toString());
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies;
+            }));
+        }
+
+        startLatch.countDown();
+        List<Long> all = new ArrayList<>();
+        int failures = 0;
+        for (Future<List<Long>> f : futures) {
+            try {
+                all.addAll(f.get());
+            } catch (Exception e) {
+                failures++;
+            }
+        }
+        executor.shutdown();
+
+        List<Long> sorted = all.stream().sorted().toList();
+        long p95 = sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(0.95 * sorted.size()) - 1);
+        return new Result(sorted.size(), p95, failures);
+    }
+
+    private record Result(int completed, long p95Nanos, int failures) {
+    }
+}
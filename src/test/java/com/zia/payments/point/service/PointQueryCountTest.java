@@ -0,0 +1,102 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 요청당 쿼리 수 (Hibernate 통계)
+ * 변경 전 : 충전/차감 모두 users SELECT + 지갑 SELECT FOR UPDATE + 지갑 UPDATE + 원장 INSERT = 4
+ * 변경 후 : users SELECT 제거 -> 3 (멱등성 키 INSERT/UPDATE는 JdbcTemplate이라 집계 대상 아님)
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Slf4j
+public class PointQueryCountTest {
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Test User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("충전 1건 -> 쿼리 3개, User 엔티티 로드 0")
+    void charge_queryCount() {
+        Long userId = createTestUserWithBalance(0L);
+
+        statistics.clear();
+        pointService.charge(userId, 1_000L, "query-count");
+
+        log.info("charge : statements={}, userLoads={}", statistics.getPrepareStatementCount(), userLoadCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, userLoadCount());
+    }
+
+    @Test
+    @DisplayName("차감 1건 -> 쿼리 3개, User 엔티티 로드 0")
+    void redeem_queryCount() {
+        Long userId = createTestUserWithBalance(10_000L);
+
+        statistics.clear();
+        pointService.redeem(userId, 1_000L, "query-count", UUID.randomUUID().toString());
+
+        log.info("redeem : statements={}, userLoads={}", statistics.getPrepareStatementCount(), userLoadCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, userLoadCount());
+    }
+
+    @Test
+    @DisplayName("없는 유저 / 지갑 없는 유저 -> 에러 코드 구분 유지")
+    void missingWallet_errorCodes() {
+        ApiException noUser = assertThrows(ApiException.class,
+                () -> pointService.charge(Long.MAX_VALUE, 1_000L, "no-user"));
+        assertEquals(ErrorCode.USER_NOT_FOUND, noUser.getErrorCode());
+
+        Long walletlessUserId = userRepository.save(User.builder().name("No Wallet").build()).getId();
+        ApiException noWallet = assertThrows(ApiException.class,
+                () -> pointService.charge(walletlessUserId, 1_000L, "no-wallet"));
+        assertEquals(ErrorCode.WALLET_NOT_FOUND, noWallet.getErrorCode());
+    }
+
+    private long userLoadCount() {
+        return statistics.getEntityStatistics(User.class.getName()).getLoadCount();
+    }
+}
@@ -0,0 +1,154 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 차감 1건당 실행 SQL 수 + 동시 차감 지연
+ * - 지갑 1개에 50명 : k6/redeem_perf.js 본부하와 같은 모양 (지갑 락 대기열이 지연 대부분)
+ * - 지갑 50개에 1명씩 : 락 경합 없이 요청당 비용만
+ * SQL 수는 H2 QUERY_STATISTICS 기준 (JdbcTemplate 멱등성 쿼리 포함, Hibernate 통계는 JPA 쿼리만 집계)
+ * H2 인메모리라 네트워크 왕복이 없음 -> 지연 절대값보다 전후 비교용
+ */
+@SpringBootTest(properties = "idempotency.purge.scheduled=false")
+@Slf4j
+public class PointRedeemBenchmarkTest {
+
+    private static final int STATEMENT_SAMPLES = 200;
+    private static final int THREADS = 50;
+    private static final int REDEEMS_PER_THREAD = 40;
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+    @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("SET QUERY_STATISTICS FALSE");
+        idempotencyRequestRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    private Long createTestUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Bench User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        return user.getId();
+    }
+
+    @Test
+    @DisplayName("[BENCH] 차감 1건당 SQL 수 (멱등키 선점/확정 포함)")
+    void statementsPerRedeem() {
+        Long userId = createTestUserWithBalance(1_000_000L);
+        pointService.redeem(userId, 1L, "k6-perf", UUID.randomUUID().toString());
+
+        jdbcTemplate.execute("SET QUERY_STATISTICS TRUE");
+        Map<String, Long> before = statementCounts();
+        for (int i = 0; i < STATEMENT_SAMPLES; i++) {
+            pointService.redeem(userId, 1L, "k6-perf", UUID.randomUUID().toString());
+        }
+        Map<String, Long> after = statementCounts();
+
+        long total = 0;
+        for (Map.Entry<String, Long> entry : after.entrySet()) {
+            long executed = entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+            if (executed > 0) {
+                total += executed;
+                log.info("[BENCH] {} x{}", entry.getKey(), (double) executed / STATEMENT_SAMPLES);
+            }
+        }
+        log.info("[BENCH] statements/redeem={}", (double) total / STATEMENT_SAMPLES);
+        assertTrue(total > 0);
+    }
+
+    @ParameterizedTest(name = "지갑 {0}개")
+    @ValueSource(ints = {1, THREADS})
+    @DisplayName("[BENCH] 50스레드 동시 차감 -> p50/p95/p99 ms, 처리량")
+    void concurrentRedeemLatency(int walletCount) throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < walletCount; i++) {
+            userIds.add(createTestUserWithBalance(1_000_000L));
+        }
+
+        // 워밍업 후 측정
+        runRedeems(userIds, REDEEMS_PER_THREAD / 4);
+        long start = System.nanoTime();
+        List<Long> latencies = runRedeems(userIds, REDEEMS_PER_THREAD);
+        long elapsedNanos = System.nanoTime() - start;
+
+        List<Long> sorted = latencies.stream().sorted().toList();
+        log.info("[BENCH] redeem x{} threads={} wallets={} : p50={}ms, p95={}ms, p99={}ms, throughput={}/s",
+                sorted.size(), THREADS, walletCount, millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+                sorted.size() * 1_000_000_000L / elapsedNanos);
+        assertEquals(THREADS * REDEEMS_PER_THREAD, sorted.size());
+    }
+
+    private List<Long> runRedeems(List<Long> userIds, int redeemsPerThread) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<List<Long>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            Long userId = userIds.get(t % userIds.size());
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                List<Long> latencies = new ArrayList<>();
+                for (int i = 0; i < redeemsPerThread; i++) {
+                    long start = System.nanoTime();
+                    pointService.redeem(userId, 1L, "k6-perf", UUID.randomUUID().toString());
+                    latencies.add(System.nanoTime() - start);
+                }
+                return latencies;
+            }));
+        }
+
+        startLatch.countDown();
+        List<Long> all = new ArrayList<>();
+        for (Future<List<Long>> f : futures) {
+            all.addAll(f.get());
+        }
+        executor.shutdown();
+        return all;
+    }
+
+    private Map<String, Long> statementCounts() {
+        return jdbcTemplate.queryForList("select sql_statement, execution_count from information_schema.query_statistics").stream()
+                .filter(row -> !((String) row.get("SQL_STATEMENT")).toLowerCase().contains("query_statistics"))
+                .collect(Collectors.toMap(row -> ((String) row.get("SQL_STATEMENT")).replaceAll("\\s+", " ").trim(),
+                        row -> ((Number) row.get("EXECUTION_COUNT")).longValue(), Long::sum));
+    }
+
+    private static String millis(List<Long> sortedNanos, double percentile) {
+        long nanos = sortedNanos.get((int) Math.ceil(percentile * sortedNanos.size()) - 1);
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
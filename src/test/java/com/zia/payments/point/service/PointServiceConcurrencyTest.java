@@ -15,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -129,7 +130,7 @@ public class PointServiceConcurrencyTest {
             futures.add(executor.submit(() -> {
                 try {
                     startLatch.await(); // 모두 함께 출발
-                    pointService.redeem(testUserId, redeemAmount,"concurrent-redeem");
+                    pointService.redeem(testUserId, redeemAmount,"concurrent-redeem", UUID.randomUUID().toString());
                     successCount.incrementAndGet();
 
                 } catch (ApiException e) {
@@ -191,7 +192,7 @@ public class PointServiceConcurrencyTest {
             futures.add(executor.submit(() -> {
                 try {
                     startLatch.await();
-                    pointService.redeem(testUserIdWithLowBalance, redeemAmount,"insufficient-test");
+                    pointService.redeem(testUserIdWithLowBalance, redeemAmount,"insufficient-test", UUID.randomUUID().toString());
                     successCount.incrementAndGet();
                 } catch (ApiException e) {
                     failureCount.incrementAndGet();
@@ -0,0 +1,244 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.idempotency.repository.IdempotencyRequestRepository;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 톰캣 플랫폼 스레드 vs 가상 스레드 (k6/redeem_virtual_threads.js와 같은 모양 : 유저 1000명, 차감 50% / 잔액 조회 50%, 600명 동시)
+ * H2 인메모리는 DB 왕복이 거의 0이라, SQL 실행/커밋마다 지연을 넣은 경우(MySQL 왕복 대용)도 같이 측정
+ * 가상 스레드 모드는 켜지 않음 : 이 측정에서 처리량이 플랫폼 스레드의 절반 이하 (커넥션 풀 대기열만 길어짐)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "idempotency.purge.scheduled=false")
+@Import(PointVirtualThreadBenchmarkTest.DbLatencyConfig.class)
+@Slf4j
+public class PointVirtualThreadBenchmarkTest {
+
+    private static final int USERS = 1_000;
+    private static final int CLIENTS = 600;
+    private static final long DURATION_MILLIS = 8_000;
+
+    // SQL 실행/커밋 1회당 넣는 지연 (0이면 그대로)
+    private static volatile long dbLatencyMillis;
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadScenario {
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadScenario {
+    }
+
+    abstract class LoadScenario {
+
+        @LocalServerPort private int port;
+        @Autowired private UserRepository userRepository;
+        @Autowired private PointWalletRepository pointWalletRepository;
+        @Autowired private PointLedgerRepository pointLedgerRepository;
+        @Autowired private IdempotencyRequestRepository idempotencyRequestRepository;
+
+        @AfterEach
+        void tearDown() {
+            dbLatencyMillis = 0;
+            idempotencyRequestRepository.deleteAllInBatch();
+            pointLedgerRepository.deleteAllInBatch();
+            pointWalletRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        }
+
+        @ParameterizedTest(name = "SQL당 지연 {0}ms")
+        @ValueSource(longs = {0, 2})
+        @DisplayName("[BENCH] 600명 동시 차감/잔액 조회 -> 작업별 p50/p95/p99 ms, 처리량, 실패")
+        void redeemAndBalance(long latencyMillis) throws Exception {
+            List<Long> userIds = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                User user = userRepository.save(User.builder().name("Load User").build());
+                pointWalletRepository.save(PointWallet.builder().user(user).balance(1_000_000L).build());
+                userIds.add(user.getId());
+            }
+
+            // 부하 쪽은 플랫폼 스레드 (CPU가 적으면 가상 스레드 캐리어를 서버와 나눠 쓰게 됨)
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newCachedThreadPool())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            // 워밍업 (JIT, 커넥션 풀, 잔액 캐시)
+            load(client, userIds, 1_000);
+
+            dbLatencyMillis = latencyMillis;
+            LoadResult result = load(client, userIds, DURATION_MILLIS);
+            dbLatencyMillis = 0;
+
+            log.info("[BENCH] {} latency={}ms redeem : {}", getClass().getSimpleName(), latencyMillis, result.redeem.summary(DURATION_MILLIS));
+            log.info("[BENCH] {} latency={}ms balance : {}", getClass().getSimpleName(), latencyMillis, result.balance.summary(DURATION_MILLIS));
+            assertTrue(result.redeem.count() > 0 && result.balance.count() > 0);
+        }
+
+        private LoadResult load(HttpClient client, List<Long> userIds, long durationMillis) throws Exception {
+            LoadResult result = new LoadResult(new OpStats(), new OpStats());
+            CountDownLatch startLatch = new CountDownLatch(1);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+            try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    clients.submit(() -> {
+                        startLatch.await();
+                        while (System.nanoTime() - deadline < 0) {
+                            Long userId = userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+                            boolean redeem = ThreadLocalRandom.current().nextBoolean();
+                            HttpRequest request = redeem ? redeemRequest(userId) : balanceRequest(userId);
+                            long start = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                            } catch (Exception e) {
+                                ok = false;
+                            }
+                            (redeem ? result.redeem : result.balance).record(System.nanoTime() - start, ok);
+                        }
+                        return null;
+                    });
+                }
+                startLatch.countDown();
+            }
+            return result;
+        }
+
+        private HttpRequest redeemRequest(Long userId) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + userId + "/points/redeem"))
+                    .header("Content-Type", "application/json")
+                    .header("Idempotency-Key", UUID.randomUUID().toString())
+                    .timeout(Duration.ofSeconds(30))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"amount\":1,\"memo\":\"k6-vt\"}"))
+                    .build();
+        }
+
+        private HttpRequest balanceRequest(Long userId) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/users/" + userId + "/points/balance"))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+        }
+    }
+
+    private record LoadResult(OpStats redeem, OpStats balance) {
+    }
+
+    private static class OpStats {
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        private void record(long nanos, boolean ok) {
+            latencies.add(nanos);
+            if (!ok) {
+                failures.incrementAndGet();
+            }
+        }
+
+        private int count() {
+            return latencies.size();
+        }
+
+        private String summary(long durationMillis) {
+            List<Long> sorted = latencies.stream().sorted().toList();
+            return String.format("n=%d, throughput=%d/s, p50=%.1fms, p95=%.1fms, p99=%.1fms, failures=%d",
+                    sorted.size(), sorted.size() * 1_000L / durationMillis,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99), failures.get());
+        }
+
+        private static double percentile(List<Long> sorted, double p) {
+            return sorted.isEmpty() ? 0 : sorted.get((int) Math.ceil(p * sorted.size()) - 1) / 1_000_000.0;
+        }
+    }
+
+    // SQL 실행/커밋 직전에 dbLatencyMillis만큼 대기 (DB 왕복 대용)
+    @TestConfiguration
+    static class DbLatencyConfig {
+
+        @Bean
+        static BeanPostProcessor dbLatencyDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return (bean instanceof DataSource dataSource) ? delayed(dataSource, DataSource.class) : bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T delayed(T target, Class<T> type) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute") || name.equals("commit")) {
+                    pause();
+                }
+                try {
+                    Object result = method.invoke(target, args);
+                    if (result instanceof Connection connection && type == DataSource.class) {
+                        return delayed(connection, Connection.class);
+                    }
+                    if (result instanceof Statement statement && type == Connection.class) {
+                        return delayed(statement, (Class<Statement>) method.getReturnType());
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+
+        private static void pause() {
+            long millis = dbLatencyMillis;
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.zia.payments.point.service;
+
+import com.zia.payments.global.exception.ApiException;
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.domain.PointWalletSlot;
+import com.zia.payments.point.repository.PointLedgerRepository;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.point.repository.PointWalletSlotRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "points.sharding.enabled=true")
+@Slf4j
+public class PointWalletShardConcurrencyTest {
+
+    private static final int SHARD_COUNT = 4;
+
+    @Autowired private PointService pointService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private PointWalletSlotRepository pointWalletSlotRepository;
+    @Autowired private PointLedgerRepository pointLedgerRepository;
+
+    // 초기 잔액을 가진 User + Wallet 생성 후 샤딩 전환
+    private Long createShardedUserWithBalance(Long initialBalance) {
+        User user = userRepository.save(User.builder().name("Hot User").build());
+        pointWalletRepository.save(PointWallet.builder().user(user).balance(initialBalance).build());
+        pointService.enableSharding(user.getId(), SHARD_COUNT);
+        return user.getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pointWalletSlotRepository.deleteAll();
+        pointWalletRepository.deleteAll();
+        pointLedgerRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("[SHARDED] 100개 스레드가 동시에 1000원씩 차감 -> 전부 성공, 잔액 0")
+    void testConcurrentRedeem_allSuccess() throws Exception {
+        Long userId = createShardedUserWithBalance(100_000L);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger failureCount = new AtomicInteger();
+
+        runConcurrently(100, i -> {
+            try {
+                pointService.redeem(userId, 1_000L, "sharded-redeem", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                failureCount.incrementAndGet();
+                log.debug("차감 실패: {}", e.getMessage());
+            }
+        });
+
+        assertEquals(100, successCount.get());
+        assertEquals(0, failureCount.get());
+        assertEquals(0L, pointService.getBalance(userId));
+        assertNoOverdraft();
+    }
+
+    @Test
+    @DisplayName("[SHARDED] 잔액 10,000원(슬롯 4개)에 5,000원씩 100건 -> 슬롯 통합 차감으로 정확히 2건 성공")
+    void testConcurrentRedeem_insufficientBalance() throws Exception {
+        Long userId = createShardedUserWithBalance(10_000L);
+
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger insufficientCount = new AtomicInteger();
+
+        runConcurrently(100, i -> {
+            try {
+                pointService.redeem(userId, 5_000L, "sharded-insufficient", UUID.randomUUID().toString());
+                successCount.incrementAndGet();
+            } catch (ApiException e) {
+                if (e.getErrorCode() == ErrorCode.INSUFFICIENT_BALANCE) {
+                    insufficientCount.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(2, successCount.get());
+        assertEquals(98, insufficientCount.get());
+        assertEquals(0L, pointService.getBalance(userId));
+        assertNoOverdraft();
+    }
+
+    @Test
+    @DisplayName("[SHARDED] 충전 50건 + 차감 50건 동시 실행 -> 합계 정확, 해제 후에도 잔액 유지")
+    void testConcurrentChargeAndRedeem_totals() throws Exception {
+        Long userId = createShardedUserWithBalance(50_000L);
+
+        AtomicInteger failureCount = new AtomicInteger();
+
+        runConcurrently(100, i -> {
+            try {
+                if (i % 2 == 0) {
+                    pointService.charge(userId, 1_000L, "sharded-charge");
+                } else {
+                    pointService.redeem(userId, 1_000L, "sharded-redeem", UUID.randomUUID().toString());
+                }
+            } catch (ApiException e) {
+                failureCount.incrementAndGet();
+            }
+        });
+
+        assertEquals(0, failureCount.get());
+        assertEquals(50_000L, pointService.getBalance(userId));
+        assertEquals(100, pointLedgerRepository.count());
+        assertNoOverdraft();
+
+        pointService.disableSharding(userId);
+        assertEquals(50_000L, pointService.getBalance(userId));
+        assertEquals(0, pointWalletSlotRepository.count());
+    }
+
+    private void assertNoOverdraft() {
+        for (PointWalletSlot slot : pointWalletSlotRepository.findAll()) {
+            assertTrue(slot.getBalance() >= 0, "slot " + slot.getSlotNo() + " overdraft: " + slot.getBalance());
+        }
+    }
+
+    private void runConcurrently(int threadCount, IntConsumer task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < threadCount; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                task.accept(index);
+                return null;
+            }));
+        }
+
+        startLatch.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        executor.shutdown();
+    }
+}
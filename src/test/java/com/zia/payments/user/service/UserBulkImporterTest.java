@@ -0,0 +1,70 @@
+package com.zia.payments.user.service;
+
+import com.zia.payments.point.domain.PointWallet;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.domain.User;
+import com.zia.payments.user.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// chunk-size를 작게 줘서 여러 chunk에 걸친 ID 매핑 확인
+@SpringBootTest(properties = "users.bulk-import.chunk-size=4")
+public class UserBulkImporterTest {
+
+    @Autowired private UserBulkImporter importer;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("유저 대량 등록 : 입력 순서대로 user_id 반환, 지갑(잔액 0) 함께 생성, 잘못된 행은 error")
+    void importUsers() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 1; i <= 10; i++) {
+            input.append("user-").append(i).append('\n');
+        }
+        input.append("x".repeat(51)).append('\n');
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long created = importer.importUsers(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(10, created);
+        assertEquals("row_no,user_id,error", lines.get(0));
+        assertEquals(12, lines.size());
+        assertEquals("11,,BAD_REQUEST", lines.get(11));
+
+        Set<Long> ids = new HashSet<>();
+        for (int i = 1; i <= 10; i++) {
+            String[] cols = lines.get(i).split(",", -1);
+            assertEquals(String.valueOf(i), cols[0]);
+            Long userId = Long.parseLong(cols[1]);
+            ids.add(userId);
+
+            User user = userRepository.findById(userId).orElseThrow();
+            assertEquals("user-" + i, user.getName());
+            PointWallet wallet = pointWalletRepository.findByUserId(userId).orElseThrow();
+            assertEquals(0L, wallet.getBalance());
+        }
+        assertEquals(10, ids.size());
+        assertEquals(10, userRepository.count());
+        assertEquals(10, pointWalletRepository.count());
+    }
+}
@@ -0,0 +1,52 @@
+package com.zia.payments.user.service;
+
+import com.zia.payments.global.exception.ErrorCode;
+import com.zia.payments.point.repository.PointWalletRepository;
+import com.zia.payments.user.repository.UserRepository;
+import com.zia.payments.user.util.UserExistenceCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class UserExistenceCacheTest {
+
+    @Autowired private UserService userService;
+    @Autowired private UserExistenceCache userExistenceCache;
+    @Autowired private UserRepository userRepository;
+    @Autowired private PointWalletRepository pointWalletRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        pointWalletRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("유저 생성 트랜잭션이 롤백되면 존재 캐시에 남지 않음 -> USER_NOT_FOUND")
+    void rolledBackUser_notCachedAsExisting() {
+        Long rolledBackId = transactionTemplate.execute(status -> {
+            Long id = userService.createUser("rollback").getId();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertFalse(userRepository.existsById(rolledBackId));
+        assertEquals(ErrorCode.USER_NOT_FOUND, userExistenceCache.missingWalletError(rolledBackId).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("커밋된 유저는 존재로 기록 -> 지갑이 없으면 WALLET_NOT_FOUND")
+    void committedUser_cachedAsExisting() {
+        Long userId = userService.createUser("commit").getId();
+        pointWalletRepository.deleteAll();
+
+        assertEquals(ErrorCode.WALLET_NOT_FOUND, userExistenceCache.missingWalletError(userId).getErrorCode());
+    }
+}